@@ -0,0 +1,82 @@
+package hex.gram;
+
+import hex.DataInfo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static water.TestUtil.stall_till_cloudsize;
+
+/**
+ * Gram accumulation of dense rows, row by row ({@link Gram#addRow}) vs. buffered tiles ({@link Gram#addRowBuffered}).
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(1)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GramBench {
+
+  @Param({"100", "500", "2000"})
+  private int width;
+  @Param({"1000"})
+  private int rows;
+
+  private Frame _fr;
+  private DataInfo.Row[] _rows;
+
+  @Setup
+  public void setup() {
+    stall_till_cloudsize(1);
+    _fr = new Frame(new String[]{"x"}, new Vec[]{Vec.makeZero(10)});
+    DataInfo dinfo = new DataInfo(_fr, null, 0, true, DataInfo.TransformType.NONE, DataInfo.TransformType.NONE,
+            false, false, false, false, false, false);
+    Random rnd = new Random(0x6A11);
+    _rows = new DataInfo.Row[rows];
+    for (int r = 0; r < rows; r++) {
+      double[] numVals = new double[width];
+      for (int i = 0; i < width; i++)
+        numVals[i] = rnd.nextGaussian();
+      _rows[r] = dinfo.new Row(false, numVals, null, null, r, 0);
+    }
+  }
+
+  @Benchmark
+  public Gram addRow() {
+    Gram gram = new Gram(width, 0, width, 0, true);
+    for (DataInfo.Row row : _rows)
+      gram.addRow(row, 1);
+    return gram;
+  }
+
+  @Benchmark
+  public Gram addRowBuffered() {
+    Gram gram = new Gram(width, 0, width, 0, true);
+    for (DataInfo.Row row : _rows)
+      gram.addRowBuffered(row, 1);
+    gram.flushRows();
+    return gram;
+  }
+
+  @TearDown
+  public void tearDown() {
+    _fr.delete();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(GramBench.class.getSimpleName())
+            .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,102 @@
+package hex.tree;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the blocked histogram accumulation kernels (see {@link DHistogram#BLOCKED_KERNEL}).
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DHistogramBench {
+
+  @Param({"20", "256"})
+  private int nbins;
+  @Param({"100000"})
+  private int rows;
+  @Param({"0", "0.1"})
+  private double naFraction;
+
+  private DHistogram histo;
+  private ScoreBuildHistogram.LocalHisto lh;
+  private double[] ws, cs, ys;
+  private int[] rs, bins;
+
+  @Setup
+  public void setup() {
+    Random rnd = new Random(0xDEECE66DL);
+    ws = new double[rows];
+    cs = new double[rows];
+    ys = new double[rows];
+    rs = new int[rows];
+    bins = new int[rows];
+    for (int i = 0; i < rows; i++) {
+      ws[i] = rnd.nextDouble() < 0.1 ? 0 : 1;
+      cs[i] = rnd.nextDouble() < naFraction ? Double.NaN : rnd.nextDouble() * 100;
+      ys[i] = rnd.nextGaussian();
+      rs[i] = i;
+    }
+    histo = new DHistogram("bench", nbins, 1024, (byte) 0, 0, 100, 0,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    histo.init();
+    lh = new ScoreBuildHistogram.LocalHisto(nbins);
+  }
+
+  @Benchmark
+  public int binScalar() {
+    int sum = 0;
+    for (int i = 0; i < rows; i++)
+      sum += histo.bin(cs[i]);
+    return sum;
+  }
+
+  @Benchmark
+  public int binBlocked() {
+    histo.bin(cs, bins, rows);
+    int sum = 0;
+    for (int i = 0; i < rows; i++)
+      sum += bins[i];
+    return sum;
+  }
+
+  @Benchmark
+  public double updateHistoScalar() {
+    histo.updateHistoScalar(ws, null, cs, ys, rs, rows, 0);
+    return histo.w(0);
+  }
+
+  @Benchmark
+  public double updateHistoBlocked() {
+    histo.updateHistoBlocked(ws, cs, ys, rs, rows, 0);
+    return histo.w(0);
+  }
+
+  @Benchmark
+  public double sharedHistoScalar() {
+    histo.accumulateScalar(lh, ws, cs, ys, rs, rows, 0);
+    return lh.w(0);
+  }
+
+  @Benchmark
+  public double sharedHistoBlocked() {
+    histo.accumulateBlocked(lh, ws, cs, ys, rs, rows, 0);
+    return lh.w(0);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(DHistogramBench.class.getSimpleName())
+            .build();
+    new Runner(opt).run();
+  }
+}
@@ -24,6 +24,8 @@ public class GbmMojoScoringBench {
 
   @Param({"1000", "100000"})
   private int rows;
+  @Param({"true", "false"})
+  private boolean flatTrees;
 
   private SharedTreeMojoModel _mojo;
   private double[][] _data;
@@ -39,6 +41,7 @@ public class GbmMojoScoringBench {
   @Setup(Level.Invocation)
   public void setup() throws IOException {
     _mojo = (SharedTreeMojoModel) ClasspathReaderBackend.loadMojo("prostate");
+    _mojo.setUseFlatTrees(flatTrees);
     _data = ProstateData.ROWS;
   }
 
@@ -1274,6 +1274,8 @@ public class DataInfo extends Keyed<DataInfo> {
     }
     // generic numbers + interactions
     int interactionOffset=0;
+    double [] sparseVals = null;
+    int [] sparseIds = null;
     for (int cid = 0; cid < _nums; ++cid) {
       Chunk c = chunks[_cats + cid];
       int oldRow = -1;
@@ -1297,6 +1299,26 @@ public class DataInfo extends Keyed<DataInfo> {
           }
         }
         interactionOffset+=nextNumericIdx(cid);
+      } else if (c.isSparseZero()) { // one walk over the stored values instead of a lookup per access
+        if (sparseVals == null) {
+          sparseVals = MemoryManager.malloc8d(chunks[0]._len);
+          sparseIds = MemoryManager.malloc4(chunks[0]._len);
+        }
+        int nvals = c.getSparseDoubles(sparseVals, sparseIds, Double.NaN);
+        for (int k = 0; k < nvals; ++k) {
+          double d = sparseVals[k];
+          if (d == 0) continue;
+          Row row = rows[sparseIds[k]];
+          if (Double.isNaN(d) && _skipMissing)
+            row.predictors_bad = true;
+          if (row.predictors_bad) continue;
+          if (Double.isNaN(d))
+            d = _numNAFill[cid];
+          if (_normMul != null)
+            d *= _normMul[interactionOffset];
+          row.addNum(numStart()+interactionOffset,d);
+        }
+        interactionOffset++;
       } else {
         for (int r = c.nextNZ(-1, _imputeMissing); r < c._len; r = c.nextNZ(r, _imputeMissing)) {
           if (c.atd(r) == 0) continue;
@@ -6,6 +6,8 @@ import hex.glm.GLM.GLMGradientInfo;
 import hex.glm.GLM.GLMGradientSolver;
 import hex.glm.GLMModel.GLMParameters;
 import hex.glm.GLMModel.GLMParameters.Family;
+import hex.glm.GLMTask.GLMColNormsTask;
+import hex.glm.GLMTask.GLMMultipliersTask;
 import hex.gram.Gram;
 import hex.optimization.ADMM;
 import hex.optimization.OptimizationUtils.GradientInfo;
@@ -17,6 +19,7 @@ import water.util.ArrayUtils;
 import water.util.Log;
 import water.util.MathUtils;
 import water.fvec.Frame;
+import water.fvec.Vec;
 
 import java.util.Arrays;
 import java.util.Comparator;
@@ -55,6 +58,22 @@ public final class ComputationState {
   private final Job _job;
   private int _activeClass = -1;
 
+  /**
+   * Safe screening of the KKT check along the lambda path: the full gradient (a pass over all the predictors) is
+   * only computed at checkpoints. In between, the gradient of an inactive column j moves from its checkpoint value
+   * by at most obj_reg * ||x_j|| * ||r - r_ckpt|| (Cauchy-Schwarz, r are the per-row gradient multipliers), which
+   * only needs a pass over the active columns; if that bound keeps every inactive column within the KKT tolerance
+   * the check passes without the full gradient, otherwise the full gradient is computed and becomes the new
+   * checkpoint.
+   */
+  static boolean SAFE_SCREENING = H2O.getSysBoolProperty("glm.safe_screening", false); // not final so tests can switch it
+  private double [] _colNorms;     // ||x_j|| of all the expanded columns
+  private double [] _ckptGrad;     // likelihood part of the full gradient at the checkpoint
+  private Vec _ckptMultipliers;    // per-row gradient multipliers at the checkpoint
+  // Gradient bounds of the inactive columns (exact gradient of the active ones) when the last KKT check passed by
+  // safe screening, read only by the strong rules; _ginfo then only holds the exact gradient of the active columns
+  private double [] _screenGrad;
+
   /**
    *
    * @param nclasses - number of classes for multinomial, 1 for everybody else
@@ -239,20 +258,23 @@ public final class ComputationState {
     int P = _dinfo.fullN();
     _activeBC = _bc;
     _activeData = _activeData != null?_activeData:_dinfo;
+    // after safe screening the inactive columns only have a bound, _ginfo is exact for the active ones
+    boolean exact = _screenGrad == null;
+    double [] grad = exact ? _ginfo._gradient : _screenGrad;
+    _screenGrad = null;
     _allIn = _allIn || _parms._alpha[0]*lambdaNew == 0 || _activeBC.hasBounds();
     if (!_allIn) {
       int newlySelected = 0;
       final double rhs = Math.max(0,_alpha * (2 * lambdaNew - lambdaOld));
       int [] newCols = MemoryManager.malloc4(P);
-      int j = 0;
       int[] oldActiveCols = _activeData._activeCols == null ? new int[]{P} : _activeData.activeCols();
-      for (int i = 0; i < P; ++i) {
-        if(j < oldActiveCols.length && oldActiveCols[j] == i)
-          j++;
-        else if (_ginfo._gradient[i] > rhs || -_ginfo._gradient[i] > rhs)
-          newCols[newlySelected++] = i;
-      }
+      newlySelected = strongRuleCols(grad, rhs, oldActiveCols, newCols);
       if(_parms._max_active_predictors != -1 && (oldActiveCols.length + newlySelected -1) > _parms._max_active_predictors){
+        if (!exact) { // rank the candidates by their exact gradient
+          _ginfo = new GLMGradientSolver(_job,_parms,_dinfo,0,_bc).getGradient(_beta);
+          exact = true;
+          newlySelected = strongRuleCols(_ginfo._gradient, rhs, oldActiveCols, newCols);
+        }
         Integer [] bigInts = ArrayUtils.toIntegers(newCols, 0, newlySelected);
         Arrays.sort(bigInts, new Comparator<Integer>() {
           @Override
@@ -279,10 +301,26 @@ public final class ComputationState {
         _activeBC = _bc.filterExpandedColumns(_activeData.activeCols());
         _gslvr = new GLMGradientSolver(_job,_parms,_activeData,(1-_alpha)*_lambda,_bc);
         assert _beta.length == cols.length;
+        if (!exact && newlySelected > 0) // entering columns only had a bound
+          _ginfo = new GLMGradientSolver(_job,_parms,_activeData,0,_activeBC).getGradient(_beta);
         return;
       }
     }
     _activeData = _dinfo;
+    if (!exact)
+      _ginfo = new GLMGradientSolver(_job,_parms,_activeData,0,_activeBC).getGradient(_beta);
+  }
+
+  // Inactive columns the strong rule selects, into newCols; returns their number
+  private static int strongRuleCols(double [] grad, double rhs, int [] oldActiveCols, int [] newCols) {
+    int n = 0;
+    for (int i = 0, j = 0; i < newCols.length; ++i) {
+      if(j < oldActiveCols.length && oldActiveCols[j] == i)
+        j++;
+      else if (grad[i] > rhs || -grad[i] > rhs)
+        newCols[n++] = i;
+    }
+    return n;
   }
 
   public boolean _lsNeeded = false;
@@ -492,11 +530,22 @@ public final class ComputationState {
         u =  ArrayUtils.expandAndScatter(_u, _dinfo.fullN() + 1, _activeData._activeCols);
     }
     int [] activeCols = _activeData.activeCols();
+    double [] screenGrad = null;
     if(beta != _beta || _ginfo == null) {
-      _gslvr = new GLMGradientSolver(_job, _parms, _dinfo, (1 - _alpha) * _lambda, _bc);
-      _ginfo = _gslvr.getGradient(beta);
+      GLMGradientInfo screened = beta != _beta ? screenedGradient() : null;
+      if (screened != null) {
+        screenGrad = screened._gradient;
+        double [] exact = MemoryManager.malloc8d(screenGrad.length);
+        for (int c : activeCols)
+          exact[c] = screenGrad[c];
+        _ginfo = new GLMGradientInfo(screened._likelihood, screened._objVal, exact);
+      } else {
+        _gslvr = new GLMGradientSolver(_job, _parms, _dinfo, (1 - _alpha) * _lambda, _bc);
+        _ginfo = _gslvr.getGradient(beta);
+        if (beta != _beta) checkpoint(beta);
+      }
     }
-    double[] grad = _ginfo._gradient.clone();
+    double[] grad = (screenGrad != null ? screenGrad : _ginfo._gradient).clone();
     double err = 1e-4;
     if(u != null && u != _u){ // fill in u for missing variables
       int k = 0;
@@ -505,7 +554,7 @@ public final class ComputationState {
           ++k; continue;
         }
         assert u[i] == 0;
-        u[i] = -grad[i];
+        u[i] = -_ginfo._gradient[i]; // 0 for a screened column, it is only a starting point
       }
     }
     ADMM.subgrad(_alpha * _lambda, beta, grad);
@@ -516,6 +565,7 @@ public final class ComputationState {
     _beta = beta;
     _u = u;
     _activeBC = null;
+    _screenGrad = screenGrad;
     if(_parms._max_active_predictors == _activeData.fullN()){
       Log.info("skipping KKT check, reached maximum number of active predictors ("  + _parms._max_active_predictors + ")");
     } else if(!_allIn) {
@@ -547,6 +597,68 @@ public final class ComputationState {
     }
     return true;
   }
+  private boolean canScreen() {
+    return SAFE_SCREENING && (_bc == null || _bc._betaGiven == null); // proximal penalty moves the inactive gradients
+  }
+
+  // Full gradient was computed at (expanded) beta, remember it and the multipliers at the current active beta
+  private void checkpoint(double [] beta) {
+    if (!canScreen()) return;
+    if (_colNorms == null) {
+      _colNorms = new GLMColNormsTask(_job == null ? null : _job._key, _dinfo).doAll(_dinfo._adaptedFrame)._sumsq;
+      for (int i = 0; i < _colNorms.length; ++i)
+        _colNorms[i] = Math.sqrt(_colNorms[i]);
+    }
+    final double l2pen = (1 - _alpha) * _lambda;
+    _ckptGrad = _ginfo._gradient.clone();
+    for (int i = 0; i < _ckptGrad.length - 1; ++i)
+      _ckptGrad[i] -= l2pen * beta[i];
+    removeCheckpoint();
+    _ckptMultipliers = new GLMMultipliersTask(_activeData, _parms, _beta, null)
+        .doAll(Vec.T_NUM, _activeData._adaptedFrame).outputFrame().anyVec();
+  }
+
+  /**
+   * Gradient at the current beta if the KKT conditions of the inactive columns can be verified from the last
+   * checkpoint; the active columns get their exact gradient, the inactive ones the bound (which keeps the strong
+   * rules of the next lambda conservative, it is not a gradient). Null if the full gradient has to be computed.
+   */
+  private GLMGradientInfo screenedGradient() {
+    if (!canScreen() || _ckptMultipliers == null) return null;
+    double diff2 = new GLMMultipliersTask(_activeData, _parms, _beta, _ckptMultipliers).doAll(_activeData._adaptedFrame)._diff2;
+    final double d = _parms._obj_reg * Math.sqrt(diff2);
+    GLMGradientInfo ginfo = ginfo();
+    int [] activeCols = _activeData.activeCols();
+    double [] subgrad = ginfo._gradient.clone();
+    ADMM.subgrad(_alpha * _lambda, _beta, subgrad);
+    double err = 1e-4;
+    for (double g : subgrad)
+      err = Math.max(err, Math.abs(g));
+    final double limit = _alpha * _lambda + err;
+    double [] grad = MemoryManager.malloc8d(_dinfo.fullN() + 1);
+    for (int i = 0, k = 0; i < grad.length; ++i) {
+      if (k < activeCols.length && activeCols[k] == i) {
+        grad[i] = ginfo._gradient[k++];
+        continue;
+      }
+      double bound = Math.abs(_ckptGrad[i]) + d * _colNorms[i];
+      if (bound > limit) {
+        Log.info("safe screening failed for column " + i + " (bound " + bound + " > " + limit + "), computing the full gradient");
+        return null;
+      }
+      grad[i] = Math.copySign(bound, _ckptGrad[i]);
+    }
+    Log.info("KKT conditions verified by safe screening, multipliers moved by " + d + " since the last full gradient");
+    return new GLMGradientInfo(ginfo._likelihood, ginfo._objVal, grad);
+  }
+
+  void removeCheckpoint() {
+    if (_ckptMultipliers != null) {
+      _ckptMultipliers.remove();
+      _ckptMultipliers = null;
+    }
+  }
+
   public int []  removeCols(int [] cols) {
     int [] activeCols = ArrayUtils.removeIds(_activeData.activeCols(),cols);
     if(_beta != null)
@@ -555,6 +667,8 @@ public final class ComputationState {
       _u = ArrayUtils.removeIds(_u,cols);
     if(_ginfo != null && _ginfo._gradient != null)
       _ginfo._gradient = ArrayUtils.removeIds(_ginfo._gradient,cols);
+    if(_screenGrad != null)
+      _screenGrad = ArrayUtils.removeIds(_screenGrad,cols);
     _activeData = _dinfo.filterExpandedColumns(activeCols);
     _activeBC = _bc.filterExpandedColumns(activeCols);
     _gslvr = new GLMGradientSolver(_job, _parms, _activeData, (1 - _alpha) * _lambda, _activeBC);
@@ -596,6 +710,7 @@ public final class ComputationState {
     double objOld = objective();
     _beta = beta;
     _ginfo = null;
+    _screenGrad = null;
     _likelihood = likelihood;
     return (_relImprovement = (objOld - objective())/Math.abs(objOld));
   }
@@ -615,12 +730,22 @@ public final class ComputationState {
     return converged;
   }
 
+  /** Same as {@link #converged()}, but an objective made worse by the noise of SGD steps does not count */
+  public boolean convergedSGD(){
+    if(_relImprovement < 0 && _betaDiff >= _parms._beta_epsilon) {
+      convergenceMsg = "not converged, objective increased, betaDiff = " + _betaDiff + ", relImprovement = " + _relImprovement;
+      return false;
+    }
+    return converged();
+  }
+
   protected double updateState(double [] beta,GLMGradientInfo ginfo){
     _betaDiff = ArrayUtils.linfnorm(_beta == null?beta:ArrayUtils.subtract(_beta,beta),false);
     double objOld = objective();
     if(_beta == null)_beta = beta.clone();
     else System.arraycopy(beta,0,_beta,0,beta.length);
     _ginfo = ginfo;
+    _screenGrad = null;
     _likelihood = ginfo._likelihood;
     return (_relImprovement = (objOld - objective())/Math.abs(objOld));
   }
@@ -819,6 +819,8 @@ public class GLM extends ModelBuilder<GLMModel,GLMParameters,GLMOutput> {
             tempVec.remove();
           }
         }
+        if(_state != null)
+          _state.removeCheckpoint();
         if(_model!=null)
           _model.unlock(_job);
       } catch(Throwable t){
@@ -1476,6 +1478,47 @@ public class GLM extends ModelBuilder<GLMModel,GLMParameters,GLMOutput> {
       }
     }
 
+    /**
+     * Mini-batch SGD with the chunk-local models averaged after every pass over the data (see {@link GLMSGDTask}).
+     * One pass is one iteration; the step size decays as 1/sqrt(pass). Each pass also sums the likelihood of the
+     * averaged coefficients it starts from (the one at the moving coefficients would be noise), so the usual
+     * beta_epsilon / objective_epsilon checks judge the coefficients of a pass during the next one, and a pass which
+     * makes the objective worse does not count as converged. Converging keeps the scored coefficients and drops the
+     * update of the pass that scored them; only stopping at max_iterations takes an extra pass, to score the last
+     * coefficients.
+     */
+    private void fitSGD() {
+      DataInfo activeData = _state.activeData();
+      double [] beta = _state.beta();
+      if (beta == null) {
+        beta = MemoryManager.malloc8d(activeData.fullN() + 1);
+        if (_parms._intercept)
+          beta[beta.length - 1] = new GLMWeightsFun(_parms).link(_state._ymu[0]);
+      }
+      final double l1pen = _state.l1pen(), l2pen = _state.l2pen();
+      for (int pass = 0; ; ++pass) {
+        double rate = _parms._sgd_learning_rate / Math.sqrt(1 + pass);
+        GLMSGDTask sgd = new GLMSGDTask(_job._key, activeData, _parms, beta, l1pen, l2pen, rate).doAll(activeData._adaptedFrame);
+        if (pass > 0) { // beta are the averaged coefficients of the previous pass, scored by this one
+          _state.updateState(beta, sgd._likelihood);
+          if (!_parms._lambda_search)
+            updateProgress(true);
+          if (_state.convergedSGD()) {
+            Log.info(LogMsg(_state.convergenceMsg));
+            return;
+          }
+        }
+        beta = sgd.beta();
+        _state._iter++;
+        if (stop_requested() || _state._iter >= _parms._max_iterations) { // no next pass to score beta
+          _state.updateState(beta, new GLMResDevTask(_job._key, activeData, _parms, beta).doAll(activeData._adaptedFrame)._likelihood);
+          if (!_parms._lambda_search)
+            updateProgress(true);
+          return;
+        }
+      }
+    }
+
     private void fitCOD() {
       double [] beta = _state.beta();
       int p = _state.activeData().fullN()+ 1;
@@ -1653,6 +1696,9 @@ public class GLM extends ModelBuilder<GLMModel,GLMParameters,GLMOutput> {
           case COORDINATE_DESCENT_NAIVE:
             fitCOD();
             break;
+          case SGD:
+            fitSGD();
+            break;
           default:
             throw H2O.unimpl();
         }
@@ -2789,20 +2835,7 @@ public class GLM extends ModelBuilder<GLMModel,GLMParameters,GLMOutput> {
       } else {
         assert beta.length == _dinfo.fullN() + 1;
         assert _parms._intercept || (beta[beta.length-1] == 0);
-        GLMGradientTask gt;
-        if(_parms._family == Family.binomial && _parms._link == Link.logit)
-          gt = new GLMBinomialGradientTask(_job == null?null:_job._key,_dinfo,_parms,_l2pen, beta).doAll(_dinfo._adaptedFrame);
-        else if(_parms._family == Family.gaussian && _parms._link == Link.identity)
-          gt = new GLMGaussianGradientTask(_job == null?null:_job._key,_dinfo,_parms,_l2pen, beta).doAll(_dinfo._adaptedFrame);
-        else if (_parms._family.equals(Family.negativebinomial))
-          gt =  new GLMNegativeBinomialGradientTask(_job == null?null:_job._key,_dinfo,
-                  _parms,_l2pen, beta).doAll(_dinfo._adaptedFrame);
-        else if(_parms._family == Family.poisson && _parms._link == Link.log)
-          gt = new GLMPoissonGradientTask(_job == null?null:_job._key,_dinfo,_parms,_l2pen, beta).doAll(_dinfo._adaptedFrame);
-        else if(_parms._family == Family.quasibinomial)
-          gt = new GLMQuasiBinomialGradientTask(_job == null?null:_job._key,_dinfo,_parms,_l2pen, beta).doAll(_dinfo._adaptedFrame);
-        else
-          gt = new GLMGenericGradientTask(_job == null?null:_job._key, _dinfo, _parms, _l2pen, beta).doAll(_dinfo._adaptedFrame);
+        GLMGradientTask gt = GLMGradientTask.make(_job == null?null:_job._key,_dinfo,_parms,_l2pen,beta).doAll(_dinfo._adaptedFrame);
         double [] gradient = gt._gradient;
         double  likelihood = gt._likelihood;
         if (!_parms._intercept) // no intercept, null the ginfo
@@ -242,12 +242,28 @@ public class GLMModel extends Model<GLMModel,GLMModel.GLMParameters,GLMModel.GLM
     public Key<Frame> _plug_values = null;
     // internal parameter, handle with care. GLM will stop when there is more than this number of active predictors (after strong rule screening)
     public int _max_active_predictors = -1;
+    // SGD solver: rows per mini-batch and initial step size (decays with 1/sqrt(pass))
+    public int _sgd_batch_size = 32;
+    public double _sgd_learning_rate = 0.1;
     public boolean _stdOverride; // standardization override by beta constraints
     final static NormalDistribution _dprobit = new NormalDistribution(0,1);  // get the normal distribution
     
     public void validate(GLM glm) {
       if (_solver.equals(Solver.COORDINATE_DESCENT_NAIVE) && _family.equals(Family.multinomial))
         throw H2O.unimpl("Naive coordinate descent is not supported for multinomial.");
+      if(_solver == Solver.SGD) {
+        if(_family == Family.multinomial || _family == Family.ordinal || _HGLM)
+          glm.error("_solver","SGD solver is not supported for family = multinomial, ordinal or HGLM");
+        if(_beta_constraints != null || _non_negative)
+          glm.error("_solver","SGD solver does not support beta constraints or non-negative coefficients");
+        if(_sgd_batch_size < 1)
+          glm.error("_sgd_batch_size","Must be positive");
+        if(_sgd_learning_rate <= 0)
+          glm.error("_sgd_learning_rate","Must be positive");
+      } else {
+        glm.hide("_sgd_batch_size","Only applicable with SGD solver");
+        glm.hide("_sgd_learning_rate","Only applicable with SGD solver");
+      }
       if(_alpha != null && (1 < _alpha[0] || _alpha[0] < 0))
         glm.error("_alpha","alpha parameter must from (inclusive) [0,1] range");
       if(_compute_p_values && _solver != Solver.AUTO && _solver != Solver.IRLSM)
@@ -600,7 +616,7 @@ public class GLMModel extends Model<GLMModel,GLMModel.GLMParameters,GLMModel.GLM
     }
     public static enum Link {family_default, identity, logit, log, inverse, tweedie, multinomial, ologit, oprobit, ologlog}
 
-    public static enum Solver {AUTO, IRLSM, L_BFGS, COORDINATE_DESCENT_NAIVE, COORDINATE_DESCENT, GRADIENT_DESCENT_LH, GRADIENT_DESCENT_SQERR}
+    public static enum Solver {AUTO, IRLSM, L_BFGS, COORDINATE_DESCENT_NAIVE, COORDINATE_DESCENT, GRADIENT_DESCENT_LH, GRADIENT_DESCENT_SQERR, SGD}
 
     // helper function
     static final double y_log_y(double y, double mu) {
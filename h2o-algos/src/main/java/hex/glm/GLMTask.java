@@ -14,6 +14,8 @@ import water.H2O.H2OCountedCompleter;
 import water.fvec.C0DChunk;
 import water.fvec.Chunk;
 import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
 import water.util.ArrayUtils;
 import water.util.FrameUtils;
 import water.util.MathUtils;
@@ -58,8 +60,11 @@ public abstract class GLMTask  {
       Chunk r = chks[i];
       if(_glmf._family != Family.multinomial) {
         double ymu = _glmf.link(_ymu[0]);
+        double [] ws = w.getDoubles(MemoryManager.malloc8d(len),0,len);
+        double [] os = o.getDoubles(MemoryManager.malloc8d(len),0,len);
+        double [] ys = r.getDoubles(MemoryManager.malloc8d(len),0,len);
         for (int j = 0; j < len; ++j)
-          _nullDev += w.atd(j)*_glmf.deviance(r.atd(j), _glmf.linkInv(ymu + o.atd(j)));
+          _nullDev += ws[j]*_glmf.deviance(ys[j], _glmf.linkInv(ymu + os[j]));
       } else {
         throw H2O.unimpl();
       }
@@ -323,6 +328,7 @@ public abstract class GLMTask  {
      _basicStats.setNobs(nobs,wsum);
      // compute the mean for the response
      // autoexpand categoricals into binary vecs
+     double [] ys = response.getDoubles(MemoryManager.malloc8d(response._len),0,response._len);
      for(int r = 0; r < response._len; ++r) {
        double w;
        if((w = ws[r]) == 0)
@@ -334,7 +340,7 @@ public abstract class GLMTask  {
              numsResponse[i] = chunks[chunks.length - _nClasses + i].atd(r);
          } else {
            Arrays.fill(numsResponse,0);
-           double d = response.atd(r);
+           double d = ys[r];
            if(Double.isNaN(d))
              Arrays.fill(numsResponse,Double.NaN);
            else
@@ -342,7 +348,7 @@ public abstract class GLMTask  {
          }
          _basicStatsResponse.add(numsResponse,w);
        }
-       double d = response.atd(r);
+       double d = ys[r];
        if(!Double.isNaN(d)) {
          if (_nClasses > 2)
            _yMu[(int) d] += w;
@@ -424,6 +430,22 @@ public abstract class GLMTask  {
     }
     protected abstract void computeGradientMultipliers(double [] es, double [] ys, double [] ws);
 
+    /** Gradient task for the (non multinomial/ordinal) family and link of parms, does not run it */
+    static GLMGradientTask make(Key jobKey, DataInfo dinfo, GLMParameters parms, double lambda, double [] beta) {
+      if(parms._family == Family.binomial && parms._link == Link.logit)
+        return new GLMBinomialGradientTask(jobKey,dinfo,parms,lambda,beta);
+      else if(parms._family == Family.gaussian && parms._link == Link.identity)
+        return new GLMGaussianGradientTask(jobKey,dinfo,parms,lambda,beta);
+      else if (parms._family.equals(Family.negativebinomial))
+        return new GLMNegativeBinomialGradientTask(jobKey,dinfo,parms,lambda,beta);
+      else if(parms._family == Family.poisson && parms._link == Link.log)
+        return new GLMPoissonGradientTask(jobKey,dinfo,parms,lambda,beta);
+      else if(parms._family == Family.quasibinomial)
+        return new GLMQuasiBinomialGradientTask(jobKey,dinfo,parms,lambda,beta);
+      else
+        return new GLMGenericGradientTask(jobKey,dinfo,parms,lambda,beta);
+    }
+
     private final void computeCategoricalEtas(Chunk [] chks, double [] etas, double [] vals, int [] ids) {
       // categoricals
       for(int cid = 0; cid < _dinfo._cats; ++cid){
@@ -568,6 +590,246 @@ public abstract class GLMTask  {
     }
   }
 
+  /**
+   * One pass of mini-batch SGD, used by the SGD solver.
+   *
+   * Every chunk starts from the same beta and walks its rows in mini-batches of parms._sgd_batch_size rows; the
+   * per-row loss gradient comes from the family's {@link GLMGradientTask#computeGradientMultipliers} so it is the
+   * same as the one used by L-BFGS. After each batch the coefficients take a step along the batch mean of the
+   * gradient plus the l2 penalty followed by soft-thresholding for the l1 penalty (the intercept is not penalized).
+   * The step matches the objective for the default obj_reg (1 / sum of weights).
+   * The chunk-local models are averaged, weighted by the weight of rows they saw, at the end of the pass.
+   * Sparse rows are not centered, the centering is applied through the eta offset and the batch gradient instead.
+   *
+   * _likelihood is summed over the rows at the coefficients current when the row was visited, it is an estimate of
+   * the likelihood of the pass.
+   */
+  static class GLMSGDTask extends FrameTask2<GLMSGDTask> {
+    final GLMParameters _parms;
+    final double [] _beta;
+    final double _l1pen, _l2pen, _rate;
+    double [] _betaSum;
+    double _wsum;
+    double _likelihood; // of the coefficients the pass started from (_beta), scoring the previous pass
+    long _nobs;
+
+    public GLMSGDTask(Key jobKey, DataInfo dinfo, GLMParameters parms, double [] beta, double l1pen, double l2pen, double rate) {
+      super(null, dinfo, jobKey);
+      _parms = parms;
+      _beta = beta;
+      _l1pen = l1pen;
+      _l2pen = l2pen;
+      _rate = rate;
+    }
+
+    private transient GLMGradientTask _g;
+    private transient double [] _b, _gb, _es, _ys, _ws;
+    private transient double _batchW, _chunkW, _esSum, _sparseOffset, _sparseOffset0;
+    private transient int _batchN;
+
+    @Override public boolean handlesSparseData(){return true;}
+
+    @Override
+    public void chunkInit() {
+      _g = GLMGradientTask.make(null, _dinfo, _parms, _l2pen, _beta);
+      _b = _beta.clone();
+      _gb = MemoryManager.malloc8d(_beta.length);
+      _es = new double[1];
+      _ys = new double[1];
+      _ws = new double[1];
+      _batchW = 0;
+      _chunkW = 0;
+      _esSum = 0;
+      _batchN = 0;
+      _sparseOffset = _sparseOffset0 = _sparse ? GLM.sparseOffset(_b, _dinfo) : 0;
+    }
+
+    @Override
+    protected void processRow(Row r) {
+      // likelihood at the starting coefficients, so the averaged ones of the last pass need no pass of their own
+      _es[0] = r.innerProduct(_beta) + _sparseOffset0 + r.offset;
+      _ys[0] = r.response(0);
+      _ws[0] = r.weight;
+      _g._likelihood = 0;
+      _g.computeGradientMultipliers(_es, _ys, _ws);
+      _likelihood += _g._likelihood;
+      _es[0] = r.innerProduct(_b) + _sparseOffset + r.offset;
+      _ys[0] = r.response(0);
+      _ws[0] = r.weight;
+      _g.computeGradientMultipliers(_es, _ys, _ws);
+      r.addToArray(_es[0], _gb);
+      _esSum += _es[0];
+      _batchW += r.weight;
+      ++_nobs;
+      if (++_batchN == _parms._sgd_batch_size)
+        step();
+    }
+
+    private void step() {
+      if (_batchW > 0) {
+        final double scale = 1.0 / _batchW;
+        final double t = _rate * _l1pen;
+        final int P = _b.length - 1;
+        if (_sparse && _dinfo._normSub != null) { // center the sparse numeric values
+          final int numStart = _dinfo.numStart();
+          for (int i = 0; i < _dinfo._nums; ++i)
+            _gb[numStart + i] -= _dinfo._normSub[i] * _dinfo._normMul[i] * _esSum;
+        }
+        for (int j = 0; j < P; ++j) {
+          double b = _b[j] - _rate * (_gb[j] * scale + _l2pen * _b[j]);
+          _b[j] = b > t ? b - t : (b < -t ? b + t : 0);
+        }
+        if (_parms._intercept)
+          _b[P] -= _rate * _gb[P] * scale;
+      }
+      _chunkW += _batchW;
+      Arrays.fill(_gb, 0);
+      _batchW = 0;
+      _esSum = 0;
+      _batchN = 0;
+      if (_sparse)
+        _sparseOffset = GLM.sparseOffset(_b, _dinfo);
+    }
+
+    @Override
+    public void chunkDone() {
+      if (_batchN > 0)
+        step();
+      if (_chunkW > 0) {
+        if (_betaSum == null)
+          _betaSum = MemoryManager.malloc8d(_b.length);
+        ArrayUtils.add(_betaSum, ArrayUtils.mult(_b, _chunkW));
+        _wsum += _chunkW;
+      }
+    }
+
+    @Override
+    public void reduce(GLMSGDTask t) {
+      if (_betaSum == null) _betaSum = t._betaSum;
+      else if (t._betaSum != null) ArrayUtils.add(_betaSum, t._betaSum);
+      _wsum += t._wsum;
+      _likelihood += t._likelihood;
+      _nobs += t._nobs;
+    }
+
+    /** Averaged coefficients after the pass */
+    public double [] beta() {
+      return _wsum > 0 ? ArrayUtils.mult(_betaSum.clone(), 1.0 / _wsum) : _beta.clone();
+    }
+  }
+
+  /**
+   * Per-row gradient multipliers (d likelihood / d eta times the row weight, see
+   * {@link GLMGradientTask#computeGradientMultipliers}) at beta. Run with one output Vec it stores them, run with a
+   * checkpoint Vec (multipliers stored earlier) it sums the squared differences to the stored values.
+   * Used by the safe screening of the KKT check in {@link ComputationState}, beta only covers the active columns.
+   */
+  static class GLMMultipliersTask extends MRTask<GLMMultipliersTask> {
+    final DataInfo _dinfo;
+    final GLMParameters _parms;
+    final double [] _beta;
+    final Vec _checkpoint;
+    double _diff2;
+
+    GLMMultipliersTask(DataInfo dinfo, GLMParameters parms, double [] beta, Vec checkpoint) {
+      _dinfo = dinfo;
+      _parms = parms;
+      _beta = beta;
+      _checkpoint = checkpoint;
+    }
+
+    private double [] multipliers(Chunk [] chks) {
+      GLMGradientTask g = GLMGradientTask.make(null, _dinfo, _parms, 0, _beta);
+      final int len = chks[0]._len;
+      double [] es = MemoryManager.malloc8d(len);
+      double [] ys = MemoryManager.malloc8d(len);
+      double [] ws = MemoryManager.malloc8d(len);
+      DataInfo.Rows rows = _dinfo.rows(chks);
+      final double sparseOffset = rows._sparse ? GLM.sparseOffset(_beta, _dinfo) : 0;
+      for (int i = 0; i < len; ++i) {
+        Row row = rows.row(i);
+        if (row.isBad() || row.weight == 0) continue; // ws[i] == 0, same as the gradient tasks
+        es[i] = row.innerProduct(_beta) + sparseOffset + row.offset;
+        ys[i] = row.response(0);
+        ws[i] = row.weight;
+      }
+      g.computeGradientMultipliers(es, ys, ws);
+      for (int i = 0; i < len; ++i)
+        if (ws[i] == 0) es[i] = 0;
+      return es;
+    }
+
+    @Override public void map(Chunk [] chks, NewChunk nc) {
+      for (double e : multipliers(chks))
+        nc.addNum(e);
+    }
+
+    @Override public void map(Chunk [] chks) {
+      Chunk c = _checkpoint.chunkForChunkIdx(chks[0].cidx());
+      double [] es = multipliers(chks);
+      for (int i = 0; i < es.length; ++i) {
+        double d = es[i] - c.atd(i);
+        _diff2 += d * d;
+      }
+    }
+
+    @Override public void reduce(GLMMultipliersTask t) { _diff2 += t._diff2; }
+  }
+
+  /** Sum of squares of every expanded column of dinfo (after standardization), the intercept is left out */
+  static class GLMColNormsTask extends FrameTask2<GLMColNormsTask> {
+    double [] _sumsq;
+    double [] _sums; // sparse rows only, sums of the uncentered numeric values
+    long _nobs;
+
+    GLMColNormsTask(Key jobKey, DataInfo dinfo) { super(null, dinfo, jobKey); }
+
+    @Override public boolean handlesSparseData(){return true;}
+
+    @Override public void chunkInit() {
+      _sumsq = MemoryManager.malloc8d(_dinfo.fullN());
+      if (_sparse) _sums = MemoryManager.malloc8d(_dinfo.fullN());
+    }
+
+    @Override protected void processRow(Row r) {
+      for (int i = 0; i < r.nBins; ++i)
+        _sumsq[r.binIds[i]] += 1;
+      if (r.isSparse()) {
+        for (int i = 0; i < r.nNums; ++i) {
+          _sumsq[r.numIds[i]] += r.numVals[i] * r.numVals[i];
+          _sums[r.numIds[i]] += r.numVals[i];
+        }
+      } else {
+        final int numStart = _dinfo.numStart();
+        for (int i = 0; i < r.numVals.length; ++i)
+          _sumsq[numStart + i] += r.numVals[i] * r.numVals[i];
+      }
+      ++_nobs;
+    }
+
+    @Override public void reduce(GLMColNormsTask t) {
+      if (_sumsq == null) {
+        _sumsq = t._sumsq;
+        _sums = t._sums;
+      } else if (t._sumsq != null) {
+        ArrayUtils.add(_sumsq, t._sumsq);
+        if (_sums != null) ArrayUtils.add(_sums, t._sums);
+      }
+      _nobs += t._nobs;
+    }
+
+    // sum (x - c)^2 = sum x^2 - 2 c sum x + n c^2 for the centering c the sparse rows left out
+    @Override public void postGlobal() {
+      if (_sums == null || _dinfo._normSub == null) return;
+      final int numStart = _dinfo.numStart();
+      for (int i = 0; i < _dinfo._nums; ++i) {
+        double c = _dinfo._normSub[i] * _dinfo._normMul[i];
+        int j = numStart + i;
+        _sumsq[j] = Math.max(0, _sumsq[j] - 2 * c * _sums[j] + _nobs * c * c);
+      }
+    }
+  }
+
   static class GLMGenericGradientTask extends GLMGradientTask {
     private final GLMWeightsFun _glmf;
     public GLMGenericGradientTask(Key jobKey, DataInfo dinfo, GLMParameters parms, double lambda, double[] beta) {
@@ -1361,9 +1623,12 @@ public abstract class GLMTask  {
       }
       if(_dinfo._intercept)
         _xy[_xy.length-1] += wz;
-      _gram.addRow(r, w);
+      _gram.addRowBuffered(r, w);
     }
 
+    @Override
+    public void chunkDone(){_gram.flushRows();}
+
     @Override
     public void reduce(GLMIterationTaskMultinomial glmt) {
       ArrayUtils.add(_xy,glmt._xy);
@@ -1522,11 +1787,14 @@ public abstract class GLMTask  {
       }
       if(_dinfo._intercept)
         _xy[_xy.length-1] += wz;
-      _gram.addRow(r,w);
+      _gram.addRowBuffered(r,w);
     }
 
     @Override
-    public void chunkDone(){adjustForSparseStandardizedZeros();}
+    public void chunkDone(){
+      _gram.flushRows();
+      adjustForSparseStandardizedZeros();
+    }
 
     @Override
     public void reduce(GLMIterationTask git){
@@ -0,0 +1,203 @@
+package hex.gram;
+
+import water.*;
+import water.util.Log;
+
+/**
+ * Blocked (right-looking) Cholesky factorization spread over the cloud.
+ *
+ * The lower triangle of the matrix is cut into square blocks which are stored in DKV, homed round-robin over the
+ * nodes. Step k factorizes the diagonal block k, then solves the panel below it and finally updates the trailing
+ * blocks; each block operation runs as a {@link DTask} on the home node of the block it writes, so all nodes share
+ * the O(N^3) work and each node only holds the blocks it owns plus the panel blocks it reads.
+ *
+ * Used by {@link Gram#cholesky} for the dense part of the Gram once it has at least
+ * -Dsys.ai.h2o.gram.distributed_cholesky_min_n columns (default 20000) on a multi-node cloud.
+ */
+public final class DistributedCholesky {
+  static final int MIN_N = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "gram.distributed_cholesky_min_n", 20000);
+  static final int BLOCK_SIZE = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "gram.distributed_cholesky_block", 1000);
+
+  private DistributedCholesky() {}
+
+  /** Should a dense matrix of n columns be factorized over the cloud? */
+  public static boolean useFor(int n) {
+    return H2O.CLOUD.size() > 1 && n >= MIN_N;
+  }
+
+  public static boolean decompose(double[][] xx) {
+    return decompose(xx, BLOCK_SIZE);
+  }
+
+  /**
+   * Replaces the lower triangle of xx (row i has at least i+1 entries) with its Cholesky factor L, same as
+   * {@link Gram.InPlaceCholesky#decompose_2}; the entries above the diagonal are not touched.
+   * @return false if the matrix is not positive definite
+   */
+  public static boolean decompose(double[][] xx, int blockSize) {
+    final int N = xx.length;
+    final int nb = (N + blockSize - 1) / blockSize;
+    @SuppressWarnings("unchecked")
+    final Key<Block>[][] keys = new Key[nb][];
+    long start = System.currentTimeMillis();
+    try {
+      Futures fs = new Futures();
+      int home = 0;
+      for (int i = 0; i < nb; ++i) {
+        keys[i] = new Key[i + 1];
+        for (int j = 0; j <= i; ++j) {
+          H2ONode node = H2O.CLOUD._memary[home++ % H2O.CLOUD.size()];
+          keys[i][j] = Key.make((byte) 1, Key.HIDDEN_USER_KEY, true, node);
+          DKV.put(new Block(keys[i][j], xx, i * blockSize, j * blockSize, blockSize), fs);
+        }
+      }
+      fs.blockForPending();
+      boolean isSPD = true;
+      for (int k = 0; k < nb; ++k) {
+        isSPD &= call(new FactorDiag(keys[k][k]), keys[k][k]).get()._isSPD;
+        RPC<?>[] rpcs = new RPC[nb - k - 1];
+        for (int i = k + 1; i < nb; ++i)
+          rpcs[i - k - 1] = call(new SolvePanel(keys[i][k], keys[k][k]), keys[i][k]);
+        for (RPC<?> rpc : rpcs) rpc.get();
+        int m = nb - k - 1;
+        rpcs = new RPC[m * (m + 1) / 2];
+        int r = 0;
+        for (int i = k + 1; i < nb; ++i)
+          for (int j = k + 1; j <= i; ++j)
+            rpcs[r++] = call(new Update(keys[i][j], keys[i][k], keys[j][k]), keys[i][j]);
+        for (RPC<?> rpc : rpcs) rpc.get();
+      }
+      for (int i = 0; i < nb; ++i)
+        for (int j = 0; j <= i; ++j)
+          DKV.<Block>getGet(keys[i][j]).copyTo(xx, i * blockSize, j * blockSize, i == j);
+      Log.info("Distributed Cholesky of " + N + " columns in " + nb + "x" + nb + " blocks over " + H2O.CLOUD.size() +
+              " nodes took " + (System.currentTimeMillis() - start) + "ms");
+      return isSPD;
+    } finally {
+      Futures fs = new Futures();
+      for (Key<Block>[] row : keys)
+        if (row != null)
+          for (Key<Block> k : row)
+            if (k != null) DKV.remove(k, fs);
+      fs.blockForPending();
+    }
+  }
+
+  private static <T extends DTask<T>> RPC<T> call(T task, Key<Block> target) {
+    return new RPC<>(target.home_node(), task).call();
+  }
+
+  /** Dense row-major block of the matrix */
+  static final class Block extends Keyed<Block> {
+    final int _rows, _cols;
+    final double[] _vals;
+
+    Block(Key<Block> key, int rows, int cols, double[] vals) {
+      super(key);
+      _rows = rows;
+      _cols = cols;
+      _vals = vals;
+    }
+
+    // Copies block [i0, i0+size) x [j0, j0+size) of the lower triangle of xx
+    Block(Key<Block> key, double[][] xx, int i0, int j0, int size) {
+      this(key, Math.min(size, xx.length - i0), Math.min(size, xx.length - j0),
+              MemoryManager.malloc8d(Math.min(size, xx.length - i0) * Math.min(size, xx.length - j0)));
+      for (int r = 0; r < _rows; ++r)
+        for (int c = 0; c < _cols && j0 + c <= i0 + r; ++c)
+          _vals[r * _cols + c] = xx[i0 + r][j0 + c];
+    }
+
+    void copyTo(double[][] xx, int i0, int j0, boolean diag) {
+      for (int r = 0; r < _rows; ++r) {
+        int cols = diag ? r + 1 : _cols;
+        for (int c = 0; c < cols; ++c)
+          xx[i0 + r][j0 + c] = _vals[r * _cols + c];
+      }
+    }
+
+    Block update(double[] vals) {
+      return new Block(_key, _rows, _cols, vals);
+    }
+  }
+
+  // A_kk = L_kk L_kk' (lower triangle only)
+  private static class FactorDiag extends DTask<FactorDiag> {
+    final Key<Block> _a;
+    boolean _isSPD = true;
+    FactorDiag(Key<Block> a) { _a = a; }
+
+    @Override public void compute2() {
+      Block a = DKV.getGet(_a);
+      final int n = a._rows;
+      final double[] l = a._vals.clone();
+      for (int i = 0; i < n; ++i) {
+        int oi = i * n;
+        for (int k = 0; k < i; ++k) {
+          int ok = k * n;
+          double s = 0;
+          for (int j = 0; j < k; ++j) s += l[ok + j] * l[oi + j];
+          l[oi + k] = (l[oi + k] - s) / l[ok + k];
+        }
+        double d = l[oi + i];
+        for (int j = 0; j < i; ++j) d -= l[oi + j] * l[oi + j];
+        _isSPD &= d > 0;
+        l[oi + i] = Math.sqrt(Math.max(0, d));
+      }
+      DKV.put(a.update(l));
+      tryComplete();
+    }
+  }
+
+  // L_ik = A_ik L_kk'^-1
+  private static class SolvePanel extends DTask<SolvePanel> {
+    final Key<Block> _a, _lkk;
+    SolvePanel(Key<Block> a, Key<Block> lkk) { _a = a; _lkk = lkk; }
+
+    @Override public void compute2() {
+      Block a = DKV.getGet(_a);
+      Block lkk = DKV.getGet(_lkk);
+      final int n = a._cols;
+      final double[] x = a._vals.clone();
+      final double[] l = lkk._vals;
+      for (int r = 0; r < a._rows; ++r) {
+        int or = r * n;
+        for (int c = 0; c < n; ++c) {
+          int oc = c * n;
+          double s = x[or + c];
+          for (int t = 0; t < c; ++t) s -= x[or + t] * l[oc + t];
+          x[or + c] = s / l[oc + c];
+        }
+      }
+      DKV.put(a.update(x));
+      tryComplete();
+    }
+  }
+
+  // A_ij -= L_ik L_jk'
+  private static class Update extends DTask<Update> {
+    final Key<Block> _a, _lik, _ljk;
+    Update(Key<Block> a, Key<Block> lik, Key<Block> ljk) { _a = a; _lik = lik; _ljk = ljk; }
+
+    @Override public void compute2() {
+      Block a = DKV.getGet(_a);
+      Block lik = DKV.getGet(_lik);
+      Block ljk = _ljk.equals(_lik) ? lik : DKV.<Block>getGet(_ljk);
+      final boolean diag = _lik.equals(_ljk); // i == j, only the lower triangle is needed
+      final int n = lik._cols;
+      final double[] v = a._vals.clone();
+      for (int r = 0; r < a._rows; ++r) {
+        int or = r * n;
+        int cols = diag ? r + 1 : a._cols;
+        for (int c = 0; c < cols; ++c) {
+          int oc = c * n;
+          double s = 0;
+          for (int t = 0; t < n; ++t) s += lik._vals[or + t] * ljk._vals[oc + t];
+          v[r * a._cols + c] -= s;
+        }
+      }
+      DKV.put(a.update(v));
+      tryComplete();
+    }
+  }
+}
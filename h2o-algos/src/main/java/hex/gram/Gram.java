@@ -21,6 +21,13 @@ public final class Gram extends Iced<Gram> {
   final int _denseN;
   int _fullN;
   final static int MIN_TSKSZ=10000;
+  // Dense rows are buffered (see addRowBuffered) when there are at least this many dense predictors; 0 disables it
+  static final int BUFFER_MIN_DENSE = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "gram.buffer_min_dense", 128);
+  static final int TILE_ROWS = 64;  // rows per buffered tile
+  static final int TILE_COLS = 64;  // column block of the tile update, TILE_ROWS x TILE_COLS doubles fit in L1
+  private transient double[][] _tile;  // buffered dense values, [column][row]
+  private transient double[] _tileW;   // weights of the buffered rows
+  private transient int _tileN;        // number of buffered rows
 
   private static class XXCache {
     public final boolean lowerDiag;
@@ -71,7 +78,10 @@ public final class Gram extends Iced<Gram> {
   }
 
   public Gram deep_clone(){
+    assert _tileN == 0 : "buffered rows not flushed";
     Gram res = clone();
+    res._tile = null;
+    res._tileW = null;
     if(_xx != null)
       res._xx = ArrayUtils.deepClone(_xx);
     if(_diag != null)
@@ -433,6 +443,7 @@ public final class Gram extends Iced<Gram> {
    *  1. We solve the diagonal part right away (just do the sqrt of the elements).
    *  2. The diagonal*dense part is simply divided by the sqrt of diagonal.
    *  3. Compute Cholesky of dense*dense - outer product of Cholesky of diagonal*dense computed in previous step
+   *     (over the whole cloud for very wide problems, see {@link DistributedCholesky})
    *
    * @param chol
    * @return the Cholesky decomposition
@@ -502,10 +513,14 @@ public final class Gram extends Iced<Gram> {
     double[][] arr = new double[denseN][];
     for( int i = 0; i < arr.length; ++i )
       arr[i] = Arrays.copyOfRange(fchol._xx[i], sparseN, sparseN + denseN);
-    int p = Runtime.getRuntime().availableProcessors();
-    InPlaceCholesky d = InPlaceCholesky.decompose_2(arr, 10, p);
-    fchol.setSPD(d.isSPD());
-    arr = d.getL();
+    if (DistributedCholesky.useFor(denseN)) {
+      fchol.setSPD(DistributedCholesky.decompose(arr));
+    } else {
+      int p = Runtime.getRuntime().availableProcessors();
+      InPlaceCholesky d = InPlaceCholesky.decompose_2(arr, 10, p);
+      fchol.setSPD(d.isSPD());
+      arr = d.getL();
+    }
     for( int i = 0; i < arr.length; ++i ) {
       // See PUBDEV-5585: we use a manual array copy instead of System.arraycopy because of behavior on Java 10
       // Used to be: System.arraycopy(arr[i], 0, fchol._xx[i], sparseN, i + 1);
@@ -563,6 +578,8 @@ public final class Gram extends Iced<Gram> {
   }
 
   public void add(Gram grm) {
+    flushRows();
+    grm.flushRows();
     ArrayUtils.add(_xx,grm._xx);
     ArrayUtils.add(_diag,grm._diag);
   }
@@ -743,7 +760,64 @@ public final class Gram extends Iced<Gram> {
       addRowSparse(row, w);
   }
 
+  /**
+   * Same as {@link #addRow}, but the products of the dense predictors of dense rows are buffered and added a tile
+   * of rows at a time (see {@link #flushRows}), which touches the dense part of the matrix once per tile instead of
+   * once per row. The caller must call {@link #flushRows} before using the matrix.
+   */
+  public final void addRowBuffered(DataInfo.Row row, double w) {
+    if (row.numIds != null || BUFFER_MIN_DENSE == 0 || _denseN < BUFFER_MIN_DENSE) {
+      addRow(row, w);
+      return;
+    }
+    if (_tile == null) {
+      _tile = new double[_denseN][TILE_ROWS];
+      _tileW = MemoryManager.malloc8d(TILE_ROWS);
+    }
+    final int r = _tileN++;
+    _tileW[r] = w;
+    for (int i = 0; i < _denseN; ++i)
+      _tile[i][r] = row.numVals[i];
+    addRowDense(row, w, false);
+    if (_tileN == TILE_ROWS)
+      flushRows();
+  }
+
+  /** Adds the rows buffered by {@link #addRowBuffered} to the matrix */
+  public final void flushRows() {
+    final int n = _tileN;
+    if (n == 0) return;
+    final int intercept = _hasIntercept?1:0;
+    final int denseRowStart = _fullN - _denseN - _diagN - intercept;
+    final int denseColStart = _fullN - _denseN - intercept;
+    final double [] wxi = MemoryManager.malloc8d(n);
+    // SYRK-like update of the dense lower triangle, block of TILE_COLS columns at a time
+    for (int jb = 0; jb < _denseN; jb += TILE_COLS) {
+      final int je = Math.min(jb + TILE_COLS, _denseN);
+      for (int i = jb; i < _denseN; ++i) {
+        final double [] xi = _tile[i];
+        for (int r = 0; r < n; ++r)
+          wxi[r] = _tileW[r] * xi[r];
+        final double [] mrow = _xx[i + denseRowStart];
+        final int jmax = Math.min(je, i + 1);
+        for (int j = jb; j < jmax; ++j) {
+          final double [] xj = _tile[j];
+          double d = 0;
+          for (int r = 0; r < n; ++r)
+            d += wxi[r] * xj[r];
+          mrow[j + denseColStart] += d;
+        }
+      }
+    }
+    _tileN = 0;
+  }
+
   public final void   addRowDense(DataInfo.Row row, double w) {
+    addRowDense(row, w, true);
+  }
+
+  // numsXnums == false skips the products of the dense predictors, these are buffered by addRowBuffered
+  private void addRowDense(DataInfo.Row row, double w, boolean numsXnums) {
     final int intercept = _hasIntercept?1:0;
     final int denseRowStart = _fullN - _denseN - _diagN - intercept; // we keep dense numbers at the right bottom of the matrix, -1 is for intercept
     final int denseColStart = _fullN - _denseN - intercept;
@@ -754,8 +828,9 @@ public final class Gram extends Iced<Gram> {
     for(int i = 0; i < _denseN; ++i) if(row.numVals[i] != 0) {
       final double [] mrow = _xx[i+denseRowStart];
       final double d = w * row.numVals[i];
-      for(int j = 0; j <= i; ++j) if(row.numVals[j] != 0)
-        mrow[j+denseColStart] += d* row.numVals[j];
+      if(numsXnums)
+        for(int j = 0; j <= i; ++j) if(row.numVals[j] != 0)
+          mrow[j+denseColStart] += d* row.numVals[j];
       if(_hasIntercept)
         interceptRow[i+denseColStart] += d; // intercept*x[i]
       // nums * cats
@@ -962,12 +1037,13 @@ public final class Gram extends Iced<Gram> {
     }
     double _prev = 0;
     @Override protected void processRow(DataInfo.Row r) {
-      _gram.addRow(r, r.weight);
+      _gram.addRowBuffered(r, r.weight);
       ++_nobs;
       double current = (_gram.get(_dinfo.fullN()-1,_dinfo.fullN()-1) - _prev);
       _prev += current;
     }
     @Override public void chunkDone(){
+      _gram.flushRows();
       if(_std) {
         if (_nobs > 0) {  // removing NA rows may produce _nobs=0
           double r = 1.0 / _nobs;
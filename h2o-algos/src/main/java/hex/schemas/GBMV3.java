@@ -60,6 +60,10 @@ public class GBMV3 extends SharedTreeV3<GBM,GBMV3,GBMV3.GBMParametersV3> {
       "histogram_type",
       "max_abs_leafnode_pred",
       "pred_noise_bandwidth",
+      "goss_top_rate",
+      "goss_other_rate",
+      "grow_policy",
+      "max_leaves",
       "categorical_encoding",
       "calibrate_model",
       "calibration_frame",
@@ -97,6 +101,18 @@ public class GBMV3 extends SharedTreeV3<GBM,GBMV3,GBMV3.GBMParametersV3> {
     @API(help="Bandwidth (sigma) of Gaussian multiplicative noise ~N(1,sigma) for tree node predictions", level = API.Level.expert, gridable = true)
     public double pred_noise_bandwidth;
 
+    @API(help="GOSS (gradient-based one-side sampling): fraction of rows with the largest gradients that are always used to build a tree (0 disables GOSS, requires sample_rate = 1)", level = API.Level.expert, gridable = true)
+    public double goss_top_rate;
+
+    @API(help="GOSS: fraction of rows randomly sampled (and up-weighted) from the rows with small gradients", level = API.Level.expert, gridable = true)
+    public double goss_other_rate;
+
+    @API(help="Tree growth policy: depthwise grows all leaves level by level, lossguide splits the leaves with the largest gain first, up to max_leaves (max_depth still bounds the depth)", values = {"depthwise", "lossguide"}, level = API.Level.expert, gridable = true)
+    public GBMParameters.GrowPolicy grow_policy;
+
+    @API(help="Maximum number of leaves per tree for grow_policy=lossguide", level = API.Level.expert, gridable = true)
+    public int max_leaves;
+
 //    // TODO debug only, remove!
 //    @API(help="Internal flag, use new version of histo tsk if set", level = API.Level.expert, gridable = false)
 //    public boolean use_new_histo_tsk;
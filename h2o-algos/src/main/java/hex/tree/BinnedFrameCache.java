@@ -0,0 +1,200 @@
+package hex.tree;
+
+import water.*;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.util.Log;
+import water.util.VecUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pre-binned copies of training columns, shared by all tree models built on the same Vecs.
+ *
+ * <p>A column with at most {@link #MAX_VALUES} distinct values is stored once as the index of each cell's value
+ * in the sorted distinct values (NAs stay NA), which compresses to 1- or 2-byte chunks.  Histogram building then
+ * bins every distinct value once per node and column, and rows only look up their bin
+ * (see {@link DHistogram#updateHistoBinned}).  Unlike a quantized copy this is lossless, so the same entry serves
+ * every nbins and histogram_type and the models are the same with or without the cache.
+ *
+ * <p>Entries live in DKV under a key derived from the Vec key and checksum and are reference counted: every holder
+ * (a model while it trains, or e.g. AutoML for its training frame) acquires the entries it uses with {@link #build}
+ * and gives them back with {@link #release}, the last holder removes the entry.  A dying entry (no holders left but
+ * not removed yet) is never revived; a holder that finds one gets an entry of its own instead.
+ * Entries are built on demand when -Dsys.ai.h2o.tree.binned_cache=true.
+ */
+public class BinnedFrameCache {
+  public static boolean ENABLED = H2O.getSysBoolProperty("tree.binned_cache", false); // not final so tests can switch it
+  static final int MAX_VALUES = 65535; // codes fit 2-byte chunks
+
+  public static class BinnedVec extends Keyed<BinnedVec> {
+    final Key<Vec> _codes;   // null if the column has too many distinct values
+    final double[] _values;  // sorted distinct values; code values.length is NA
+    int _refs;               // number of holders, 0 once the entry is being removed
+
+    BinnedVec(Key<BinnedVec> key, Key<Vec> codes, double[] values) {
+      super(key);
+      _codes = codes;
+      _values = values;
+    }
+
+    public boolean isBinned() { return _codes != null; }
+    public double[] values() { return _values; }
+    public Vec codes() { return _codes.get(); }
+
+    /** Codes of the rows of chunk cidx, NAs are mapped to values().length */
+    int[] codes(int cidx, int[] codes, int len) {
+      return codes().chunkForChunkIdx(cidx).getIntegers(codes, 0, len, _values.length);
+    }
+
+    @Override protected Futures remove_impl(Futures fs, boolean cascade) {
+      if (_codes != null) Keyed.remove(_codes, fs, true);
+      return super.remove_impl(fs, cascade);
+    }
+  }
+
+  static Key<BinnedVec> key(Vec v) { return Key.makeSystem(v._key + "_binned_" + Long.toHexString(v.checksum())); }
+
+  /** Shared entry of a Vec, null if there is none */
+  public static BinnedVec get(Vec v) {
+    return DKV.getGet(key(v));
+  }
+
+  /**
+   * Acquire entries for the first ncols columns of fr, building the missing ones.
+   * @param held collects the keys of all the entries acquired by this call, to be given back with {@link #release}
+   * @return per column, key of the binned entry or null if the column is not binned
+   */
+  public static Key<BinnedVec>[] build(Frame fr, int ncols, List<Key<BinnedVec>> held) {
+    @SuppressWarnings("unchecked")
+    Key<BinnedVec>[] keys = new Key[ncols];
+    for (int c = 0; c < ncols; c++) {
+      Vec v = fr.vec(c);
+      if (!v.isNumeric() && !v.isCategorical()) continue;
+      BinnedVec bv = acquire(v);
+      held.add(bv._key);
+      if (bv.isBinned()) keys[c] = bv._key;
+    }
+    return keys;
+  }
+
+  /** Pre-bin the columns of fr ahead of training several models on it; give the entries back with {@link #release} */
+  public static Key<BinnedVec>[] build(Frame fr) {
+    List<Key<BinnedVec>> held = new ArrayList<>();
+    build(fr, fr.numCols(), held);
+    return held.toArray(new Key[0]);
+  }
+
+  /** Give back entries acquired by {@link #build}, entries without holders are removed */
+  public static void release(Key<BinnedVec>[] keys) {
+    if (keys == null) return;
+    Futures fs = new Futures();
+    for (Key<BinnedVec> k : keys) {
+      if (k == null) continue;
+      Release r = new Release();
+      r.invoke(k);
+      if (r._last) Keyed.remove(k, fs, true);
+    }
+    fs.blockForPending();
+  }
+
+  private static BinnedVec acquire(Vec v) {
+    Key<BinnedVec> key = key(v);
+    Acquire a = new Acquire(null);
+    a.invoke(key);
+    if (a._acquired) return DKV.getGet(key);
+    BinnedVec bv = make(v, key);
+    a = new Acquire(bv);
+    a.invoke(key);
+    if (a._acquired) { // Someone else made it meanwhile, drop ours
+      if (bv._codes != null) Keyed.remove(bv._codes);
+      return DKV.getGet(key);
+    }
+    if (!a._installed) { // Shared entry is dying, keep ours private
+      bv = new BinnedVec(Key.<BinnedVec>makeSystem(key + "_" + Key.rand()), bv._codes, bv._values);
+      bv._refs = 1;
+      DKV.put(bv);
+    }
+    return bv;
+  }
+
+  // Join a live entry, or install a new one if there is none
+  private static class Acquire extends TAtomic<BinnedVec> {
+    final BinnedVec _made;  // entry to install, null to only join
+    boolean _acquired, _installed;
+    Acquire(BinnedVec made) { _made = made; }
+    @Override protected BinnedVec atomic(BinnedVec old) {
+      _acquired = _installed = false;
+      if (old != null) {
+        if (old._refs == 0) return null;  // Dying
+        old._refs++;
+        _acquired = true;
+        return old;
+      }
+      if (_made == null) return null;
+      _made._refs = 1;
+      _installed = true;
+      return _made;
+    }
+  }
+
+  private static class Release extends TAtomic<BinnedVec> {
+    boolean _last;
+    @Override protected BinnedVec atomic(BinnedVec old) {
+      if (old == null || old._refs == 0) return null;
+      old._refs--;
+      _last = old._refs == 0;
+      return old;
+    }
+  }
+
+  private static BinnedVec make(Vec v, Key<BinnedVec> key) {
+    CollectValues cv = (CollectValues) new CollectValues().doAll(v);
+    if (cv._tooMany)
+      return new BinnedVec(key, null, null);
+    final double[] values = cv.domain();
+    Vec codes = new MRTask() {
+      @Override public void map(Chunk c, NewChunk nc) {
+        double[] ds = c.getDoubles(MemoryManager.malloc8d(c._len), 0, c._len);
+        for (double d : ds) {
+          if (Double.isNaN(d)) { nc.addNA(); continue; }
+          int i = Arrays.binarySearch(values, d == 0 ? 0.0 : d); // -0.0 is stored as 0.0
+          assert i >= 0 : "value " + d + " not collected";
+          nc.addNum(i);
+        }
+      }
+    }.doAll(Vec.T_NUM, v).outputFrame().anyVec();
+    Log.debug("Pre-binned column " + v._key + ": " + values.length + " distinct values");
+    return new BinnedVec(key, codes._key, values);
+  }
+
+  // Distinct values of a column, gives up past MAX_VALUES
+  private static class CollectValues extends VecUtils.CollectDoubleDomain {
+    boolean _tooMany;
+    CollectValues() { super(null, MAX_VALUES); }
+    @Override public void map(Chunk ys) {
+      if (!_tooMany) super.map(ys);
+    }
+    @Override public void reduce(VecUtils.CollectDoubleDomain mrt) {
+      if (_tooMany || ((CollectValues) mrt)._tooMany) _tooMany = true;
+      else super.reduce(mrt);
+    }
+    @Override protected void onMaxDomainExceeded(int maxDomainSize, int currentSize) { _tooMany = true; }
+    @Override public double[] domain() {
+      double[] values = super.domain();
+      for (int i = 0; i < values.length; i++)
+        if (values[i] == 0) values[i] = 0.0; // canonical zero, see PUBDEV-7161
+      return Arrays.copyOf(values, dedupe(values));
+    }
+    private static int dedupe(double[] sorted) {
+      int n = 0;
+      for (int i = 0; i < sorted.length; i++)
+        if (n == 0 || sorted[i] != sorted[n - 1]) sorted[n++] = sorted[i];
+      return n;
+    }
+  }
+}
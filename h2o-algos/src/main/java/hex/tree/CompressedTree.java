@@ -2,6 +2,7 @@ package hex.tree;
 
 import java.util.Random;
 
+import hex.genmodel.algos.tree.FlatTree;
 import hex.genmodel.algos.tree.SharedTreeMojoModel;
 import hex.genmodel.algos.tree.SharedTreeSubgraph;
 import water.*;
@@ -28,8 +29,12 @@ public class CompressedTree extends Keyed<CompressedTree> {
 
   private static final String KEY_PREFIX = "tree_";
 
+  // Score rows with the tree decoded into a FlatTree instead of walking the byte encoding
+  static final boolean FLAT_SCORING = H2O.getSysBoolProperty("tree.flat_scoring", true);
+
   final byte [] _bits;
   final long _seed;
+  private transient FlatTree _flat; // decoded on first use, kept as long as this tree stays cached in the local DKV
 
   public CompressedTree(byte[] bits, long seed, int tid, int cls) {
     super(makeTreeKey(tid, cls));
@@ -38,6 +43,12 @@ public class CompressedTree extends Keyed<CompressedTree> {
   }
 
   public double score(final double row[], final String[][] domains) {
+    if (FLAT_SCORING) {
+      FlatTree flat = _flat;
+      if (flat == null || !flat.matches(domains))
+        _flat = flat = FlatTree.decode(_bits, domains);
+      return flat.score(row);
+    }
     return SharedTreeMojoModel.scoreTree(_bits, row, false, domains);
   }
 
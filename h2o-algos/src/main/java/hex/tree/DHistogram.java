@@ -103,6 +103,17 @@ public final class DHistogram extends Iced {
     return _vals_dim == 6;
   }
 
+  // Accumulation kernel, picked once at startup.  The blocked kernel gathers rows into small
+  // dense blocks and bins each block in a straight-line loop the JIT can unroll and vectorize;
+  // -Dsys.ai.h2o.tree.histo.blocked=false falls back to the row-at-a-time scalar loops.
+  static final boolean BLOCKED_KERNEL = H2O.getSysBoolProperty("tree.histo.blocked", true);
+  static final int KERNEL_BLOCK = 256;
+
+  // Sibling subtraction, off by default: children keep the bins of their parent for all but the split column,
+  // so the histograms of the larger child can be derived as parent minus smaller child instead of scanning its rows.
+  // Trades the adaptive re-binning of those columns for roughly half of the histogram work on deep trees.
+  static boolean SUBTRACT_SIBLINGS = H2O.getSysBoolProperty("tree.histo.subtract", false); // not final so tests can switch it
+
   // Atomically updated double min/max
   protected    double  _min2, _maxIn; // Min/Max, shared, atomically updated.  _maxIn is Inclusive.
   private static final Unsafe _unsafe = UtilUnsafe.getUnsafe();
@@ -120,9 +131,12 @@ public final class DHistogram extends Iced {
   public SharedTreeModel.SharedTreeParameters.HistogramType _histoType; //whether ot use random split points
   transient double _splitPts[]; // split points between _min and _maxEx (either random or based on quantiles)
   transient int _zeroSplitPntPos;
+  private transient int[] _lut;     // bins of the pre-binned values in range (see updateHistoBinned)
+  private transient int _lutBase;   // code of the first value in _lut
   public final long _seed;
   public transient boolean _hasQuantiles;
   public Key _globalQuantilesKey; //key under which original top-level quantiles are stored;
+  boolean _bySubtraction; // filled in from the parent and sibling histograms instead of scanning rows
 
 
 
@@ -273,6 +287,28 @@ public final class DHistogram extends Iced {
     assert 0 <= idx1 && idx1 < _nbin : idx1 + " " + _nbin;
     return idx1;
   }
+
+  /**
+   * Bin n values at once, same as calling {@link #bin(double)} on each of them.
+   * @param cs values to bin
+   * @param bins bin index per value, NAs go to the NA bucket (_nbin)
+   * @param n number of values
+   */
+  public void bin(final double[] cs, final int[] bins, final int n) {
+    if (_hasQuantiles || _splitPts != null) {
+      for (int i = 0; i < n; i++) bins[i] = bin(cs[i]);
+      return;
+    }
+    final double min = _min, step = _step;
+    final int last = _nbin - 1;
+    for (int i = 0; i < n; i++) {
+      int b = (int) ((cs[i] - min) * step); // +/-Infinity saturate and get clamped to the outer bins
+      bins[i] = b < 0 ? 0 : (b > last ? last : b);
+    }
+    for (int i = 0; i < n; i++)
+      if (Double.isNaN(cs[i])) bins[i] = _nbin; // NA bucket
+  }
+
   public double binAt( int b ) {
     if (_hasQuantiles) return _splitPts[b];
     return _min + (_splitPts == null ? b : _splitPts[b]) / _step;
@@ -373,6 +409,60 @@ public final class DHistogram extends Iced {
     if (_maxIn < dsh._maxIn) _maxIn = dsh._maxIn;
   }
 
+  /**
+   * Can children of this histogram reuse its bins (see {@link #makeChild})? Only plain uniform histograms
+   * without constraints qualify, random split points depend on the seed and constraints change per node.
+   */
+  boolean canShareBins() {
+    return _vals != null && _vals_dim == 3 && _splitPts == null &&
+            _histoType == SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive;
+  }
+
+  /** Make an empty histogram with exactly the same bins as this one */
+  DHistogram makeChild(long seed) {
+    DHistogram h = new DHistogram(_name, _nbin, _nbin, _isInt, _min, _maxEx, _minSplitImprovement, _histoType, seed, _globalQuantilesKey, null);
+    assert sameBins(h) : "bins differ: " + this + " vs " + h;
+    return h;
+  }
+
+  boolean sameBins(DHistogram h) {
+    return _isInt == h._isInt && _nbin == h._nbin && _step == h._step && _min == h._min && _maxEx == h._maxEx &&
+            _vals_dim == h._vals_dim && _splitPts == null && h._splitPts == null;
+  }
+
+  /**
+   * Fill this histogram with parent minus sibling; all three have the same bins and the rows of the parent are
+   * split between this histogram and its sibling.  Bins left with (almost) no weight are cleared, so that the
+   * round-off of the subtraction cannot leave phantom rows behind.  Observed min/max are not known for the
+   * difference, the parent's bounds are used instead (still valid, just not as tight).
+   */
+  void setToDifference(DHistogram parent, DHistogram sibling) {
+    assert sameBins(parent) && (sibling == null || sameBins(sibling));
+    if (_vals == null) init();
+    final double[] pv = parent._vals, sv = sibling == null ? null : sibling._vals;
+    if (pv == null) {
+      Arrays.fill(_vals, 0);
+      return;
+    }
+    for (int b = 0; b <= _nbin; b++) { // incl. the NA bucket
+      final int off = _vals_dim * b;
+      if (sv == null) {
+        System.arraycopy(pv, off, _vals, off, _vals_dim);
+        continue;
+      }
+      double w = pv[off] - sv[off];
+      if (w <= 1e-10 * pv[off]) {
+        Arrays.fill(_vals, off, off + _vals_dim, 0);
+        continue;
+      }
+      for (int i = 0; i < _vals_dim; i++)
+        _vals[off + i] = pv[off + i] - sv[off + i];
+    }
+    _min2 = parent._min2;
+    _maxIn = parent._maxIn;
+    reducePrecision();
+  }
+
   // Inclusive min & max
   public double find_min  () { return _min2 ; }
   public double find_maxIn() { return _maxIn; }
@@ -458,6 +548,13 @@ public final class DHistogram extends Iced {
    * @param lo  lower bound on index into rows array to be processed by this call (inclusive)
    */
   void updateHisto(double[] ws, double resp[], double[] cs, double[] ys, int [] rows, int hi, int lo){
+    if (BLOCKED_KERNEL && _vals_dim == 3)
+      updateHistoBlocked(ws, cs, ys, rows, hi, lo);
+    else
+      updateHistoScalar(ws, resp, cs, ys, rows, hi, lo);
+  }
+
+  void updateHistoScalar(double[] ws, double resp[], double[] cs, double[] ys, int [] rows, int hi, int lo){
     // Gather all the data for this set of rows, for 1 column and 1 split/NID
     // Gather min/max, wY and sum-squares.
     for(int r = lo; r< hi; ++r) {
@@ -485,6 +582,104 @@ public final class DHistogram extends Iced {
     }
   }
 
+  /**
+   * Same as {@link #updateHistoScalar} for histograms of only w, wY and wYY: rows are gathered into
+   * dense blocks, binned a block at a time and then accumulated in the original row order
+   * (results are bit-for-bit identical).
+   */
+  void updateHistoBlocked(double[] ws, double[] cs, double[] ys, int [] rows, int hi, int lo){
+    assert _vals_dim == 3;
+    final double[] vals = _vals;
+    final double[] bw = new double[KERNEL_BLOCK], bc = new double[KERNEL_BLOCK], by = new double[KERNEL_BLOCK];
+    final int[] bb = new int[KERNEL_BLOCK];
+    double min2 = _min2, maxIn = _maxIn;
+    for (int r0 = lo; r0 < hi; r0 += KERNEL_BLOCK) {
+      final int n = gather(ws, cs, ys, rows, r0, Math.min(hi, r0 + KERNEL_BLOCK), bw, bc, by);
+      for (int i = 0; i < n; i++) {
+        double c = bc[i];
+        if (c < min2) min2 = c;
+        if (c > maxIn) maxIn = c;
+      }
+      bin(bc, bb, n);
+      for (int i = 0; i < n; i++) {
+        double wy = bw[i] * by[i];
+        int j = 3 * bb[i];
+        vals[j] += bw[i];
+        vals[j + 1] += wy;
+        vals[j + 2] += wy * by[i];
+      }
+    }
+    _min2 = min2;
+    _maxIn = maxIn;
+  }
+
+  /**
+   * Same as {@link #updateHistoScalar} for a pre-binned column (see {@link BinnedFrameCache}): rows carry the
+   * index of their value in the sorted distinct values of the column, NAs have index values.length.  The values
+   * within the range of this histogram are binned once, rows only look up their bin.
+   */
+  void updateHistoBinned(double[] ws, int[] codes, double[] values, double[] ys, int [] rows, int hi, int lo){
+    assert _vals_dim == 3;
+    if (_lut == null) initLookup(values);
+    final double[] vals = _vals;
+    final int[] lut = _lut;
+    final int base = _lutBase, na = values.length;
+    int minCode = Integer.MAX_VALUE, maxCode = -1;
+    for (int r = lo; r < hi; ++r) {
+      int k = rows[r];
+      double w = ws[k];
+      if (w == 0) continue;
+      double y = ys[k];
+      assert !Double.isNaN(y);
+      int c = codes[k];
+      int b;
+      if (c == na) b = _nbin; // NA bucket
+      else {
+        if (c < minCode) minCode = c;
+        if (c > maxCode) maxCode = c;
+        int i = c - base;
+        b = i >= 0 && i < lut.length ? lut[i] : bin(values[c]); // +/-Infinity fall outside of the range
+      }
+      double wy = w * y;
+      int j = 3 * b;
+      vals[j] += w;
+      vals[j + 1] += wy;
+      vals[j + 2] += wy * y;
+    }
+    if (maxCode >= 0) {
+      if (values[minCode] < _min2) _min2 = values[minCode];
+      if (values[maxCode] > _maxIn) _maxIn = values[maxCode];
+    }
+  }
+
+  private void initLookup(double[] values) {
+    int from = Arrays.binarySearch(values, _min);
+    if (from < 0) from = -from - 1;
+    int to = Arrays.binarySearch(values, _maxEx);
+    if (to < 0) to = -to - 1;
+    int[] lut = new int[Math.max(0, to - from)];
+    for (int i = 0; i < lut.length; i++)
+      lut[i] = bin(values[from + i]);
+    _lutBase = from;
+    _lut = lut;
+  }
+
+  // Gather weight, column and response of rows[from..to) with a non-zero weight into dense blocks
+  private static int gather(double[] ws, double[] cs, double[] ys, int[] rows, int from, int to,
+                            double[] bw, double[] bc, double[] by) {
+    int n = 0;
+    for (int r = from; r < to; ++r) {
+      int k = rows[r];
+      double w = ws[k];
+      if (w == 0) continue;
+      assert !Double.isNaN(ys[k]);
+      bw[n] = w;
+      bc[n] = cs[k];
+      by[n++] = ys[k];
+    }
+    return n;
+  }
+
   /**
    * Cast bin values *except for sums of weights and Na-bucket counters to floats to drop least significant bits.
    * Improves reproducibility (drop bits most affected by floating point error).
@@ -498,6 +693,61 @@ public final class DHistogram extends Iced {
   }
 
   public void updateSharedHistosAndReset(ScoreBuildHistogram.LocalHisto lh, double[] ws, double[] cs, double[] ys, int [] rows, int hi, int lo) {
+    if (BLOCKED_KERNEL)
+      accumulateBlocked(lh, ws, cs, ys, rows, hi, lo);
+    else
+      accumulateScalar(lh, ws, cs, ys, rows, hi, lo);
+    // Atomically update histograms
+    final int len = _nbin;
+    for( int b=0; b<len; b++ ) {
+      if (lh.w(b) != 0) {
+        AtomicUtils.DoubleArray.add(_vals, _vals_dim*b+0, lh.w(b));
+        lh.wClear(b);
+      }
+      if (lh.wY(b) != 0) {
+        AtomicUtils.DoubleArray.add(_vals, _vals_dim*b+1, (float) lh.wY(b));
+        lh.wYClear(b);
+      }
+      if (lh.wYY(b) != 0) {
+        AtomicUtils.DoubleArray.add(_vals, _vals_dim*b+2,(float)lh.wYY(b));
+        lh.wYYClear(b);
+      }
+    }
+  }
+
+  void accumulateBlocked(ScoreBuildHistogram.LocalHisto lh, double[] ws, double[] cs, double[] ys, int [] rows, int hi, int lo) {
+    final double[] bw = new double[KERNEL_BLOCK], bc = new double[KERNEL_BLOCK], by = new double[KERNEL_BLOCK];
+    final int[] bb = new int[KERNEL_BLOCK];
+    double min2 = _min2, maxIn = _maxIn;
+    double naW = 0, naWY = 0, naWYY = 0;
+    for (int r0 = lo; r0 < hi; r0 += KERNEL_BLOCK) {
+      final int n = gather(ws, cs, ys, rows, r0, Math.min(hi, r0 + KERNEL_BLOCK), bw, bc, by);
+      for (int i = 0; i < n; i++) {
+        double c = bc[i];
+        if (c < min2) min2 = c;
+        if (c > maxIn) maxIn = c;
+      }
+      bin(bc, bb, n);
+      for (int i = 0; i < n; i++) {
+        double w = bw[i], wy = w * by[i], wyy = wy * by[i];
+        int b = bb[i];
+        if (b == _nbin) { // NA bucket, added to the shared histo once per call
+          naW += w;
+          naWY += wy;
+          naWYY += wyy;
+        } else {
+          lh.wAdd(b, w);
+          lh.wYAdd(b, wy);
+          lh.wYYAdd(b, wyy);
+        }
+      }
+    }
+    if (naW != 0) addNasAtomic(naW, naWY, naWYY);
+    setMin(min2);       // Track actual lower/upper bound per-bin
+    setMaxIn(maxIn);
+  }
+
+  void accumulateScalar(ScoreBuildHistogram.LocalHisto lh, double[] ws, double[] cs, double[] ys, int [] rows, int hi, int lo) {
     double minmax[] = new double[]{_min2,_maxIn};
     // Gather all the data for this set of rows, for 1 column and 1 split/NID
     // Gather min/max, wY and sum-squares.
@@ -523,24 +773,8 @@ public final class DHistogram extends Iced {
         lh.wYYAdd(b,wyy);
       }
     }
-    // Atomically update histograms
     setMin(minmax[0]);       // Track actual lower/upper bound per-bin
     setMaxIn(minmax[1]);
-    final int len = _nbin;
-    for( int b=0; b<len; b++ ) {
-      if (lh.w(b) != 0) {
-        AtomicUtils.DoubleArray.add(_vals, _vals_dim*b+0, lh.w(b));
-        lh.wClear(b);
-      }
-      if (lh.wY(b) != 0) {
-        AtomicUtils.DoubleArray.add(_vals, _vals_dim*b+1, (float) lh.wY(b));
-        lh.wYClear(b);
-      }
-      if (lh.wYY(b) != 0) {
-        AtomicUtils.DoubleArray.add(_vals, _vals_dim*b+2,(float)lh.wYY(b));
-        lh.wYYClear(b);
-      }
-    }
   }
 
 }
@@ -33,6 +33,7 @@ public class DTree extends Iced {
   // Public stats about tree
   public int _leaves;
   public int _depth;
+  public int _splits;    // Splits made so far; a tree has _splits+1 leaves
   public final int _mtrys;           // Number of columns to choose amongst in splits (at every split)
   public final int _mtrys_per_tree;  // Number of columns to choose amongst in splits (once per tree)
   public final transient Random _rand; // RNG for split decisions & sampling
@@ -249,6 +250,12 @@ public class DTree extends Iced {
           if (way==1) continue; //no histogram needed - we just split NAs away
           // otherwise leave the min/max alone, and make another histogram (but this time, there won't be any NAs)
         }
+        if( DHistogram.SUBTRACT_SIBLINGS && _col!=j && cs==null && h.canShareBins() ) {
+          // Keep the parent's bins, one of the two children is then derived from the parent and its sibling
+          nhists[j] = h.makeChild(h._seed*0xDECAF+(way+1));
+          cnt++;
+          continue;
+        }
 
         // Tighter bounds on the column getting split: exactly each new
         // DHistogram's bound are the bins' min & max.
@@ -316,6 +323,9 @@ public class DTree extends Iced {
     public transient DHistogram[] _hs; //(up to) one histogram per column
     public transient Constraints _cs;
     public final int _scoreCols[];      // A list of columns to score; could be null for all
+    transient DHistogram[] _parentHs;   // Histograms of the parent, if some of ours are derived by subtraction
+    transient int _siblingNid;           // and the (smaller) sibling the difference is taken with
+    transient Split _bestSplit;          // Best-first growth: split found while the node waits to be expanded
     public UndecidedNode( DTree tree, int pid, DHistogram[] hs, Constraints cs ) {
       super(tree,pid);
       assert hs.length==tree._ncols;
@@ -324,6 +334,34 @@ public class DTree extends Iced {
       _scoreCols = scoreCols();
     }
 
+    private boolean scores(int col) { return _scoreCols == null || ArrayUtils.find(_scoreCols, col) >= 0; }
+
+    // Mark the histograms that do not need a pass over the rows: same bins as the parent and the sibling,
+    // and the sibling is going to scan the column anyway.
+    void deriveFrom(DHistogram[] parentHs, UndecidedNode sibling) {
+      boolean any = false;
+      for( int j = 0; j < _hs.length; j++ ) {
+        DHistogram h = _hs[j], p = parentHs[j], s = sibling._hs[j];
+        if( h == null || p == null || s == null || p._vals == null || !scores(j) || !sibling.scores(j) ) continue;
+        if( !h.sameBins(p) || !s.sameBins(p) ) continue;
+        h._bySubtraction = true;
+        any = true;
+      }
+      if( any ) {
+        _parentHs = parentHs;
+        _siblingNid = sibling._nid;
+      }
+    }
+
+    /** Fill in the histograms marked by {@link #deriveFrom}, once the sibling's histograms are built */
+    public void subtractHistos(DHistogram[] hs, DHistogram[] siblingHs) {
+      if( _parentHs == null ) return;
+      for( int j = 0; j < hs.length; j++ )
+        if( hs[j] != null && hs[j]._bySubtraction )
+          hs[j].setToDifference(_parentHs[j], siblingHs[j]);
+      _parentHs = null;         // Done with the previous level
+    }
+
     // Pick a random selection of columns to compute best score.
     // Can return null for 'all columns'.
     public int[] scoreCols() {
@@ -515,21 +553,7 @@ public class DTree extends Iced {
         computeSplit();
       }
       public final DTree.Split computeSplit() {
-        final double min, max;
-        final int constraint;
-        final boolean useBounds;
-        if (_cs != null) {
-          min = _cs._min;
-          max = _cs._max;
-          constraint = _cs.getColumnConstraint(_col);
-          useBounds = _cs.useBounds();
-        } else {
-          min = Double.NaN;
-          max = Double.NaN;
-          constraint = 0;
-          useBounds = false;
-        }
-        _s = findBestSplitPoint(_hs[_col], _col, _tree._parms._min_rows, constraint, min, max, useBounds);
+        _s = findBestSplit(_hs, _cs, _col, _tree._parms._min_rows);
         return _s;
       }
     }
@@ -538,23 +562,41 @@ public class DTree extends Iced {
       super(n._tree,n._pid,n._nid); // Replace Undecided with this DecidedNode
       _nids = new int[2];           // Split into 2 subsets
       _split = bestCol(n,hs,cs);  // Best split-point for this tree
+      _splat = makeChildren(hs,cs);
+    }
+
+    /** Decide on a split picked beforehand (see {@link DTree#bestSplit}); a null split makes no children. */
+    public DecidedNode(UndecidedNode n, DHistogram hs[], Constraints cs, Split split) {
+      super(n._tree,n._pid,n._nid); // Replace Undecided with this DecidedNode
+      _nids = new int[2];           // Split into 2 subsets
+      _split = split;
+      _splat = makeChildren(hs,cs);
+    }
+
+    // Make the undecided children of _split, returns the split-at value
+    private float makeChildren(DHistogram hs[], Constraints cs) {
       if( _split == null) {
         // Happens because the predictor columns cannot split the responses -
         // which might be because all predictor columns are now constant, or
         // because all responses are now constant.
-        _splat = Float.NaN;
         Arrays.fill(_nids,ScoreBuildHistogram.UNDECIDED_CHILD_NODE_ID);
-        return;
+        return Float.NaN;
       }
-      _splat = _split._nasplit != DHistogram.NASplitDir.NAvsREST && (_split._equal == 0 || _split._equal == 1) ? _split.splat(hs) : -1f; // Split-at value (-1 for group-wise splits)
+      final float splat = _split._nasplit != DHistogram.NASplitDir.NAvsREST && (_split._equal == 0 || _split._equal == 1) ? _split.splat(hs) : -1f; // Split-at value (-1 for group-wise splits)
       for(int way = 0; way <2; way++ ) { // left / right
         // Create children histograms, not yet populated, but the ranges are set
-        Constraints ncs = cs != null ? _split.nextLevelConstraints(cs, way, _splat, _tree._parms) : null;
-        DHistogram nhists[] = _split.nextLevelHistos(hs, way,_splat, _tree._parms, ncs); //maintains the full range for NAvsREST
+        Constraints ncs = cs != null ? _split.nextLevelConstraints(cs, way, splat, _tree._parms) : null;
+        DHistogram nhists[] = _split.nextLevelHistos(hs, way,splat, _tree._parms, ncs); //maintains the full range for NAvsREST
         assert nhists==null || nhists.length==_tree._ncols;
         // Assign a new (yet undecided) node to each child, and connect this (the parent) decided node and the newly made histograms to it
         _nids[way] = nhists == null ? ScoreBuildHistogram.UNDECIDED_CHILD_NODE_ID : makeUndecidedNode(nhists,ncs)._nid;
       }
+      if( DHistogram.SUBTRACT_SIBLINGS && _nids[0] >= 0 && _nids[1] >= 0 ) {
+        // Only the smaller child scans its rows, the larger one is derived as parent minus smaller
+        int larger = _split._n0 >= _split._n1 ? 0 : 1;
+        _tree.undecided(_nids[larger]).deriveFrom(hs, _tree.undecided(_nids[1-larger]));
+      }
+      return splat;
     }
 
     public int getChildNodeID(Chunk [] chks, int row ) {
@@ -799,6 +841,55 @@ public class DTree extends Iced {
     return new CompressedTree(ab.buf(), _seed,tid,cls);
   }
 
+  /**
+   * End of best-first growth: the leaves still waiting for their split (see {@link UndecidedNode#_bestSplit})
+   * stay leaves.  Their rows then take the parent's decision, same as for any node that did not split.
+   */
+  public void dropWaitingSplits() {
+    for( int nid = 0; nid < _len; nid++ ) {
+      if( !(_ns[nid] instanceof UndecidedNode) ) continue;
+      UndecidedNode udn = (UndecidedNode) _ns[nid];
+      if( udn._bestSplit == null ) continue; // Never scored, its rows are still with the parent
+      new DecidedNode(udn, udn._hs, udn._cs, null);
+      udn.do_not_split();
+    }
+  }
+
+  /**
+   * Best split of an undecided node over its scored columns; same as {@link DecidedNode#bestCol}, but
+   * leaves the node undecided.  Lets a builder rank the candidate splits of a level before committing to them.
+   */
+  public static Split bestSplit(UndecidedNode u, DHistogram hs[], Constraints cs) {
+    if( hs == null ) return null;
+    Split best = null;
+    final int maxCols = u._scoreCols == null /* all cols */ ? hs.length : u._scoreCols.length;
+    for( int i=0; i<maxCols; i++ ) {
+      int col = u._scoreCols == null ? i : u._scoreCols[i];
+      if( hs[col]==null || hs[col].nbins() <= 1 ) continue;
+      Split s = findBestSplit(hs, cs, col, u._tree._parms._min_rows);
+      if( s != null && (best == null || s.se() < best.se()) ) best = s;
+    }
+    return best;
+  }
+
+  static Split findBestSplit(DHistogram hs[], Constraints cs, int col, double min_rows) {
+    final double min, max;
+    final int constraint;
+    final boolean useBounds;
+    if (cs != null) {
+      min = cs._min;
+      max = cs._max;
+      constraint = cs.getColumnConstraint(col);
+      useBounds = cs.useBounds();
+    } else {
+      min = Double.NaN;
+      max = Double.NaN;
+      constraint = 0;
+      useBounds = false;
+    }
+    return findBestSplitPoint(hs[col], col, min_rows, constraint, min, max, useBounds);
+  }
+
   static Split findBestSplitPoint(DHistogram hs, int col, double min_rows,
                                   int constraint, double min, double max, boolean useBounds) {
     if(hs._vals == null) {
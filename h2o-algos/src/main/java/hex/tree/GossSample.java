@@ -0,0 +1,114 @@
+package hex.tree;
+
+import water.MRTask;
+import water.fvec.C0DChunk;
+import water.fvec.C4VolatileChunk;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+import water.util.ArrayUtils;
+import water.util.RandomUtils;
+
+import java.util.Random;
+
+/**
+ * Gradient-based One-Side Sampling (GOSS, Ke et al.: "LightGBM: A Highly Efficient Gradient Boosting Decision Tree").
+ *
+ * Keeps all rows with the largest absolute gradients (the top {@code topRate} fraction of the weight) and
+ * samples the rest with probability {@code otherRate / (1 - topRate)}.  Sampled small-gradient rows are
+ * up-weighted by the inverse of that probability, so the histograms stay unbiased.  Rows left out are flagged
+ * {@link ScoreBuildHistogram#OUT_OF_BAG} in the node-id column, same as with the uniform {@link Sample},
+ * and the weights used to build the tree are written into a separate column.
+ *
+ * Expects the frame: node ids, response, gradients (the GBM residuals), weights (optional) and the output weights.
+ */
+public class GossSample extends MRTask<GossSample> {
+  final DTree _tree;
+  final double _threshold;   // Rows with |gradient| >= threshold are always kept
+  final double _otherProb;   // Sampling probability of the small-gradient rows
+  final boolean _hasWeights;
+
+  public GossSample(DTree tree, double threshold, double topRate, double otherRate, boolean hasWeights) {
+    _tree = tree;
+    _threshold = threshold;
+    _otherProb = Math.min(1, otherRate / (1 - topRate));
+    _hasWeights = hasWeights;
+  }
+
+  @Override
+  public void map(Chunk[] chks) {
+    C4VolatileChunk nids = (C4VolatileChunk) chks[0];
+    Chunk ys = chks[1];
+    Chunk grads = chks[2];
+    Chunk ws = _hasWeights ? chks[3] : new C0DChunk(1, nids._len);
+    Chunk hws = chks[chks.length - 1];
+    Random rand = RandomUtils.getRNG(_tree._seed);
+    int[] is = nids.getValues();
+    double[] gs = grads.getDoubles(new double[nids._len], 0, nids._len);
+    double[] wts = ws.getDoubles(new double[nids._len], 0, nids._len, 0);
+    for (int row = 0; row < nids._len; row++) {
+      double w = ys.isNA(row) ? 0 : wts[row];
+      if (w != 0 && !(Math.abs(gs[row]) >= _threshold)) {
+        rand.setSeed(_tree._seed + row + nids.start()); //seeding is independent of chunking
+        if (rand.nextFloat() < _otherProb)
+          w /= _otherProb;   // Amplify the sampled small-gradient rows
+        else
+          w = 0;
+      }
+      if (w == 0) is[row] = ScoreBuildHistogram.OUT_OF_BAG;     // Flag row as being ignored by sampling
+      hws.set(row, w);
+    }
+  }
+
+  /**
+   * Absolute gradient above which rows hold (about) the top {@code topRate} fraction of the total weight.
+   * Approximated with an equal-width histogram of the absolute gradients.
+   */
+  public static double threshold(Vec grads, Vec weights, double topRate) {
+    Vec[] vecs = weights == null ? new Vec[]{grads} : new Vec[]{grads, weights};
+    double max = new AbsGradMax().doAll(vecs)._max;
+    if (max == 0) return 0; // All gradients are zero, keep everything
+    double[] hist = new AbsGradHisto(max).doAll(vecs)._hist;
+    double total = 0;
+    for (double h : hist) total += h;
+    double top = 0;
+    for (int b = hist.length - 1; b > 0; b--) {
+      top += hist[b];
+      if (top >= topRate * total)
+        return b * max / hist.length;
+    }
+    return 0;
+  }
+
+  private static class AbsGradMax extends MRTask<AbsGradMax> {
+    double _max;
+    @Override public void map(Chunk[] chks) {
+      Chunk ws = chks.length > 1 ? chks[1] : null;
+      for (int row = 0; row < chks[0]._len; row++) {
+        double g = Math.abs(chks[0].atd(row));
+        if ((ws == null || ws.atd(row) != 0) && g > _max) _max = g;   // NaN never compares
+      }
+    }
+    @Override public void reduce(AbsGradMax mrt) { _max = Math.max(_max, mrt._max); }
+  }
+
+  private static class AbsGradHisto extends MRTask<AbsGradHisto> {
+    private static final int NBINS = 4096;
+    final double _max;
+    double[] _hist;
+    AbsGradHisto(double max) { _max = max; }
+    @Override public void map(Chunk[] chks) {
+      _hist = new double[NBINS];
+      Chunk ws = chks.length > 1 ? chks[1] : null;
+      for (int row = 0; row < chks[0]._len; row++) {
+        double g = Math.abs(chks[0].atd(row));
+        double w = ws == null ? 1 : ws.atd(row);
+        if (Double.isNaN(g) || w == 0 || Double.isNaN(w)) continue;
+        _hist[Math.min((int) (g / _max * NBINS), NBINS - 1)] += w;
+      }
+    }
+    @Override public void reduce(AbsGradHisto mrt) {
+      if (_hist == null) _hist = mrt._hist;
+      else if (mrt._hist != null) ArrayUtils.add(_hist, mrt._hist);
+    }
+  }
+}
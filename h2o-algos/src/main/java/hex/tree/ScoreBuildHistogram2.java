@@ -68,11 +68,19 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
   final int _numLeafs;
   final IcedBitSet _activeCols;
   final int _respIdx;
+  final Key<BinnedFrameCache.BinnedVec>[] _binnedKeys; // pre-binned columns, null if none
+  transient BinnedFrameCache.BinnedVec[] _binned;
 
   public ScoreBuildHistogram2(H2O.H2OCountedCompleter cc, int k, int ncols, int nbins, int nbins_cats, DTree tree, int leaf, DHistogram[][] hcs, DistributionFamily family, int respIdx, int weightIdx, int workIdx, int nidIdxs) {
+    this(cc, k, ncols, nbins, nbins_cats, tree, leaf, hcs, family, respIdx, weightIdx, workIdx, nidIdxs, null);
+  }
+
+  public ScoreBuildHistogram2(H2O.H2OCountedCompleter cc, int k, int ncols, int nbins, int nbins_cats, DTree tree, int leaf, DHistogram[][] hcs, DistributionFamily family, int respIdx, int weightIdx, int workIdx, int nidIdxs,
+                              Key<BinnedFrameCache.BinnedVec>[] binnedKeys) {
     super(cc, k, ncols, nbins, nbins_cats, tree, leaf, hcs, family, weightIdx, workIdx, nidIdxs);
     _numLeafs = _hcs.length;
     _respIdx = respIdx;
+    _binnedKeys = binnedKeys;
 
     int hcslen = _hcs.length;
     IcedBitSet activeCols = new IcedBitSet(ncols);
@@ -128,6 +136,10 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       // Score row against current decisions & assign new split
       boolean oob = isOOBRow(nid);
       if( oob ) nid = oob2Nid(nid); // sampled away - we track the position in the tree
+      if( _tree.node(nid) instanceof DTree.UndecidedNode ) { // waits for a best-first split, nothing to do
+        res[row] = DECIDED_ROW;
+        continue;
+      }
       DTree.DecidedNode dn = _tree.decided(nid);
       if( dn._split == null ) { // Might have a leftover non-split
         if( DTree.isRootNode(dn) ) { res[row] = nid - _leaf; continue; }
@@ -153,6 +165,11 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     addToPendingCount(1);
     // Init all the internal tree fields after shipping over the wire
     _tree.init_tree();
+    if (_binnedKeys != null) {
+      _binned = new BinnedFrameCache.BinnedVec[_binnedKeys.length];
+      for (int c = 0; c < _binnedKeys.length; ++c)
+        if (_binnedKeys[c] != null) _binned[c] = DKV.getGet(_binnedKeys[c]); // cached on every node after the first pass
+    }
     Vec v = _fr2.anyVec();
     assert(v!=null);
     _cids = VecUtils.getLocalChunkIds(v);
@@ -299,17 +316,21 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     protected void map(int id){
       double [] cs = null;
       double [] resp = null;
+      int [] codes = null;
+      final BinnedFrameCache.BinnedVec binned = _binned == null ? null : _binned[_col];
       for(int i = _cidx.getAndIncrement(); i < _cids.length; i = _cidx.getAndIncrement()) {
         if (cs == null) {
           cs = MemoryManager.malloc8d(_maxChunkSz);
           if (_respIdx >= 0)
           resp = MemoryManager.malloc8d(_maxChunkSz);
+          if (binned != null)
+            codes = MemoryManager.malloc4(_maxChunkSz);
         }
-        computeChunk(i, cs, _ws[i], resp);
+        computeChunk(i, cs, _ws[i], resp, binned, codes);
       }
     }
 
-    private void computeChunk(int id, double[] cs, double[] ws, double[] resp){
+    private void computeChunk(int id, double[] cs, double[] ws, double[] resp, BinnedFrameCache.BinnedVec binned, int[] codes){
       int [] nh = _nhs[id];
       int [] rs = _rss[id];
       Chunk resChk = _chks[id][_workIdx];
@@ -317,15 +338,23 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       double [] ys = ScoreBuildHistogram2.this._ys[id];
       if(_weightIdx != -1) _chks[id][_weightIdx].getDoubles(ws, 0, len);
       final int hcslen = _lh.length;
-      boolean extracted = false;
+      boolean extracted = false, decoded = false;
       for (int n = 0; n < hcslen; n++) {
         int sCols[] = _tree.undecided(n + _leaf)._scoreCols; // Columns to score (null, or a list of selected cols)
         if (sCols == null || ArrayUtils.find(sCols, _col) >= 0) {
           DHistogram h = _lh[n];
           int hi = nh[n];
           int lo = (n == 0 ? 0 : nh[n - 1]);
-          if (hi == lo || h == null) continue; // Ignore untracked columns in this split
+          if (hi == lo || h == null || h._bySubtraction) continue; // Ignore untracked columns in this split and the ones derived from the sibling
           if (h._vals == null) h.init();
+          if (binned != null && h._vals_dim == 3) { // pre-binned column, rows only look up their bin
+            if (! decoded) {
+              binned.codes(_cids[id], codes, len);
+              decoded = true;
+            }
+            h.updateHistoBinned(ws, codes, binned.values(), ys, rs, hi, lo);
+            continue;
+          }
           if (! extracted) {
             _chks[id][_col].getDoubles(cs, 0, len);
             if (h._vals_dim == 6) {
@@ -26,6 +26,7 @@ import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 
@@ -77,6 +78,12 @@ public abstract class SharedTree<
   protected transient int _lastScoredTree = 0;
 
   protected transient Frame _trainPredsCache;
+  // Per-class row weights that replace the weights column when building histograms of the current trees;
+  // set by samplers which re-weight the sampled rows (e.g. GOSS in GBM), null entries fall back to the weights column
+  protected transient Vec[] _histoWeights;
+  // Pre-binned predictors (see BinnedFrameCache), and the cache entries held by this model
+  transient Key<BinnedFrameCache.BinnedVec>[] _binnedKeys;
+  private transient List<Key<BinnedFrameCache.BinnedVec>> _heldBinned;
   protected transient Frame _validPredsCache;
 
   public boolean isSupervised(){return true;}
@@ -300,6 +307,11 @@ public abstract class SharedTree<
           DKV.remove(rndKey);
         }
 
+        if (BinnedFrameCache.ENABLED) {
+          _job.update(0, "Pre-binning training columns.");
+          _binnedKeys = BinnedFrameCache.build(_train, _ncols, _heldBinned = new ArrayList<>());
+        }
+
         // Also add to the basic working Frame these sets:
         //   nclass Vecs of current forest results (sum across all trees)
         //   nclass Vecs of working/temp data
@@ -346,6 +358,10 @@ public abstract class SharedTree<
       } finally {
         if( _model!=null ) _model.unlock(_job);
         for (Key k : getGlobalQuantilesKeys()) Keyed.remove(k);
+        if (_heldBinned != null) {
+          BinnedFrameCache.release(_heldBinned.toArray(new Key[0]));
+          _heldBinned = null;
+        }
         if (_validWorkspace != null) {
           _validWorkspace.remove();
           _validWorkspace = null;
@@ -456,7 +472,7 @@ public abstract class SharedTree<
     Vec vecs[] = fr.vecs();
     for( int k=0; k<_nclass; k++ ) {
       final DTree tree = ktrees[k]; // Tree for class K
-      if( tree == null ) continue;
+      if( tree == null || isFull(tree) ) continue;
       // Build a frame with just a single tree (& work & nid) columns, so the
       // nested MRTask ScoreBuildHistogram in ScoreBuildOneTree does not try
       // to close other tree's Vecs when run in parallel.
@@ -488,6 +504,9 @@ public abstract class SharedTree<
       // Add temporary workspace vectors (optional weights are taken over from fr)
       int respIdx = fr2.find(_parms._response_column);
       int weightIdx = fr2.find(_parms._weights_column);
+      if (_histoWeights != null && _histoWeights[k] != null) {
+        weightIdx = fr2.numCols(); fr2.add("__histo_weights", _histoWeights[k]);      //re-weighted sample of rows
+      }
       fr2.add(fr._names[idx_tree(k)],vecs[idx_tree(k)]);                              //tree predictions
       int workIdx = fr2.numCols(); fr2.add(fr._names[idx_work(k)],vecs[idx_work(k)]); //target value to fit (copy of actual response for DRF, residual for GBM)
       int nidIdx  = fr2.numCols(); fr2.add(fr._names[idx_nids(k)],vecs[idx_nids(k)]); //node indices for tree construction
@@ -502,8 +521,7 @@ public abstract class SharedTree<
     // Block for all K trees to complete.
     boolean did_split=false;
     for( int k=0; k<_nclass; k++ ) {
-      final DTree tree = ktrees[k]; // Tree for class K
-      if( tree == null ) continue;
+      if( sb1ts[k] == null ) continue;
       sb1ts[k].join();
       if( sb1ts[k]._did_split ) did_split=true;
       if (DEV_DEBUG) {
@@ -567,27 +585,26 @@ public abstract class SharedTree<
       // got assigned into.  Collect counts, mean, variance, min, max per bin,
       // per column.
 //      new ScoreBuildHistogram(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, _weightIdx, _workIdx, _nidIdx).dfork2(null,_fr2,_build_tree_one_node);
-      new ScoreBuildHistogram2(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, _respIdx, _weightIdx, _workIdx, _nidIdx).dfork2(null,_fr2,_build_tree_one_node);
+      new ScoreBuildHistogram2(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, _respIdx, _weightIdx, _workIdx, _nidIdx, _st._binnedKeys).dfork2(null,_fr2,_build_tree_one_node);
     }
     @Override public void onCompletion(CountedCompleter caller) {
       ScoreBuildHistogram sbh = (ScoreBuildHistogram) caller;
       final int leafOffset = _leafOffsets[_k];
       int tmax = _tree.len();   // Number of total splits in tree K
-      for (int leaf = leafOffset; leaf < tmax; leaf++) { // Visit all the new splits (leaves)
+      for (int leaf = leafOffset; leaf < tmax; leaf++) { // Derive the histograms not built from the rows (see DHistogram.SUBTRACT_SIBLINGS)
         DTree.UndecidedNode udn = _tree.undecided(leaf);
-//        System.out.println((_st._nclass==1?"Regression":("Class "+_st._response.domain()[_k]))+",\n  Undecided node:"+udn);
-        // Replace the Undecided with the Split decision
-        DTree.DecidedNode dn = _st.makeDecided(udn, sbh._hcs[leaf - leafOffset], udn._cs);
-//        System.out.println(dn + "\n" + dn._split);
-        if (dn._split == null) udn.do_not_split();
-        else {
-          _did_split = true;
-          DTree.Split s = dn._split; // Accumulate squared error improvements per variable
-          float improvement = (float) (s.pre_split_se() - s.se());
-          assert (improvement >= 0);
-          AtomicUtils.FloatArray.add(_improvPerVar, s.col(), improvement);
-        }
+        if (udn._parentHs != null)
+          udn.subtractHistos(sbh._hcs[leaf - leafOffset], sbh._hcs[udn._siblingNid - leafOffset]);
       }
+      if (_st.maxLeaves() > 0)
+        decideBestFirst(sbh._hcs, leafOffset, tmax);
+      else
+        for (int leaf = leafOffset; leaf < tmax; leaf++) { // Visit all the new splits (leaves)
+          DTree.UndecidedNode udn = _tree.undecided(leaf);
+//          System.out.println((_st._nclass==1?"Regression":("Class "+_st._response.domain()[_k]))+",\n  Undecided node:"+udn);
+          // Replace the Undecided with the Split decision
+          decided(udn, _st.makeDecided(udn, sbh._hcs[leaf - leafOffset], udn._cs));
+        }
       _leafOffsets[_k] = tmax;          // Setup leafs for next tree level
       int new_leafs = _tree.len() - tmax; //new_leafs can be 0 if no actual splits were made
       _hcs[_k] = new DHistogram[new_leafs][/*ncol*/];
@@ -596,6 +613,58 @@ public abstract class SharedTree<
 //      if (_did_split && new_leafs > 0) _tree._depth++;
       if (_did_split) _tree._depth++; //
     }
+
+    private void decided(DTree.UndecidedNode udn, DTree.DecidedNode dn) {
+//      System.out.println(dn + "\n" + dn._split);
+      if (dn._split == null) udn.do_not_split();
+      else {
+        _did_split = true;
+        _tree._splits++;
+        DTree.Split s = dn._split; // Accumulate squared error improvements per variable
+        float improvement = (float) (s.pre_split_se() - s.se());
+        assert (improvement >= 0);
+        AtomicUtils.FloatArray.add(_improvPerVar, s.col(), improvement);
+      }
+    }
+
+    // Best-first (lossguide) growth.  Candidates are the new leaves of this pass and the leaves left waiting
+    // by earlier passes, which keep their histograms and best split on the node.  The candidates with the
+    // largest gain are split, up to half of the remaining leaf budget per pass so that every pass over the
+    // data still expands several leaves.  The others keep waiting, or stay leaves once the budget is spent.
+    private void decideBestFirst(DHistogram[][] hcs, int leafOffset, int tmax) {
+      List<DTree.UndecidedNode> candidates = new ArrayList<>();
+      for (int nid = 0; nid < tmax; nid++) {
+        if (!(_tree.node(nid) instanceof DTree.UndecidedNode)) continue;
+        DTree.UndecidedNode udn = _tree.undecided(nid);
+        if (nid >= leafOffset) {
+          udn._hs = hcs[nid - leafOffset];
+          udn._bestSplit = DTree.bestSplit(udn, udn._hs, udn._cs);
+        }
+        candidates.add(udn);
+      }
+      DTree.UndecidedNode[] byGain = candidates.toArray(new DTree.UndecidedNode[0]);
+      Arrays.sort(byGain, new Comparator<DTree.UndecidedNode>() {
+        @Override public int compare(DTree.UndecidedNode a, DTree.UndecidedNode b) {
+          return Double.compare(gain(b._bestSplit), gain(a._bestSplit));
+        }
+      });
+      int budget = _st.maxLeaves() - 1 - _tree._splits; // every split adds one leaf
+      int batch = Math.max(1, (budget + 1) / 2);
+      boolean[] expand = new boolean[tmax];
+      for (DTree.UndecidedNode udn : byGain) {
+        if (udn._bestSplit == null || batch == 0 || budget == 0) continue;
+        expand[udn.nid()] = true;
+        batch--;
+        budget--;
+      }
+      for (DTree.UndecidedNode udn : candidates) { // in nid order, children get numbered as in depthwise growth
+        if (!expand[udn.nid()] && udn._bestSplit != null && budget > 0)
+          continue; // waits for a later pass, its rows stay put
+        decided(udn, _st.makeDecided(udn, udn._hs, udn._cs, expand[udn.nid()] ? udn._bestSplit : null));
+      }
+    }
+
+    private double gain(DTree.Split s) { return s == null ? -Double.MAX_VALUE : s.pre_split_se() - s.se(); }
   }
 
   // --------------------------------------------------------------------------
@@ -657,6 +726,17 @@ public abstract class SharedTree<
     return new DTree.DecidedNode(udn, hs, cs);
   }
 
+  // Decision node for a split picked beforehand (null: no split)
+  protected DTree.DecidedNode makeDecided( DTree.UndecidedNode udn, DHistogram hs[], Constraints cs, DTree.Split split ) {
+    return new DTree.DecidedNode(udn, hs, cs, split);
+  }
+
+  /** Maximum number of leaves per tree for best-first (lossguide) growth; 0 grows trees level by level */
+  protected int maxLeaves() { return 0; }
+
+  // Leaf budget of best-first growth used up; no need to histogram the children of the last splits
+  private boolean isFull(DTree tree) { return maxLeaves() > 0 && tree._splits >= maxLeaves() - 1; }
+
   // Read the 'tree' columns, do model-specific math and put the results in the
   // fs[] array, and return the sum.  Dividing any fs[] element by the sum
   // turns the results into a probability distribution.
@@ -36,6 +36,10 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
   public GBM( GBMModel.GBMParameters parms, Key<GBMModel> key) { super(parms, key); init(false); }
   public GBM(boolean startup_once) { super(new GBMModel.GBMParameters(),startup_once); }
 
+  @Override protected int maxLeaves() {
+    return _parms._grow_policy == GBMModel.GBMParameters.GrowPolicy.lossguide ? _parms._max_leaves : 0;
+  }
+
   @Override protected int nModelsInParallel(int folds) {
     return nModelsInParallel(folds, 2);
   }
@@ -154,6 +158,25 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       error("_max_abs_leafnode_pred", "max_abs_leafnode_pred must be larger than 0.");
     if (_parms._pred_noise_bandwidth < 0)
       error("_pred_noise_bandwidth", "pred_noise_bandwidth must be >= 0.");
+    if (_parms.useGoss()) {
+      if (!(_parms._goss_top_rate < 1))
+        error("_goss_top_rate", "goss_top_rate must be between 0 and 1");
+      if (!(0 < _parms._goss_other_rate && _parms._goss_top_rate + _parms._goss_other_rate <= 1))
+        error("_goss_other_rate", "goss_other_rate must be larger than 0 and goss_top_rate + goss_other_rate must not exceed 1");
+      if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null)
+        error("_sample_rate", "GOSS (goss_top_rate > 0) replaces uniform row sampling, sample_rate must be 1 and sample_rate_per_class must not be set");
+      // Leaf quantiles of these distributions are fit on the unsampled rows
+      if (_parms._distribution == DistributionFamily.laplace || _parms._distribution == DistributionFamily.quantile ||
+          _parms._distribution == DistributionFamily.huber)
+        error("_goss_top_rate", "GOSS (goss_top_rate > 0) is not supported for " + _parms._distribution + " distribution");
+    } else if (_parms._goss_top_rate < 0)
+      error("_goss_top_rate", "goss_top_rate must be between 0 and 1");
+
+    if (_parms._grow_policy == GBMModel.GBMParameters.GrowPolicy.lossguide) {
+      if (_parms._max_leaves < 2)
+        error("_max_leaves", "grow_policy=lossguide needs max_leaves >= 2");
+    } else if (_parms._max_leaves != 0)
+      error("_max_leaves", "max_leaves is only used with grow_policy=lossguide");
 
     if ((_train != null) && (_parms._monotone_constraints != null)) {
       TreeUtils.checkMonotoneConstraints(this, _train, _parms._monotone_constraints);
@@ -357,26 +380,37 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       // One Big Loop till the ktrees are of proper depth.
       // Adds a layer to the trees each pass.
       Constraints cs = _parms.constraints(_train);
-      growTrees(ktrees, leaves, _rand, cs);
-      for (int k = 0; k < _nclass; k++) {
-        if (DEV_DEBUG && ktrees[k]!=null) {
-          System.out.println("Grew trees. Updated NIDs for class " + k + ":\n" + new Frame(new String[]{"NIDS"},new Vec[]{vec_nids(_train, k)}).toTwoDimTable());
+      try {
+        growTrees(ktrees, leaves, _rand, cs);
+        for (int k = 0; k < _nclass; k++) {
+          if (DEV_DEBUG && ktrees[k]!=null) {
+            System.out.println("Grew trees. Updated NIDs for class " + k + ":\n" + new Frame(new String[]{"NIDS"},new Vec[]{vec_nids(_train, k)}).toTwoDimTable());
+          }
         }
-      }
 
-      // ----
-      // ESL2, page 387.  Step 2b iii.  Compute the gammas (leaf node predictions === fit best constant), and store them back
-      // into the tree leaves.  Includes learn_rate.
-      GammaPass gp = new GammaPass(frameMap, ktrees, leaves, distributionImpl, _nclass);
-      gp.doAll(_train);
-      if (_parms._distribution == DistributionFamily.laplace) {
-        fitBestConstantsQuantile(ktrees, leaves[0], 0.5); //special case for Laplace: compute the median for each leaf node and store that as prediction
-      } else if (_parms._distribution == DistributionFamily.quantile) {
-        fitBestConstantsQuantile(ktrees, leaves[0], _parms._quantile_alpha); //compute the alpha-quantile for each leaf node and store that as prediction
-      } else if (_parms._distribution == DistributionFamily.huber) {
-        fitBestConstantsHuber(ktrees, leaves[0], huberDelta); //compute the alpha-quantile for each leaf node and store that as prediction
-      } else {
-        fitBestConstants(ktrees, leaves, gp, cs);
+        // ----
+        // ESL2, page 387.  Step 2b iii.  Compute the gammas (leaf node predictions === fit best constant), and store them back
+        // into the tree leaves.  Includes learn_rate.
+        GammaPass gp = new GammaPass(frameMap, ktrees, leaves, distributionImpl, _nclass);
+        if (_histoWeights != null) { // GOSS: leaf values are fit on the same re-weighted sample as the splits
+          Frame gammaFrame = new Frame(_train);
+          gp._histoWeightsIdx = gammaFrame.numCols();
+          for (int k = 0; k < _nclass; k++)
+            gammaFrame.add("__histo_weights_" + k, _histoWeights[k] != null ? _histoWeights[k] : vec_nids(_train, k)); // placeholder, no tree for the class
+          gp.doAll(gammaFrame);
+        } else
+          gp.doAll(_train);
+        if (_parms._distribution == DistributionFamily.laplace) {
+          fitBestConstantsQuantile(ktrees, leaves[0], 0.5); //special case for Laplace: compute the median for each leaf node and store that as prediction
+        } else if (_parms._distribution == DistributionFamily.quantile) {
+          fitBestConstantsQuantile(ktrees, leaves[0], _parms._quantile_alpha); //compute the alpha-quantile for each leaf node and store that as prediction
+        } else if (_parms._distribution == DistributionFamily.huber) {
+          fitBestConstantsHuber(ktrees, leaves[0], huberDelta); //compute the alpha-quantile for each leaf node and store that as prediction
+        } else {
+          fitBestConstants(ktrees, leaves, gp, cs);
+        }
+      } finally {
+        removeHistoWeights();
       }
 
       // Apply a correction for strong mispredictions (otherwise deviance can explode)
@@ -450,7 +484,9 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       }
 
       // Sample - mark the lines by putting 'OUT_OF_BAG' into nid(<klass>) vector
-      if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null) {
+      if (_parms.useGoss()) {
+        gossSample(ktrees);
+      } else if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null) {
         Sample ss[] = new Sample[_nclass];
         for (int k = 0; k < _nclass; k++)
           if (ktrees[k] != null)
@@ -481,6 +517,7 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       for (int k = 0; k < _nclass; k++) {
         DTree tree = ktrees[k];
         if (tree == null) continue;
+        if (maxLeaves() > 0) tree.dropWaitingSplits();
         int leaf = tree.len();
         leaves[k] = leaf; //record the size of the tree before splitting the bottom nodes as the starting index for the leaf node indices
         for (int nid = 0; nid < leaf; nid++) {
@@ -506,6 +543,37 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
     }
 
 
+    /**
+     * GOSS: keep the rows with the largest gradients (residuals), sample the rest and put
+     * the re-weighted sample into per-class histogram weights.
+     */
+    private void gossSample(DTree[] ktrees) {
+      _histoWeights = new Vec[_nclass];
+      GossSample ss[] = new GossSample[_nclass];
+      for (int k = 0; k < _nclass; k++) {
+        if (ktrees[k] == null) continue;
+        Vec work = vec_work(_train, k);
+        double threshold = GossSample.threshold(work, hasWeightCol() ? _weights : null, _parms._goss_top_rate);
+        _histoWeights[k] = _train.anyVec().makeZero();
+        Frame fr = new Frame(vec_nids(_train, k), _response, work);
+        if (hasWeightCol()) fr.add("weights", _weights);
+        fr.add("histo_weights", _histoWeights[k]);
+        ss[k] = new GossSample(ktrees[k], threshold, _parms._goss_top_rate, _parms._goss_other_rate, hasWeightCol())
+                .dfork(null, fr, _parms._build_tree_one_node);
+      }
+      for (int k = 0; k < _nclass; k++)
+        if (ss[k] != null) ss[k].getResult();
+    }
+
+    private void removeHistoWeights() {
+      if (_histoWeights == null) return;
+      Futures fs = new Futures();
+      for (Vec v : _histoWeights)
+        if (v != null) v.remove(fs);
+      fs.blockForPending();
+      _histoWeights = null;
+    }
+
     private void fitBestConstantsQuantile(DTree[] ktrees, int firstLeafIndex, double quantile) {
       if (firstLeafIndex == ktrees[0]._len) return; // no splits happened - nothing to do
       assert(_nclass==1);
@@ -1040,6 +1108,7 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
     private final int _nclass;
     private double[/*tree/klass*/][/*tree-relative node-id*/] _num;
     private double[/*tree/klass*/][/*tree-relative node-id*/] _denom;
+    int _histoWeightsIdx = -1; // Per-class weights of a re-weighting sampler (GOSS) instead of the weights column
 
     public GammaPass(FrameMap frameMap, DTree[] trees, int[] leafs, Distribution distribution, int nClasses) {
       fm = frameMap;
@@ -1093,6 +1162,7 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
         final Chunk offset = fm.offsetIndex >= 0 ? chks[fm.offsetIndex] : new C0DChunk(0, chks[0]._len);
         final Chunk preds = chks[fm.tree0Index + k];
         final Chunk weights = fm.weightIndex >= 0 ? chks[fm.weightIndex] : new C0DChunk(1, chks[0]._len);
+        final Chunk gammaWeights = _histoWeightsIdx >= 0 ? chks[_histoWeightsIdx + k] : weights;
 
         // If we have all constant responses, then we do not split even the
         // root and the residuals should be zero.
@@ -1134,6 +1204,7 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
           double z = ress.atd(row);  // residual
           double f = preds.atd(row) + offset.atd(row);
           int idx = leafnid - leaf;
+          if (gammaWeights != weights) w = gammaWeights.atd(row);
           num[idx] += _dist.gammaNum(w, y, z, f);
           denom[idx] += _dist.gammaDenom(w, y, z, f);
         }
@@ -26,6 +26,11 @@ public class GBMModel extends SharedTreeModelWithContributions<GBMModel, GBMMode
     public double _max_abs_leafnode_pred;
     public double _pred_noise_bandwidth;
     public KeyValue[] _monotone_constraints;
+    public double _goss_top_rate;   // GOSS: fraction of rows with the largest gradients always used, 0 disables GOSS
+    public double _goss_other_rate; // GOSS: fraction of rows sampled from the rest
+    public enum GrowPolicy { depthwise, lossguide }
+    public GrowPolicy _grow_policy; // level by level, or the highest-gain leaves first
+    public int _max_leaves;         // lossguide: maximum number of leaves per tree
 
     public GBMParameters() {
       super();
@@ -37,8 +42,14 @@ public class GBMModel extends SharedTreeModelWithContributions<GBMModel, GBMMode
       _max_depth = 5;
       _max_abs_leafnode_pred = Double.MAX_VALUE;
       _pred_noise_bandwidth =0;
+      _goss_top_rate = 0;
+      _goss_other_rate = 0.1;
+      _grow_policy = GrowPolicy.depthwise;
+      _max_leaves = 0;
     }
 
+    public boolean useGoss() { return _goss_top_rate > 0; }
+
     public String algoName() { return "GBM"; }
     public String fullName() { return "Gradient Boosting Machine"; }
     public String javaName() { return GBMModel.class.getName(); }
@@ -227,6 +227,33 @@ public class DataInfoTest extends TestUtil {
     }
   }
 
+  @Test public void testSparseChunks() {  // sparse rows from zero-sparse (CXI/CXF) chunks match the dense rows
+    final int n = 5000;
+    double[] ints = new double[n], floats = new double[n], resp = new double[n];
+    for (int i = 0; i < n; ++i) {
+      ints[i] = i % 97 == 3 ? i % 7 + 1 : (i == 1000 ? Double.NaN : 0);
+      floats[i] = i % 53 == 5 ? i * 0.37 : (i % 1999 == 1 ? Double.NaN : 0);
+      resp[i] = i % 2;
+    }
+    Frame fr = new Frame(new String[]{"ints", "floats", "y"},
+            new Vec[]{Vec.makeVec(ints, Vec.newKey()), Vec.makeVec(floats, Vec.newKey()), Vec.makeVec(resp, Vec.newKey())});
+    Assert.assertTrue(fr.vec(0).chunkForChunkIdx(0).isSparseZero());
+    Assert.assertTrue(fr.vec(1).chunkForChunkIdx(0).isSparseZero());
+    try {
+      for (boolean skip : new boolean[]{true, false}) {
+        DataInfo di = new DataInfo(fr.clone(), null, 1, true, DataInfo.TransformType.STANDARDIZE,
+                DataInfo.TransformType.NONE, skip, !skip, false, false, false, false, null);
+        try {
+          checker(di, true);
+        } finally {
+          di.remove();
+        }
+      }
+    } finally {
+      fr.delete();
+    }
+  }
+
   @Test public void testIris2() {  // test that getting sparseRows and denseRows produce the same results
     Frame fr = parse_test_file(Key.make("a.hex"), "smalldata/iris/iris_wheader.csv");
     fr.swap(1,4);
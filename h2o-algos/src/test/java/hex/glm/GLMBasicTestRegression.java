@@ -151,6 +151,8 @@ public class GLMBasicTestRegression extends TestUtil {
 //      if(s != Solver.IRLSM)continue; //fixme: does not pass for other than IRLSM now
       if (s.equals(Solver.GRADIENT_DESCENT_SQERR) || s.equals(Solver.GRADIENT_DESCENT_LH))
         continue; // only used for ordinal regression
+      if (s == Solver.SGD)
+        continue; // approximate solver
       System.out.println("===============================================================");
       System.out.println("Solver = " + s);
       System.out.println("===============================================================");
@@ -353,6 +355,7 @@ public class GLMBasicTestRegression extends TestUtil {
       for (Solver s : /*new Solver[]{Solver.IRLSM}*/ GLMParameters.Solver.values()) {
         if(s == Solver.COORDINATE_DESCENT_NAIVE || s.equals(Solver.GRADIENT_DESCENT_LH)
                 || s.equals(Solver.GRADIENT_DESCENT_SQERR)) continue; // ignore for now, has trouble with zero columns
+        if(s == Solver.SGD) continue; // approximate solver
         try {
           parms._solver = s;
           model = new GLM(parms).trainModel().get();
@@ -412,6 +415,7 @@ public class GLMBasicTestRegression extends TestUtil {
       for (Solver s : GLMParameters.Solver.values()) {
         if(s == Solver.COORDINATE_DESCENT_NAIVE || s.equals(Solver.GRADIENT_DESCENT_LH)
         || s.equals(Solver.GRADIENT_DESCENT_SQERR)) continue; // skip for now, does not handle zero columns (introduced by extra missing bucket with no missing in the dataset)
+        if(s == Solver.SGD) continue; // approximate solver
         try {
           parms._solver = s;
           model = new GLM(parms).trainModel().get();
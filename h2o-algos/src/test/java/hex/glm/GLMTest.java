@@ -9,6 +9,7 @@ import hex.glm.GLMModel.GLMParameters.Link;
 import hex.glm.GLMModel.GLMParameters.Solver;
 import hex.glm.GLMModel.GLMWeightsFun;
 import hex.glm.GLMTask.*;
+import hex.gram.Gram;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -1093,6 +1094,158 @@ public class GLMTest  extends TestUtil {
 //    }
 //  }
 
+  /**
+   * Buffered (tiled) gram accumulation of wide dense rows gives the same matrix as adding the rows one by one
+   */
+  @Test
+  public void testBufferedGramComputation() {
+    Scope.enter();
+    try {
+      Frame f = Scope.track(new Frame(new String[]{"x"}, new Vec[]{Vec.makeZero(10)}));
+      DataInfo dinfo = new DataInfo(f, null, 0, true, TransformType.NONE, TransformType.NONE, false, false, false, false, false, false);
+      final int nums = 150, cat1 = 3, cat2 = 4, N = cat1 + cat2 + nums;
+      Gram byRow = new Gram(N, cat1, nums, 2, true);
+      Gram buffered = new Gram(N, cat1, nums, 2, true);
+      Random rnd = new Random(0x6A11);
+      for (int r = 0; r < 1000; r++) { // not a multiple of the tile size
+        double[] numVals = new double[nums];
+        for (int i = 0; i < nums; i++)
+          numVals[i] = rnd.nextInt(4) == 0 ? 0 : rnd.nextGaussian();
+        int[] binIds = {rnd.nextInt(cat1), cat1 + rnd.nextInt(cat2)};
+        DataInfo.Row row = dinfo.new Row(false, numVals, binIds, null, r, 0);
+        double w = rnd.nextDouble();
+        byRow.addRow(row, w);
+        buffered.addRowBuffered(row, w);
+      }
+      buffered.flushRows();
+      for (int i = 0; i <= N; i++)
+        for (int j = 0; j <= i; j++)
+          assertEquals("(" + i + "," + j + ")", byRow.get(i, j), buffered.get(i, j), 1e-10 * Math.max(1, Math.abs(byRow.get(i, j))));
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testSGDSolver() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse_test_file("smalldata/logreg/prostate.csv"));
+      GLMParameters params = new GLMParameters(Family.binomial);
+      params._response_column = "CAPSULE";
+      params._ignored_columns = new String[]{"ID"};
+      params._train = fr._key;
+      params._lambda = new double[]{0};
+      params._standardize = true;
+      params._solver = Solver.IRLSM;
+      GLMModel irlsm = new GLM(params).trainModel().get();
+      Scope.track_generic(irlsm);
+      params._solver = Solver.SGD;
+      params._max_iterations = 100;
+      GLMModel sgd = new GLM(params).trainModel().get();
+      Scope.track_generic(sgd);
+      double resDevIRLSM = residualDeviance(irlsm), resDevSGD = residualDeviance(sgd);
+      assertTrue("SGD res dev = " + resDevSGD + ", IRLSM res dev = " + resDevIRLSM, resDevSGD < 1.02 * resDevIRLSM);
+      assertTrue(resDevSGD < 0.9 * nullDeviance(sgd));
+      // standardized coefficients close to the exact solution
+      double[] betaIRLSM = irlsm._output.getNormBeta(), betaSGD = sgd._output.getNormBeta();
+      for (int i = 0; i < betaIRLSM.length; i++)
+        assertEquals(irlsm._output.coefficientNames()[i], betaIRLSM[i], betaSGD[i], 0.05 + 0.1 * Math.abs(betaIRLSM[i]));
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testSafeScreeningBound() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse_test_file("smalldata/logreg/prostate.csv"));
+      fr.remove("ID");
+      fr.add("RACE", fr.remove("RACE").toCategoricalVec());
+      fr.add("CAPSULE", fr.remove("CAPSULE"));
+      Scope.track(fr);
+      GLMParameters parms = new GLMParameters(Family.binomial);
+      parms._obj_reg = 1.0 / fr.numRows();
+      DataInfo dinfo = new DataInfo(fr, null, 1, true, TransformType.STANDARDIZE, TransformType.NONE, true, false, false, false, false, false);
+      int P = dinfo.fullN();
+      double[] b1 = new double[P + 1], b2 = new double[P + 1];
+      Random rnd = new Random(0x5AFE);
+      for (int i = 0; i <= P; ++i) {
+        b1[i] = 0.2 * rnd.nextGaussian();
+        b2[i] = b1[i] + 0.1 * rnd.nextGaussian();
+      }
+      double[] g1 = GLMTask.GLMGradientTask.make(null, dinfo, parms, 0, b1).doAll(dinfo._adaptedFrame)._gradient;
+      double[] g2 = GLMTask.GLMGradientTask.make(null, dinfo, parms, 0, b2).doAll(dinfo._adaptedFrame)._gradient;
+      Frame ckpt = Scope.track(new GLMTask.GLMMultipliersTask(dinfo, parms, b1, null).doAll(Vec.T_NUM, dinfo._adaptedFrame).outputFrame());
+      // multipliers are the ones of the gradient task, the intercept gradient is their sum
+      assertEquals(g1[P], parms._obj_reg * ckpt.anyVec().mean() * fr.numRows(), 1e-10);
+      double d = parms._obj_reg * Math.sqrt(new GLMTask.GLMMultipliersTask(dinfo, parms, b2, ckpt.anyVec()).doAll(dinfo._adaptedFrame)._diff2);
+      double[] sumsq = new GLMTask.GLMColNormsTask(null, dinfo).doAll(dinfo._adaptedFrame)._sumsq;
+      assertTrue(d > 0);
+      for (int j = 0; j < P; ++j)
+        assertTrue("column " + j, Math.abs(g2[j] - g1[j]) <= d * Math.sqrt(sumsq[j]) + 1e-12);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testSafeScreeningLambdaSearch() {
+    boolean safeScreening = ComputationState.SAFE_SCREENING;
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse_test_file("smalldata/logreg/prostate.csv"));
+      fr.add("RACE", fr.remove("RACE").toCategoricalVec());
+      fr.add("DPROS", fr.remove("DPROS").toCategoricalVec());
+      Scope.track(fr);
+      DKV.put(fr);
+      for (Solver s : new Solver[]{Solver.IRLSM, Solver.L_BFGS}) {
+        GLMParameters params = new GLMParameters(Family.binomial);
+        params._response_column = "CAPSULE";
+        params._ignored_columns = new String[]{"ID"};
+        params._train = fr._key;
+        params._solver = s;
+        params._alpha = new double[]{0.8};
+        params._lambda_search = true;
+        params._nlambdas = 30;
+        ComputationState.SAFE_SCREENING = false;
+        GLMModel full = new GLM(params).trainModel().get();
+        Scope.track_generic(full);
+        ComputationState.SAFE_SCREENING = true;
+        GLMModel screened = new GLM(params).trainModel().get();
+        Scope.track_generic(screened);
+
+        assertEquals(s.toString(), full._output._submodels.length, screened._output._submodels.length);
+        int N = full._output.getNormBeta().length;
+        double nobs = fr.numRows();
+        for (int i = 0; i < full._output._submodels.length; ++i) {
+          GLMModel.Submodel a = full._output._submodels[i], b = screened._output._submodels[i];
+          String msg = s + ", lambda = " + a.lambda_value;
+          assertEquals(msg, a.lambda_value, b.lambda_value, 0);
+          double[] betaA = a.getBeta(new double[N]), betaB = b.getBeta(new double[N]);
+          for (int j = 0; j < N; ++j)
+            assertEquals(msg + ", coefficient " + j, betaA[j], betaB[j], 1e-4 + 1e-3 * Math.abs(betaA[j]));
+          double objA = objective(a, betaA, params._alpha[0], nobs), objB = objective(b, betaB, params._alpha[0], nobs);
+          assertEquals(msg, objA, objB, 1e-6 * Math.abs(objA));
+        }
+      }
+    } finally {
+      ComputationState.SAFE_SCREENING = safeScreening;
+      Scope.exit();
+    }
+  }
+
+  // Penalized objective of a lambda-search submodel, with the default obj_reg
+  private static double objective(GLMModel.Submodel sm, double[] beta, double alpha, double nobs) {
+    double l1 = 0, l2 = 0;
+    for (int i = 0; i < beta.length - 1; ++i) {
+      l1 += Math.abs(beta[i]);
+      l2 += beta[i] * beta[i];
+    }
+    return .5 * sm.devianceTrain / nobs + sm.lambda_value * (alpha * l1 + .5 * (1 - alpha) * l2);
+  }
+
   /**
    * Test we get correct gram on dataset which contains categoricals and sparse and dense numbers
    */
@@ -1882,7 +2035,7 @@ public class GLMTest  extends TestUtil {
       for (double alpha : new double[]{0, .5, 1}) {
         for (Solver s : Solver.values()) {
           if (s == Solver.COORDINATE_DESCENT_NAIVE || s== Solver.AUTO || s.equals(Solver.GRADIENT_DESCENT_LH)
-                  || s.equals(Solver.GRADIENT_DESCENT_SQERR)) continue;
+                  || s.equals(Solver.GRADIENT_DESCENT_SQERR) || s == Solver.SGD) continue;
 //          if(fam == Family.multinomial && (s != Solver.L_BFGS || alpha != 0)) continue;
           try {
             Scope.enter();
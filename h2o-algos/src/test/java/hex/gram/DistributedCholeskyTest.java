@@ -0,0 +1,53 @@
+package hex.gram;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.TestUtil;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DistributedCholeskyTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() { stall_till_cloudsize(1); }
+
+  private static double[][] randomSPD(int n, long seed) {
+    Random rnd = new Random(seed);
+    double[][] b = new double[n][n];
+    for (double[] row : b)
+      for (int j = 0; j < n; j++)
+        row[j] = rnd.nextGaussian();
+    double[][] a = new double[n][];
+    for (int i = 0; i < n; i++) {
+      a[i] = new double[i + 1];
+      for (int j = 0; j <= i; j++) {
+        double s = i == j ? n : 0;
+        for (int k = 0; k < n; k++)
+          s += b[i][k] * b[j][k];
+        a[i][j] = s;
+      }
+    }
+    return a;
+  }
+
+  @Test
+  public void testMatchesInPlaceCholesky() {
+    final int n = 57; // not a multiple of the block size
+    double[][] expected = randomSPD(n, 0xC401);
+    double[][] actual = randomSPD(n, 0xC401);
+    assertTrue(Gram.InPlaceCholesky.decompose_2(expected, 10, 1).isSPD());
+    assertTrue(DistributedCholesky.decompose(actual, 8));
+    for (int i = 0; i < n; i++)
+      assertArrayEquals("row " + i, expected[i], actual[i], 1e-10);
+  }
+
+  @Test
+  public void testNotSPD() {
+    double[][] a = randomSPD(20, 0xC402);
+    a[13][13] = -1;
+    assertFalse(DistributedCholesky.decompose(a, 6));
+  }
+
+}
@@ -0,0 +1,87 @@
+package hex.tree;
+
+import hex.ModelMetricsRegression;
+import hex.tree.gbm.GBM;
+import hex.tree.gbm.GBMModel;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Job;
+import water.Key;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class BinnedFrameCacheTest extends TestUtil {
+
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  @Test
+  public void testEntriesAreReferenceCounted() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse_test_file("./smalldata/gbm_test/BostonHousing.csv"));
+      Vec v = fr.vec(0);
+      Key<BinnedFrameCache.BinnedVec>[] first = BinnedFrameCache.build(fr);
+      Key<BinnedFrameCache.BinnedVec>[] second = BinnedFrameCache.build(fr);
+      assertArrayEquals(first, second); // shared, not rebuilt
+      BinnedFrameCache.BinnedVec bv = BinnedFrameCache.get(v);
+      assertNotNull(bv);
+      Key<Vec> codes = bv._codes;
+
+      BinnedFrameCache.release(first);
+      assertNotNull(BinnedFrameCache.get(v));
+      assertNotNull(DKV.get(codes));
+      assertNotNull(BinnedFrameCache.get(v).codes());
+
+      BinnedFrameCache.release(second);
+      assertNull(BinnedFrameCache.get(v));
+      assertNull(DKV.get(codes));
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testConcurrentModels() {
+    boolean enabled = BinnedFrameCache.ENABLED;
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse_test_file("./smalldata/gbm_test/BostonHousing.csv"));
+      GBMModel.GBMParameters parms = new GBMModel.GBMParameters();
+      parms._train = fr._key;
+      parms._response_column = fr.lastVecName();
+      parms._ntrees = 30;
+      parms._seed = 0xdecaf;
+
+      BinnedFrameCache.ENABLED = false;
+      GBMModel reference = new GBM(parms).trainModel().get();
+      Scope.track_generic(reference);
+
+      BinnedFrameCache.ENABLED = true;
+      // Both models acquire the same entries; whichever finishes first must not pull them from under the other
+      GBMModel.GBMParameters parms2 = (GBMModel.GBMParameters) parms.clone();
+      parms2._ntrees = 60;
+      Job<GBMModel> j1 = new GBM(parms).trainModel();
+      Job<GBMModel> j2 = new GBM(parms2).trainModel();
+      GBMModel m1 = j1.get();
+      Scope.track_generic(m1);
+      GBMModel m2 = j2.get();
+      Scope.track_generic(m2);
+
+      assertEquals(((ModelMetricsRegression) reference._output._training_metrics)._MSE,
+              ((ModelMetricsRegression) m1._output._training_metrics)._MSE, 1e-10);
+      assertTrue(((ModelMetricsRegression) m2._output._training_metrics)._MSE <
+              ((ModelMetricsRegression) m1._output._training_metrics)._MSE);
+      for (Vec v : fr.vecs())
+        assertNull("entries are removed with the last model", BinnedFrameCache.get(v));
+    } finally {
+      BinnedFrameCache.ENABLED = enabled;
+      Scope.exit();
+    }
+  }
+
+}
@@ -1,6 +1,7 @@
 package hex.tree;
 
 import hex.genmodel.algos.gbm.GbmMojoModel;
+import hex.genmodel.algos.tree.FlatTree;
 import hex.genmodel.algos.tree.SharedTreeGraph;
 import hex.genmodel.algos.tree.SharedTreeMojoModel;
 import hex.genmodel.algos.tree.SharedTreeNode;
@@ -90,6 +91,44 @@ public class CompressedTreeTest extends TestUtil  {
     }
   }
 
+  @Test
+  public void testFlatTreeScoresSameAsCompressed() {
+    final int ntrees = 10;
+    try {
+      Scope.enter();
+      Frame f = Scope.track(parse_test_file("smalldata/logreg/prostate.csv"));
+      for (String col : new String[]{"CAPSULE", "RACE", "DPROS"})
+        f.replace(f.find(col), f.vec(col).toCategoricalVec()).remove();
+      DKV.put(f);
+      GBMModel.GBMParameters gbmParams = new GBMModel.GBMParameters();
+      gbmParams._seed = 42;
+      gbmParams._train = f._key;
+      gbmParams._ignored_columns = new String[]{"ID"};
+      gbmParams._response_column = "CAPSULE";
+      gbmParams._ntrees = ntrees;
+      gbmParams._max_depth = 8;
+      GBMModel model = (GBMModel) Scope.track_generic(new GBM(gbmParams).trainModel().get());
+
+      String[][] domains = model._output._domains;
+      double[][] data = frameToMatrix(getAdaptedTrainFrame(model));
+      for (int i = 0; i < ntrees; i++) {
+        CompressedTree tree = model._output._treeKeys[i][0].get();
+        FlatTree flat = FlatTree.decode(tree._bits, domains);
+        for (int k = 0; k < data.length; k++) {
+          double[] row = data[k];
+          int c = k % (row.length - 1); // skip the response
+          double[][] rows = {row, row.clone(), row.clone()};
+          rows[1][c] = Double.NaN;
+          rows[2][c] = domains[c] != null ? domains[c].length + 1 : row[c] * 10; // unseen level or a far value
+          for (double[] r : rows)
+            assertEquals(SharedTreeMojoModel.scoreTree(tree._bits, r, false, domains), flat.score(r), 0);
+        }
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
   @Test
   public void testMakeTreeKey() {
     try {
@@ -8,6 +8,7 @@ import water.Scope;
 import water.TestUtil;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -71,4 +72,111 @@ public class DHistogramTest extends TestUtil {
     }
   }
 
+  @Test
+  public void blockedKernelMatchesScalar() {
+    Random rnd = new Random(42);
+    int len = 1000;
+    double[] ws = new double[len], cs = new double[len], ys = new double[len];
+    int[] rows = new int[len];
+    for (int i = 0; i < len; i++) {
+      ws[i] = i % 7 == 0 ? 0 : rnd.nextDouble();
+      cs[i] = i % 11 == 0 ? Double.NaN : rnd.nextDouble() * 10;
+      ys[i] = rnd.nextGaussian();
+      rows[i] = len - 1 - i;
+    }
+    cs[3] = Double.POSITIVE_INFINITY;
+    cs[5] = Double.NEGATIVE_INFINITY;
+    DHistogram scalar = new DHistogram("test", 20, 1024, (byte) 0, 0, 10, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    DHistogram blocked = new DHistogram("test", 20, 1024, (byte) 0, 0, 10, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    scalar.init();
+    blocked.init();
+    scalar.updateHistoScalar(ws, null, cs, ys, rows, len - 3, 2);
+    blocked.updateHistoBlocked(ws, cs, ys, rows, len - 3, 2);
+    assertArrayEquals(scalar._vals, blocked._vals, 0);
+    assertEquals(scalar._min2, blocked._min2, 0);
+    assertEquals(scalar._maxIn, blocked._maxIn, 0);
+
+    int[] bins = new int[len];
+    blocked.bin(cs, bins, len);
+    for (int i = 0; i < len; i++)
+      assertEquals("bin of " + cs[i], blocked.bin(cs[i]), bins[i]);
+  }
+
+  @Test
+  public void siblingSubtractionMatchesScan() {
+    Random rnd = new Random(0xDECAF);
+    int len = 1000;
+    double[] ws = new double[len], cs = new double[len], ys = new double[len];
+    int[] rows = new int[len];
+    for (int i = 0; i < len; i++) {
+      ws[i] = i % 5 == 0 ? 2 : 1;
+      cs[i] = i % 17 == 0 ? Double.NaN : rnd.nextInt(100);
+      ys[i] = rnd.nextGaussian();
+      rows[i] = i;
+    }
+    DHistogram parent = new DHistogram("test", 20, 1024, (byte) 1, 0, 100, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    parent.init();
+    parent.updateHisto(ws, null, cs, ys, rows, len, 0);
+    parent.reducePrecision();
+    assertTrue(parent.canShareBins());
+
+    // rows [0, 300) go left, the rest right
+    DHistogram left = parent.makeChild(1), right = parent.makeChild(2), derived = parent.makeChild(2);
+    left.init();
+    left.updateHisto(ws, null, cs, ys, rows, 300, 0);
+    left.reducePrecision();
+    right.init();
+    right.updateHisto(ws, null, cs, ys, rows, len, 300);
+    right.reducePrecision();
+    derived.setToDifference(parent, left);
+
+    for (int b = 0; b < parent.nbins(); b++) {
+      assertEquals(right.w(b), derived.w(b), 1e-10);
+      assertEquals(right.wY(b), derived.wY(b), 1e-4);
+      assertEquals(right.wYY(b), derived.wYY(b), 1e-4);
+    }
+    assertEquals(right.wNA(), derived.wNA(), 1e-10);
+    assertEquals(right.wYNA(), derived.wYNA(), 1e-10);
+    assertTrue(derived.find_min() <= right.find_min());
+    assertTrue(derived.find_maxIn() >= right.find_maxIn());
+  }
+
+  @Test
+  public void binnedKernelMatchesScalar() {
+    Random rnd = new Random(0xB1A5);
+    int len = 1000;
+    double[] values = {-3.5, -1, 0, 0.25, 2, 7, 10.5, 42, 99};
+    double[] ws = new double[len], cs = new double[len], ys = new double[len];
+    int[] codes = new int[len], rows = new int[len];
+    for (int i = 0; i < len; i++) {
+      ws[i] = i % 7 == 0 ? 0 : 1;
+      codes[i] = i % 23 == 0 ? values.length : rnd.nextInt(values.length);
+      cs[i] = codes[i] == values.length ? Double.NaN : values[codes[i]];
+      ys[i] = rnd.nextGaussian();
+      rows[i] = i;
+    }
+    DHistogram scalar = new DHistogram("test", 20, 1024, (byte) 1, -3.5, 99, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    DHistogram binned = new DHistogram("test", 20, 1024, (byte) 1, -3.5, 99, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    scalar.init();
+    binned.init();
+    scalar.updateHistoScalar(ws, null, cs, ys, rows, len, 0);
+    binned.updateHistoBinned(ws, codes, values, ys, rows, 500, 0);
+    binned.updateHistoBinned(ws, codes, values, ys, rows, len, 500);
+
+    for (int b = 0; b < scalar.nbins(); b++) {
+      assertEquals(scalar.w(b), binned.w(b), 0);
+      assertEquals(scalar.wY(b), binned.wY(b), 1e-10);
+      assertEquals(scalar.wYY(b), binned.wYY(b), 1e-10);
+    }
+    assertEquals(scalar.wNA(), binned.wNA(), 0);
+    assertEquals(scalar.wYNA(), binned.wYNA(), 1e-10);
+    assertEquals(scalar.find_min(), binned.find_min(), 0);
+    assertEquals(scalar.find_maxIn(), binned.find_maxIn(), 0);
+  }
+
 }
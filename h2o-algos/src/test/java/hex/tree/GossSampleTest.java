@@ -0,0 +1,92 @@
+package hex.tree;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.MRTask;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class GossSampleTest extends TestUtil {
+
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  @Test
+  public void testThreshold() {
+    Scope.enter();
+    try {
+      int n = 10000;
+      Vec grads = Scope.track(Vec.makeSeq(1, n)); // |gradient| of row i is i+1
+      double threshold = GossSample.threshold(grads, null, 0.2);
+      assertEquals(0.8 * n, threshold, 0.01 * n);
+      // Weights count, not rows: the top half of the rows holds 3/4 of the weight
+      Vec weights = Scope.track(new MRTask() {
+        @Override public void map(Chunk c, Chunk w) {
+          for (int r = 0; r < c._len; r++) w.set(r, c.atd(r) > n / 2 ? 3 : 1);
+        }
+      }.doAll(Vec.T_NUM, grads, grads.makeZero()).outputFrame().anyVec());
+      assertEquals(0.5 * n, GossSample.threshold(grads, weights, 0.75), 0.01 * n);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testSample() {
+    checkSample(false);
+  }
+
+  @Test
+  public void testSampleWeighted() {
+    checkSample(true);
+  }
+
+  private void checkSample(boolean weighted) {
+    Scope.enter();
+    try {
+      int n = 100000;
+      double topRate = 0.2, otherRate = 0.1;
+      double otherProb = otherRate / (1 - topRate);
+      double w = weighted ? 2 : 1;
+      Vec grads = Scope.track(Vec.makeSeq(1, n));
+      Vec nids = Scope.track(grads.makeVolatileInts(new int[]{0})[0]);
+      Frame fr = new Frame(new String[]{"nids", "response", "grads"}, new Vec[]{nids, Scope.track(grads.makeCon(1)), grads});
+      if (weighted) fr.add("weights", Scope.track(grads.makeCon(w)));
+      Vec hws = Scope.track(grads.makeZero());
+      fr.add("histo_weights", hws);
+      double threshold = GossSample.threshold(grads, null, topRate);
+      DTree tree = new DTree(fr, 1, 1, 1, 0xdecafL, null);
+      new GossSample(tree, threshold, topRate, otherRate, weighted).doAll(fr);
+
+      long top = 0, small = 0, sampled = 0;
+      double smallWeight = 0;
+      for (long row = 0; row < n; row++) {
+        double hw = hws.at(row);
+        boolean oob = nids.at8(row) == ScoreBuildHistogram.OUT_OF_BAG;
+        assertEquals("row " + row, hw == 0, oob);
+        if (grads.at(row) >= threshold) {
+          top++;
+          assertEquals("top row " + row + " keeps its weight", w, hw, 0);
+        } else {
+          small++;
+          if (hw != 0) {
+            sampled++;
+            assertEquals("sampled row " + row + " is up-weighted by (1-a)/b", w * (1 - topRate) / otherRate, hw, 1e-10);
+          }
+          smallWeight += hw;
+        }
+      }
+      assertEquals(topRate * n, top, 0.01 * n);
+      assertEquals(otherProb, (double) sampled / small, 0.01);
+      // The sample stands in for all the small-gradient rows
+      assertEquals(w * small, smallWeight, 0.05 * w * small);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
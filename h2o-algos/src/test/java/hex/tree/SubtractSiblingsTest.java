@@ -0,0 +1,134 @@
+package hex.tree;
+
+import hex.genmodel.algos.tree.SharedTreeNode;
+import hex.tree.drf.DRF;
+import hex.tree.drf.DRFModel;
+import hex.tree.gbm.GBM;
+import hex.tree.gbm.GBMModel;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.TestFrameBuilder;
+import water.fvec.Vec;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SubtractSiblingsTest extends TestUtil {
+
+  // the switch is read by the node building the trees, keep the whole model on this one
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  private static final int NROWS = 20000;
+  private static final String[] NAMES = {"a", "b", "c", "d", "e", "y"};
+
+  // Integer predictors with fewer values than nbins: one bin per value whether a child keeps the bins of its
+  // parent or re-bins to its own range, so both ways see the same split points and must grow the same trees.
+  private static Frame makeFrame() {
+    Random rnd = new Random(0xFEED);
+    double[][] cols = new double[NAMES.length][NROWS];
+    for (int r = 0; r < NROWS; r++) {
+      for (int c = 0; c < NAMES.length - 1; c++)
+        cols[c][r] = rnd.nextInt(16);
+      double a = cols[0][r], b = cols[1][r], c = cols[2][r], d = cols[3][r];
+      cols[NAMES.length - 1][r] = (a > 7 ? b * c : a - d) + Math.sin(d) * c + rnd.nextGaussian();
+    }
+    TestFrameBuilder builder = new TestFrameBuilder()
+            .withName("subtract_siblings")
+            .withColNames(NAMES)
+            .withVecTypes(Vec.T_NUM, Vec.T_NUM, Vec.T_NUM, Vec.T_NUM, Vec.T_NUM, Vec.T_NUM)
+            .withChunkLayout(5000, 5000, 5000, 5000);
+    for (int c = 0; c < NAMES.length; c++)
+      builder.withDataForCol(c, cols[c]);
+    return builder.build();
+  }
+
+  @Test
+  public void testGBMDeepTrees() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeFrame());
+      GBMModel.GBMParameters parms = new GBMModel.GBMParameters();
+      parms._train = fr._key;
+      parms._response_column = "y";
+      parms._ntrees = 5;
+      parms._max_depth = 15;
+      parms._min_rows = 2;
+      parms._seed = 0xdecaf;
+      checkSameModel(parms, fr);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testDRFDeepTrees() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeFrame());
+      DRFModel.DRFParameters parms = new DRFModel.DRFParameters();
+      parms._train = fr._key;
+      parms._response_column = "y";
+      parms._ntrees = 5;
+      parms._max_depth = 20;
+      parms._mtries = -2; // all columns: random column picks would depend on which histograms a node has
+      parms._seed = 0xdecaf;
+      checkSameModel(parms, fr);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  private static void checkSameModel(SharedTreeModel.SharedTreeParameters parms, Frame fr) {
+    final boolean subtract = DHistogram.SUBTRACT_SIBLINGS;
+    try {
+      DHistogram.SUBTRACT_SIBLINGS = false;
+      SharedTreeModel<?, ?, ?> reference = train(parms);
+      DHistogram.SUBTRACT_SIBLINGS = true;
+      SharedTreeModel<?, ?, ?> actual = train(parms);
+
+      assertEquals(reference._output._ntrees, actual._output._ntrees);
+      int leaves = 0;
+      for (int t = 0; t < reference._output._ntrees; t++) {
+        SharedTreeNode expected = reference.getSharedTreeSubgraph(t, 0).rootNode;
+        leaves += assertSameTree("tree " + t, expected, actual.getSharedTreeSubgraph(t, 0).rootNode);
+      }
+      assertTrue("deep trees: " + leaves, leaves > 100 * reference._output._ntrees);
+
+      Frame expectedPreds = Scope.track(reference.score(fr));
+      Frame actualPreds = Scope.track(actual.score(fr));
+      assertFrameEquals(expectedPreds, actualPreds, 1e-6);
+    } finally {
+      DHistogram.SUBTRACT_SIBLINGS = subtract;
+    }
+  }
+
+  private static SharedTreeModel<?, ?, ?> train(SharedTreeModel.SharedTreeParameters parms) {
+    SharedTree builder = parms instanceof GBMModel.GBMParameters ?
+            new GBM((GBMModel.GBMParameters) parms.clone()) : new DRF((DRFModel.DRFParameters) parms.clone());
+    SharedTreeModel<?, ?, ?> model = (SharedTreeModel<?, ?, ?>) builder.trainModel().get();
+    Scope.track_generic(model);
+    return model;
+  }
+
+  // Same splits everywhere, same leaf values up to round-off; returns the number of leaves
+  private static int assertSameTree(String path, SharedTreeNode expected, SharedTreeNode actual) {
+    assertNotNull(path, actual);
+    assertEquals(path, expected.isLeaf(), actual.isLeaf());
+    if (expected.isLeaf()) {
+      assertEquals(path, expected.getPredValue(), actual.getPredValue(), 1e-5 * Math.max(1, Math.abs(expected.getPredValue())));
+      return 1;
+    }
+    assertEquals(path, expected.getColName(), actual.getColName());
+    assertEquals(path, expected.getSplitValue(), actual.getSplitValue(), 0);
+    assertEquals(path, expected.isNaVsRest(), actual.isNaVsRest());
+    assertEquals(path, expected.isLeftward(), actual.isLeftward());
+    assertEquals(path, expected.getWeight(), actual.getWeight(), 1e-3);
+    return assertSameTree(path + "L", expected.getLeftChild(), actual.getLeftChild()) +
+            assertSameTree(path + "R", expected.getRightChild(), actual.getRightChild());
+  }
+
+}
@@ -3838,4 +3838,106 @@ public class GBMTest extends TestUtil {
     }
   }
   
+  @Test
+  public void testGossSampling() {
+    Scope.enter();
+    try {
+      Frame tfr = Scope.track(parse_test_file("./smalldata/gbm_test/BostonHousing.csv"));
+      GBMModel.GBMParameters parms = makeGBMParameters();
+      parms._train = tfr._key;
+      parms._response_column = tfr.lastVecName();
+      parms._ntrees = 20;
+      parms._seed = 0xdecaf;
+
+      GBMModel full = new GBM(parms).trainModel().get();
+      Scope.track_generic(full);
+
+      parms._goss_top_rate = 0.2;
+      parms._goss_other_rate = 0.1;
+      GBMModel goss = new GBM(parms).trainModel().get();
+      Scope.track_generic(goss);
+
+      double fullMSE = ((ModelMetricsRegression) full._output._training_metrics)._MSE;
+      double gossMSE = ((ModelMetricsRegression) goss._output._training_metrics)._MSE;
+      assertTrue("GOSS MSE " + gossMSE + " vs. " + fullMSE, gossMSE < 2 * fullMSE);
+
+      // GOSS replaces uniform row sampling
+      parms._sample_rate = 0.5;
+      try {
+        new GBM(parms).trainModel().get();
+        Assert.fail("Should toss H2OModelBuilderIllegalArgumentException instead of reaching here");
+      } catch (H2OModelBuilderIllegalArgumentException e) {}
+      parms._sample_rate = 1;
+
+      // Leaf quantiles would ignore the GOSS weights
+      for (DistributionFamily dist : new DistributionFamily[]{DistributionFamily.laplace, DistributionFamily.quantile, DistributionFamily.huber}) {
+        parms._distribution = dist;
+        try {
+          new GBM(parms).trainModel().get();
+          Assert.fail("Should toss H2OModelBuilderIllegalArgumentException for " + dist);
+        } catch (H2OModelBuilderIllegalArgumentException e) {}
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testLossguideGrowth() {
+    Scope.enter();
+    try {
+      Frame tfr = Scope.track(parse_test_file("./smalldata/gbm_test/BostonHousing.csv"));
+      GBMModel.GBMParameters parms = makeGBMParameters();
+      parms._train = tfr._key;
+      parms._response_column = tfr.lastVecName();
+      parms._ntrees = 20;
+      parms._max_depth = 10;
+      parms._seed = 0xdecaf;
+      parms._grow_policy = GBMModel.GBMParameters.GrowPolicy.lossguide;
+      parms._max_leaves = 12;
+
+      GBMModel lossguide = new GBM(parms).trainModel().get();
+      Scope.track_generic(lossguide);
+
+      parms._grow_policy = GBMModel.GBMParameters.GrowPolicy.depthwise;
+      parms._max_leaves = 0;
+      parms._max_depth = 3;
+      GBMModel depthwise = new GBM(parms).trainModel().get();
+      Scope.track_generic(depthwise);
+
+      // A depth-wise tree of depth 3 holds at most 8 leaves, best-first growth spends the whole budget of 12
+      int maxLeaves = 0;
+      for (int t = 0; t < parms._ntrees; t++) {
+        int lossguideLeaves = countLeaves(lossguide.getSharedTreeSubgraph(t, 0));
+        assertTrue("tree " + t + " has " + lossguideLeaves + " leaves", lossguideLeaves <= 12);
+        maxLeaves = Math.max(maxLeaves, lossguideLeaves);
+        assertTrue(countLeaves(depthwise.getSharedTreeSubgraph(t, 0)) <= 8);
+      }
+      assertTrue("max. leaves " + maxLeaves, maxLeaves > 8);
+      assertEquals(maxLeaves, lossguide._output._treeStats._max_leaves);
+      // and goes deeper than a balanced tree with as many leaves
+      assertTrue(lossguide._output._treeStats._max_depth > 4);
+
+      double lossguideMSE = ((ModelMetricsRegression) lossguide._output._training_metrics)._MSE;
+      double depthwiseMSE = ((ModelMetricsRegression) depthwise._output._training_metrics)._MSE;
+      assertTrue("lossguide MSE " + lossguideMSE + " vs. " + depthwiseMSE, lossguideMSE < 1.5 * depthwiseMSE);
+
+      // max_leaves needs lossguide
+      parms._max_leaves = 8;
+      try {
+        new GBM(parms).trainModel().get();
+        Assert.fail("Should toss H2OModelBuilderIllegalArgumentException instead of reaching here");
+      } catch (H2OModelBuilderIllegalArgumentException e) {}
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  private static int countLeaves(SharedTreeSubgraph tree) {
+    int leaves = 0;
+    for (SharedTreeNode node : tree.nodesArray)
+      if (node.isLeaf()) leaves++;
+    return leaves;
+  }
+
 }
@@ -11,6 +11,7 @@ import ai.h2o.automl.leaderboard.*;
 import hex.Model;
 import hex.ScoreKeeper.StoppingMetric;
 import hex.grid.Grid;
+import hex.tree.BinnedFrameCache;
 import hex.splitframe.ShuffleSplitFrame;
 import water.*;
 import water.automl.api.schemas3.AutoMLV99;
@@ -178,6 +179,7 @@ public final class AutoML extends Lockable<AutoML> implements TimedH2ORunnable {
   private long[] _originalTrainingFrameChecksums;
   private Key<Grid> _gridKeys[] = new Key[0];  // Grid key for the GridSearches
   private transient ModelingStep[] _executionPlan;
+  private transient Key<BinnedFrameCache.BinnedVec>[] _binnedKeys; // pre-binned training columns shared by the tree models
 
   public AutoML() {
     super(null);
@@ -376,6 +378,8 @@ public final class AutoML extends Lockable<AutoML> implements TimedH2ORunnable {
             .setNamedValue("start_epoch", _runCountdown.start_time(), EventLogEntry.epochFormat);
     learn();
     stop();
+    BinnedFrameCache.release(_binnedKeys);
+    _binnedKeys = null;
   }
 
   @Override
@@ -524,6 +528,9 @@ public final class AutoML extends Lockable<AutoML> implements TimedH2ORunnable {
       DKV.put(_trainingFrame);
     }
 
+    if (BinnedFrameCache.ENABLED)
+      _binnedKeys = BinnedFrameCache.build(_trainingFrame);
+
     _responseColumn = _trainingFrame.vec(input.response_column);
     _foldColumn = _trainingFrame.vec(input.fold_column);
     _weightsColumn = _trainingFrame.vec(input.weights_column);
@@ -653,6 +660,8 @@ public final class AutoML extends Lockable<AutoML> implements TimedH2ORunnable {
     }
     if (_trainingFrame != null && _origTrainingFrame != null)
       Frame.deleteTempFrameAndItsNonSharedVecs(_trainingFrame, _origTrainingFrame);
+    BinnedFrameCache.release(_binnedKeys);
+    _binnedKeys = null;
     if (leaderboard() != null) leaderboard().remove(fs, cascade);
     if (eventLog() != null) eventLog().remove(fs, cascade);
 
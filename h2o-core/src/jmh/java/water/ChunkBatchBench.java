@@ -0,0 +1,154 @@
+package water;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import water.fvec.Chunk;
+import water.fvec.NewChunk;
+
+/**
+ * Per-codec companion of {@link ChunkBench}: per-row atd/at8/isNA loops
+ * against the bulk getDoubles/getLongs/getNAs/getNonZeroDoubles accessors.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkBatchBench {
+
+  @Param({"C0D", "C1N", "C1", "C2", "C4", "C8", "C8D", "C1S", "C2S", "CXI", "CXF"})
+  private String codec;
+  @Param({"100000"})
+  private int rows;
+  private Chunk chunk;
+  private double[] dvals;
+  private long[] lvals;
+  private long[] naBits;
+  private int[] ids;
+
+  @Benchmark
+  public double atdLoop() {
+    double sum = 0;
+    for (int row = 0; row < rows; ++row) {
+      double d = chunk.atd(row);
+      if (!Double.isNaN(d)) sum += d;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double getDoubles() {
+    double sum = 0;
+    chunk.getDoubles(dvals, 0, rows, 0);
+    for (int row = 0; row < rows; ++row)
+      sum += dvals[row];
+    return sum;
+  }
+
+  @Benchmark
+  public long at8Loop() {
+    long sum = 0;
+    for (int row = 0; row < rows; ++row)
+      if (!chunk.isNA(row)) sum += chunk.at8(row);
+    return sum;
+  }
+
+  @Benchmark
+  public long getLongs() {
+    long sum = 0;
+    chunk.getLongs(lvals, 0, rows, 0);
+    for (int row = 0; row < rows; ++row)
+      sum += lvals[row];
+    return sum;
+  }
+
+  @Benchmark
+  public int isNALoop() {
+    int nas = 0;
+    for (int row = 0; row < rows; ++row)
+      if (chunk.isNA(row)) nas++;
+    return nas;
+  }
+
+  @Benchmark
+  public int getNAs() {
+    return chunk.getNAs(naBits, 0, rows);
+  }
+
+  @Benchmark
+  public double nextNZLoop() {
+    double sum = 0;
+    for (int row = chunk.nextNZ(-1); row < rows; row = chunk.nextNZ(row)) {
+      double d = chunk.atd(row);
+      if (!Double.isNaN(d)) sum += d;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double getNonZeroDoubles() {
+    double sum = 0;
+    int n = chunk.getNonZeroDoubles(dvals, ids, 0, rows);
+    for (int i = 0; i < n; ++i)
+      sum += dvals[i];
+    return sum;
+  }
+
+  @Setup
+  public void setup() {
+    Random rnd = new Random(0xBA7C);
+    double[] raw = new double[rows];
+    for (int row = 0; row < rows; ++row)
+      raw[row] = get(codec, row, rnd);
+    chunk = new NewChunk(raw).compress();
+    dvals = new double[rows];
+    lvals = new long[rows];
+    naBits = new long[(rows + 63) >> 6];
+    ids = new int[rows];
+  }
+
+  private static double get(String codec, int i, Random rnd) {
+    boolean na = i % 97 == 0;
+    switch (codec) {
+      case "C0D": return 3.25;
+      case "C1N": return i % 200;
+      case "C1":  return na ? Double.NaN : i % 200;
+      case "C2":  return na ? Double.NaN : i % 20000 - 10000;
+      case "C4":  return na ? Double.NaN : i * 10000L;
+      case "C8":  return na ? Double.NaN : i * (double) Integer.MAX_VALUE;
+      case "C8D": return na ? Double.NaN : rnd.nextDouble();
+      case "C1S": return na ? Double.NaN : (i % 200) / 10.0;
+      case "C2S": return na ? Double.NaN : (i % 20000) / 100.0;
+      case "CXI": return i % 50 == 0 ? i : 0;
+      case "CXF": return i % 50 == 0 ? rnd.nextDouble() : 0;
+      default:
+        throw H2O.unimpl();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ChunkBatchBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,106 @@
+package water.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import water.Iced;
+import water.fvec.Vec;
+import water.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of {@link CsvParser#parseChunk} over a synthetic 4MB chunk, without a cloud.
+ * "plain" lines take the numeric fast path, "quoted" has the same numbers in quotes so every line goes through the
+ * state machine, "mixed" has a string column.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CsvParserBench {
+
+  @Param({"plain", "quoted", "mixed"})
+  private String content;
+  @Param({"10", "100"})
+  private int cols;
+
+  private byte[] bits;
+  private CsvParser parser;
+
+  @Setup
+  public void setup() {
+    Random rnd = new Random(42);
+    StringBuilder sb = new StringBuilder();
+    while (sb.length() < (4 << 20)) {
+      for (int c = 0; c < cols; c++) {
+        if (c > 0) sb.append(',');
+        String v = c % 2 == 0 ? String.valueOf(rnd.nextInt(100000)) : String.format(Locale.ROOT, "%.4f", rnd.nextDouble() * 1000);
+        if (content.equals("quoted")) sb.append('"').append(v).append('"');
+        else if (content.equals("mixed") && c == cols - 1) sb.append("level").append(rnd.nextInt(10));
+        else sb.append(v);
+      }
+      sb.append('\n');
+    }
+    bits = StringUtils.bytesOf(sb);
+    ParseSetup ps = new ParseSetup();
+    ps._parse_type = DefaultParserProviders.CSV_INFO;
+    ps._check_header = ParseSetup.NO_HEADER;
+    ps._separator = ',';
+    ps._number_columns = cols;
+    ps._column_types = new byte[cols];
+    Arrays.fill(ps._column_types, Vec.T_NUM);
+    ps._nonDataLineMarkers = new byte[0];
+    parser = new CsvParser(ps, null);
+  }
+
+  @Benchmark
+  public long parseChunk() {
+    CountingWriter w = new CountingWriter();
+    parser.parseChunk(0, new Parser.ByteAryData(bits, 0), w);
+    return w._cells;
+  }
+
+  private static class CountingWriter extends Iced<CountingWriter> implements ParseWriter {
+    long _lines, _cells;
+    @Override public void setColumnNames(String[] names) {}
+    @Override public void newLine() { _lines++; }
+    @Override public boolean isString(int colIdx) { return false; }
+    @Override public void addNumCol(int colIdx, long number, int exp) { _cells++; }
+    @Override public void addNumCol(int colIdx, double d) { _cells++; }
+    @Override public void addInvalidCol(int colIdx) { _cells++; }
+    @Override public void addNAs(int colIdx, int nrow) { _cells += nrow; }
+    @Override public void addStrCol(int colIdx, BufferedString str) { _cells++; }
+    @Override public void rollbackLine() { _lines--; }
+    @Override public void invalidLine(ParseErr err) {}
+    @Override public void addError(ParseErr err) {}
+    @Override public void setIsAllASCII(int colIdx, boolean b) {}
+    @Override public boolean hasErrors() { return false; }
+    @Override public ParseErr[] removeErrors() { return new ParseErr[0]; }
+    @Override public long lineNum() { return _lines; }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(CsvParserBench.class.getSimpleName())
+            .build();
+    new Runner(opt).run();
+  }
+}
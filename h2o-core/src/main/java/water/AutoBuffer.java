@@ -1284,6 +1284,35 @@ public final class AutoBuffer {
     putInt(ary.length);
     return putA1(ary,ary.length);
   }
+  /** Write a byte[] which is compressed with the configured {@link
+   *  AutoBufferCodec} when it is headed to another node or to the ice, and is
+   *  large enough to be worth it.  Read back with {@link #getA1z}. */
+  public AutoBuffer putA1z( byte[] ary ) {
+    AutoBufferCodec codec = ary != null && (_persist == Value.TCP || _persist == Value.ICE)
+      ? AutoBufferCodec.forSize(ary.length) : AutoBufferCodec.NONE;
+    if( codec != AutoBufferCodec.NONE ) {
+      byte[] z = MemoryManager.malloc1(ary.length);
+      int zlen = codec.compress(ary, ary.length, z);
+      if( zlen >= 0 ) {
+        codec._rawOut.addAndGet(ary.length);
+        codec._compressedOut.addAndGet(zlen);
+        return put1(codec.id()).putInt(ary.length).putInt(zlen).putA1(z, zlen);
+      }
+    }
+    return put1(AutoBufferCodec.NONE.id()).putA1(ary);
+  }
+  public byte[] getA1z( ) {
+    AutoBufferCodec codec = AutoBufferCodec.forId(get1U());
+    if( codec == AutoBufferCodec.NONE ) return getA1();
+    int len = getInt();
+    byte[] z = getA1();
+    byte[] ary = MemoryManager.malloc1(len);
+    codec.decompress(z, z.length, ary);
+    codec._rawIn.addAndGet(len);
+    codec._compressedIn.addAndGet(z.length);
+    return ary;
+  }
+
   public AutoBuffer putA1( byte[] ary, int length ) { return putA1(ary,0,length); }
   public AutoBuffer putA1( byte[] ary, int sofar, int length ) {
     if (length - sofar > _bb.remaining()) expandByteBuffer(length-sofar);
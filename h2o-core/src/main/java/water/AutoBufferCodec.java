@@ -0,0 +1,144 @@
+package water;
+
+import water.util.Log;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static water.H2O.OptArgs.SYSTEM_PROP_PREFIX;
+
+/** Compression codec for large byte[] payloads in {@link AutoBuffer} TCP and
+ *  ice (spill-to-disk) traffic.
+ *
+ *  Each compressed payload is written with the id of the codec used ahead of
+ *  it (see {@link AutoBuffer#putA1z}), so a receiver always decodes whatever
+ *  the sender picked and no handshake is needed.  The sending codec is
+ *  chosen with -Dsys.ai.h2o.codec=[none|deflate|class-name]; payloads smaller
+ *  than -Dsys.ai.h2o.codec.min_bytes (default 4K) are always sent raw.
+ *  Pluggable codecs (e.g. LZ4) extend this class, have a public no-arg
+ *  constructor and an id of their own; they are registered on every node
+ *  that names them as the sending codec.
+ */
+public abstract class AutoBufferCodec {
+  private static final String PROP_CODEC = SYSTEM_PROP_PREFIX + "codec";
+  private static final String PROP_MIN_BYTES = SYSTEM_PROP_PREFIX + "codec.min_bytes";
+
+  /** No compression; payloads go as-is */
+  public static final AutoBufferCodec NONE = new AutoBufferCodec((byte)0, "none") {
+    @Override protected int compress(byte[] src, int len, byte[] dst) { return -1; }
+    @Override protected void decompress(byte[] src, int len, byte[] dst) { throw H2O.fail(); }
+  };
+  /** zlib deflate at its fastest level */
+  public static final AutoBufferCodec DEFLATE = new DeflateCodec();
+
+  private static final AutoBufferCodec[] CODECS = new AutoBufferCodec[128];
+  static {
+    register(NONE);
+    register(DEFLATE);
+  }
+
+  static final int MIN_BYTES = Integer.getInteger(PROP_MIN_BYTES, 4096);
+  /** Codec used for outgoing payloads; not final so tests can switch it */
+  static volatile AutoBufferCodec ACTIVE = lookup(System.getProperty(PROP_CODEC, NONE.name()));
+
+  private final byte _id;
+  private final String _name;
+  // Byte counters, reported by WaterMeterIo
+  final AtomicLong _rawOut = new AtomicLong(), _compressedOut = new AtomicLong();
+  final AtomicLong _rawIn  = new AtomicLong(), _compressedIn  = new AtomicLong();
+
+  protected AutoBufferCodec(byte id, String name) {
+    assert id >= 0;
+    _id = id;
+    _name = name;
+  }
+
+  public final byte id() { return _id; }
+  public final String name() { return _name; }
+
+  /** Compress len bytes of src into dst (of the same length).
+   *  @return compressed length, or -1 if the payload did not get smaller */
+  protected abstract int compress(byte[] src, int len, byte[] dst);
+
+  /** Decompress len bytes of src into dst, which has the exact raw length */
+  protected abstract void decompress(byte[] src, int len, byte[] dst);
+
+  /** Codec used for outgoing payloads and spills; {@link #NONE} if disabled */
+  public static AutoBufferCodec active() { return ACTIVE; }
+
+  public long rawBytesOut() { return _rawOut.get(); }
+  public long compressedBytesOut() { return _compressedOut.get(); }
+  public long rawBytesIn() { return _rawIn.get(); }
+  public long compressedBytesIn() { return _compressedIn.get(); }
+
+  // Codec to send a payload of the given size with
+  static AutoBufferCodec forSize(int len) { return len < MIN_BYTES ? NONE : ACTIVE; }
+
+  // Codec a received payload was sent with
+  static AutoBufferCodec forId(int id) {
+    AutoBufferCodec c = id >= 0 && id < CODECS.length ? CODECS[id] : null;
+    if( c == null ) throw new IllegalStateException("Unknown AutoBuffer codec id " + id + "; is the codec registered on every node?");
+    return c;
+  }
+
+  /** All registered codecs, indexed by id (with holes). */
+  public static AutoBufferCodec[] codecs() { return CODECS.clone(); }
+
+  static synchronized void register(AutoBufferCodec codec) {
+    AutoBufferCodec old = CODECS[codec._id];
+    if( old != null && old.getClass() != codec.getClass() )
+      throw new IllegalArgumentException("Codec id " + codec._id + " of " + codec._name + " already taken by " + old._name);
+    if( old == null ) CODECS[codec._id] = codec;
+  }
+
+  private static AutoBufferCodec lookup(String name) {
+    for( AutoBufferCodec c : CODECS )
+      if( c != null && c._name.equalsIgnoreCase(name) ) return c;
+    try {
+      Class<?> cls = Class.forName(name);
+      Constructor<?> constructor = cls.getConstructor();
+      AutoBufferCodec codec = (AutoBufferCodec) constructor.newInstance();
+      register(codec);
+      Log.info("Using AutoBuffer codec " + codec._name + " for payloads of " + MIN_BYTES + " bytes and more");
+      return CODECS[codec._id];
+    } catch( ReflectiveOperationException | ClassCastException e ) {
+      throw new IllegalArgumentException("Cannot create an AutoBuffer codec using class " + name, e);
+    }
+  }
+
+  private static class DeflateCodec extends AutoBufferCodec {
+    // Deflater/Inflater hold native state; keep one per thread
+    private final ThreadLocal<Deflater> _deflaters = new ThreadLocal<Deflater>() {
+      @Override protected Deflater initialValue() { return new Deflater(Deflater.BEST_SPEED); }
+    };
+    private final ThreadLocal<Inflater> _inflaters = new ThreadLocal<Inflater>() {
+      @Override protected Inflater initialValue() { return new Inflater(); }
+    };
+    DeflateCodec() { super((byte)1, "deflate"); }
+
+    @Override protected int compress(byte[] src, int len, byte[] dst) {
+      Deflater d = _deflaters.get();
+      d.reset();
+      d.setInput(src, 0, len);
+      d.finish();
+      int n = d.deflate(dst, 0, dst.length);
+      return d.finished() ? n : -1; // Did not fit: not compressible
+    }
+
+    @Override protected void decompress(byte[] src, int len, byte[] dst) {
+      Inflater inf = _inflaters.get();
+      inf.reset();
+      inf.setInput(src, 0, len);
+      try {
+        int n = inf.inflate(dst);
+        if( n != dst.length || !inf.finished() )
+          throw new IllegalStateException("Corrupted deflate payload: got " + n + " of " + dst.length + " bytes");
+      } catch( DataFormatException e ) {
+        throw new IllegalStateException("Corrupted deflate payload", e);
+      }
+    }
+  }
+}
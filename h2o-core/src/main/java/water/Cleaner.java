@@ -4,6 +4,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
 import water.fvec.Chunk;
+import water.fvec.ChunkReplicas;
 import water.util.Log;
 import water.util.PrettyPrint;
 
@@ -113,6 +114,7 @@ class Cleaner extends Thread {
       long cleaned = 0;         // Disk i/o bytes
       long freed = 0;           // memory freed bytes
       long io_ns = 0;           // i/o ns writing
+      OffHeapPass offheap = new OffHeapPass(h._offheap, diskFull);
 
       // For faster K/V store walking get the NBHM raw backing array,
       // and walk it directly.
@@ -127,7 +129,8 @@ class Cleaner extends Thread {
         Value val = (Value)ov;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
-        if( m == null && p == null ) continue; // Nothing to throw out
+        boolean isOffHeap = val.rawOffHeap() != null;
+        if( m == null && p == null && !isOffHeap ) continue; // Nothing to throw out
         if( val.isLockable() ) continue; // we do not want to throw out Lockables.
         boolean isChunk = p instanceof Chunk && !((Chunk)p).isVolatile();
         // Ignore things younger than the required age.  In particular, do
@@ -146,6 +149,15 @@ class Cleaner extends Thread {
         // Spiller turned off?
         if( !H2O.ARGS.cleaner ) continue;
 
+        // Off-heap tier: move cold Chunks in, page it out to disk past its
+        // high-water mark.
+        if( isOffHeap || MemoryManager.offHeapEnabled() ) {
+          offheap._diskFull = diskFull;
+          boolean handled = offheap.clean(val, (Key)ok, isChunk, force);
+          diskFull = offheap._diskFull;
+          if( handled ) continue;
+        }
+
         // CNC - Memory cleaning turned off, except for Chunks
         // Too many POJOs are written to dynamically; cannot spill & reload
         // them without losing changes.
@@ -168,8 +180,8 @@ class Cleaner extends Thread {
           if( m != null ) cleaned += m.length; // Accumulate i/o bytes
           io_ns += System.nanoTime() - now_ns; // Accumulate i/o time
         }
-        // And, under pressure, free all
-        if( isChunk && force && (val.isPersisted() || !((Key)ok).home()) ) {
+        // And, under pressure, free all (but the copies of replicated Vecs, see ChunkReplicas)
+        if( isChunk && force && (val.isPersisted() || (!((Key)ok).home() && !ChunkReplicas.isReplica((Key)ok))) ) {
           val.freeMem ();  if( m != null ) freed += val._max;  m = null;
           val.freePOJO();  if( p != null ) freed += val._max;  p = null;
           if( isChunk ) freed -= val._max; // Double-counted freed mem for Chunks since val._pojo._mem & val._mem are the same.
@@ -186,12 +198,16 @@ class Cleaner extends Thread {
         force = (h._cached >= DESIRED || !MemoryManager.CAN_ALLOC); // Forced to clean
       }
 
+      cleaned += offheap._cleaned;
+      freed += offheap._freed;
+      io_ns += offheap._io_ns;
       String s1 = "Cleaner pass took: "+PrettyPrint.msecs(System.currentTimeMillis()-now,true)+
                   ", spilled "+PrettyPrint.bytes(cleaned)+" in "+PrettyPrint.usecs(io_ns>>10);
       h = Histo.current(true); // Force a new histogram
       MemoryManager.set_goals("postclean",false);
       // No logging if under memory pressure: can deadlock the cleaner thread
-      String s2 = h+" diski_o="+PrettyPrint.bytes(cleaned)+", freed="+(freed>>20)+"M, DESIRED="+(DESIRED>>20)+"M";
+      String s2 = h+" diski_o="+PrettyPrint.bytes(cleaned)+", freed="+(freed>>20)+"M, DESIRED="+(DESIRED>>20)+"M"+
+                  (MemoryManager.offHeapEnabled() ? ", offheap="+(h._offheap>>20)+"M" : "");
       if( MemoryManager.canAlloc() ) Log.debug(s1,s2);
       else                           System.err.println(s1+"\n"+s2);
       // For testing thread
@@ -204,6 +220,51 @@ class Cleaner extends Thread {
   }
 
 
+  // Off-heap tier work of one Cleaner pass.  Cold home Chunks are moved
+  // off-heap while the tier has room; once its usage is past the high-water
+  // mark, off-heap Chunks are paged out to disk (written straight from the
+  // off-heap region) and dropped from the tier, which makes room for the
+  // next cold Chunks.
+  static final class OffHeapPass {
+    long _offheap;              // Off-heap tier usage, tracked as we move Chunks in and out
+    boolean _diskFull;
+    long _cleaned, _freed, _io_ns;
+    OffHeapPass( long offheap, boolean diskFull ) { _offheap = offheap; _diskFull = diskFull; }
+
+    // Returns true if the Value was handled by the off-heap tier, false if
+    // the regular spilling applies.
+    boolean clean( Value val, Key key, boolean isChunk, boolean force ) {
+      byte[] m = val.rawMem();
+      Object p = val.rawPOJO();
+      if( val.rawOffHeap() != null && m == null && p == null ) {
+        if( _offheap <= MemoryManager.offHeapHighWater() || _diskFull ) return true;
+        if( !val.isPersisted() ) {
+          long now_ns = System.nanoTime();
+          try { val.storePersist(); }
+          catch( FileNotFoundException fnfe ) { return true; } // Racing key delete/remove
+          catch( IOException e ) {
+            Log.warn("Disk swapping of off-heap chunks failed! " + e.getMessage());
+            _diskFull = true;
+            return true;
+          }
+          if( val.isPersisted() ) _cleaned += val._max;
+          _io_ns += System.nanoTime() - now_ns;
+        }
+        if( val.freeOffHeap() ) _offheap -= val._max;
+        return true;
+      }
+      // Under pressure, move cold home Chunks off-heap rather than writing
+      // them to disk and dropping them.
+      if( isChunk && force && m != null && !val.isPersisted() && key.home() &&
+          _offheap + val._max <= MemoryManager.OFF_HEAP_MAX && val.moveOffHeap() ) {
+        _offheap += val._max;
+        _freed += val._max;
+        return true;
+      }
+      return false;
+    }
+  }
+
   // Histogram class
   static class Histo {
     // Current best histogram
@@ -226,6 +287,7 @@ class Cleaner extends Thread {
     // built nor blocking for one being in-progress.
     static long cached() { return H._cached; }
     static long swapped(){ return H._swapped;}
+    static long offheap(){ return H._offheap;}
 
     final long[] _hs = new long[128];
     long _oldest; // Time of the oldest K/V discovered this pass
@@ -235,6 +297,7 @@ class Cleaner extends Thread {
     long _total;  // Total data in local K/V
     long _when;   // When was this histogram computed
     long _swapped;// On-disk stuff
+    long _offheap;// Off-heap tier stuff; not part of the cached (heap) amount
     Value _vold;  // For assertions: record the oldest Value
     boolean _clean; // Was "clean" K/V when built?
 
@@ -250,6 +313,7 @@ class Cleaner extends Thread {
       long cached = 0; // Total K/V cached in ram
       long total = 0;  // Total K/V in local node
       long swapped=0;  // Total K/V persisted
+      long offheap=0;  // Total K/V held off-heap
       long oldest = Long.MAX_VALUE; // K/V with the longest time since being touched
       Value vold = null;
       // Start the walk at slot 2, because slots 0,1 hold meta-data
@@ -262,6 +326,7 @@ class Cleaner extends Thread {
         if( val.isNull() ) { Value.STORE_get(val._key); continue; } // Another flavor of NULL
         total += val._max;
         if( val.isPersisted() ) swapped += val._max;
+        if( val.rawOffHeap() != null ) offheap += val._max;
         int len = 0;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
@@ -284,6 +349,7 @@ class Cleaner extends Thread {
       _cached = cached; // Total cached; NOTE: larger than sum of histogram buckets
       _total = total;   // Total used data
       _swapped = swapped;
+      _offheap = offheap;
       _oldest = oldest; // Oldest seen in this pass
       _vold = vold;
       _clean = clean && _dirty==Long.MAX_VALUE; // Looks like a clean K/V the whole time?
@@ -4,10 +4,15 @@ import jsr166y.CountedCompleter;
 import jsr166y.ForkJoinPool;
 import water.fvec.*;
 import water.util.DistributedException;
+import water.util.Log;
 import water.util.PrettyPrint;
 import water.fvec.Vec.VectorGroup;
+import water.nbhm.NonBlockingHashMap;
 
 import java.util.Arrays;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Map/Reduce style distributed computation.
@@ -185,6 +190,94 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** Used to invoke profiling.  Call as: <code>new MRTask().profile().doAll();*/
   public T profile() { _profile = new MRProfile(this); return (T)this; }
 
+  /** A node is a straggler once it has taken this many times as long as the
+   *  nodes done so far took for as many chunks (their median time per chunk),
+   *  and at least SPECULATION_MIN_MS */
+  static int SPECULATION_FACTOR = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mrtask.speculation_factor", 3); // not final so tests can switch it
+  static int SPECULATION_MIN_MS = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mrtask.speculation_min_ms", 1000); // not final so tests can switch it
+
+  /** Speculative execution, see {@link #speculative()} */
+  protected boolean _speculative;
+  private int _specHome = -1;            // Backup copies: index of the straggler whose chunks are mapped here
+  private Key _specKey;                  // Copies sent by a speculating task: finds the running copy to stop it
+  transient private Speculation _spec;   // Speculating top-level task: the requests to the other nodes
+  transient private AtomicBoolean _specStop; // Shared by the local copies, set once the result is not needed
+  private static final NonBlockingHashMap<Key,AtomicBoolean> SPEC_RUNNING = new NonBlockingHashMap<>();
+
+  /** Speculative execution of straggling nodes.  The calling node sends the
+   *  task to every other node directly (instead of along the usual tree), so
+   *  it hears from each node on its own.  Once at least half of the nodes are
+   *  done, a node that is still busy well past the time the others took for
+   *  as many chunks (see SPECULATION_FACTOR) gets its chunks mapped again by a
+   *  node that is done, reading them remotely; whichever result comes first is
+   *  kept and the other copy is told to skip its remaining chunks.  Needs at
+   *  least two other nodes.  Call as:
+   *  <code>new MRTask().speculative().doAll(fr);</code>
+   *
+   *  <p>Only for tasks over a Frame without output Vecs whose result comes from
+   *  map and reduce alone: map must not modify the input chunks or have other
+   *  side effects, and nothing may be collected in setupLocal/closeLocal, since
+   *  the chunks of a straggler can be mapped twice and the result of one of
+   *  the two copies is dropped.  Ignored for other tasks. */
+  public T speculative() { _speculative = true; return self(); }
+
+  private boolean speculates() {
+    return _speculative && !_stealable && _fr != null && _output_types == null && !_run_local && !H2O.ARGS.client;
+  }
+
+  /** Chunks are mapped in batches by a single F/J task (rather than forking one
+   *  task per chunk) when the maps so far say the batch takes less than this
+   *  many ns; 0 turns batching off */
+  static final long BATCH_NS = Long.getLong(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mrtask.batch_ns", 100000);
+  transient private MapCost _mapCost;      // Time spent in map calls on this node, shared by all copies
+
+  // Measured cost of the map calls of a task on a node, racy
+  private static final class MapCost {
+    private volatile long _ns, _rows;
+    private volatile int _chunks;
+    void add( long ns, int rows ) { _ns += ns;  _rows += rows;  _chunks++; }
+    // Expected time to map the given rows, from the maps so far (if enough of them)
+    long expectedNs( long rows ) {
+      long ns = _ns, r = _rows;
+      if( _chunks < 4 || BATCH_NS == 0 ) return Long.MAX_VALUE;
+      return r == 0 ? 0 : (long)((double)ns / r * rows);
+    }
+  }
+
+  /** Most chunks a node takes from another node at once */
+  static final int STEAL_BATCH = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mrtask.steal_batch", 8);
+
+  /** Work stealing, see {@link #stealable()} */
+  protected boolean _stealable;
+  private Key _stealKey;                    // Same on all nodes, finds the queue of a running task
+  transient private StealQueue _stealQueue; // Unstarted local chunks of a stealing task on this node
+  private static final NonBlockingHashMap<Key,StealQueue> STEAL_QUEUES = new NonBlockingHashMap<>();
+
+  /** Work stealing across nodes for skewed workloads.  The local chunks of
+   *  each node go into a queue drained by one worker per CPU; a node whose
+   *  queue is empty takes unstarted chunks from the end of the queue of
+   *  another node still busy with its own, fetches them in bulk (see
+   *  {@link BulkChunkFetch}) and maps them.  Call as:
+   *  <code>new MRTask().stealable().doAll(fr);</code>
+   *
+   *  <p>Only for tasks over a Frame without output Vecs whose map does not
+   *  modify the input chunks: a chunk may be mapped on any node, and its
+   *  result reaches the caller through the reduce tree of that node.  Each
+   *  map call still gets its own copy of the task.  Ignored for other tasks;
+   *  takes precedence over {@link #speculative()}. */
+  public T stealable() { _stealable = true; return self(); }
+
+  private boolean steals() { return _stealable && _fr != null && _output_types == null && !_run_local && !H2O.ARGS.client; }
+
+  /** Replica-aware scheduling: node mapping each chunk of a Frame whose Vecs
+   *  are replicated, see {@link ChunkReplicas}; null to map chunks on their
+   *  home node */
+  private short[] _placement;
+
+  private boolean placesOnReplicas() {
+    return _fr != null && _output_types == null && !_run_local && !_stealable && !speculates();
+  }
+
   /** Get the resulting Frame from this invoked MRTask.  <b>This Frame is not
    *  in the DKV.</b> AppendableVec instances are closed into Vec instances,
    *  which then appear in the DKV.
@@ -519,6 +612,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         if(v.isVolatile())v.preWriting();
     }
     _topLocal = true;
+    if( _stealable && _stealKey == null ) _stealKey = Key.make(); // Top-level call, remote copies inherit it
+    if( _topGlobal ) _placement = placesOnReplicas() ? ChunkReplicas.place(_fr.vecs()) : null; // Remote copies inherit it
     // Check for global vs local work
     int selfidx = selfidx();
     int nlo = subShift(selfidx);
@@ -528,7 +623,15 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // Run remote IF:
     // - Not forced to run local (no remote jobs allowed) AND
     // - - There's remote work, or Client mode (always remote work)
-    if( (!_run_local) && ((nlo+1 < _nhi) || H2O.ARGS.client) ) {
+    if( _specKey != null ) {    // A copy sent by a speculating task, may be stopped
+      _specStop = new AtomicBoolean();
+      SPEC_RUNNING.put(_specKey, _specStop);
+    }
+    if( speculates() && _topGlobal && nlo+1 < _nhi ) {
+      if(_profile!=null) _profile._rpcLstart = _profile._rpcRstart = System.currentTimeMillis();
+      _spec = new Speculation(nlo+1, _nhi); // One request per node instead of the tree
+      if(_profile!=null) _profile._rpcRdone = System.currentTimeMillis();
+    } else if( (!_run_local) && ((nlo+1 < _nhi) || H2O.ARGS.client) ) {
       if(_profile!=null) _profile._rpcLstart = System.currentTimeMillis();
       _nleft = remote_compute(H2O.ARGS.client ? nlo : nlo+1,nmid);
       if(_profile!=null) _profile._rpcRstart = System.currentTimeMillis();
@@ -543,6 +646,12 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       _lo = 0;  _hi = _fr.numCols()==0 ? 0 : _fr.anyVec().nChunks(); // Do All Chunks
       // get the Vecs from the K/V store, to avoid racing fetches from the map calls
       _fr.vecs();
+      if( steals() && _hi > 0 ) { // Workers take the local chunks from a queue, see stealWork
+        _stealQueue = new StealQueue(_fr.anyVec(), _hi);
+        STEAL_QUEUES.put(_stealKey, _stealQueue);
+        _lo = 0;  _hi = H2O.NUMCPUS;
+      }
+      _mapCost = new MapCost();
     } else if( _keys != null ) {    // Else doing a set of Keys
       _lo = 0;  _hi = _keys.length; // Do All Keys
     }
@@ -581,7 +690,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   @Override public final void compute2() {
     assert _left == null && _rite == null && _res == null;
     if(_profile!=null) _profile._mapstart = System.currentTimeMillis();
-    if( (_hi-_lo) >= 2 ) { // Multi-chunk case: just divide-and-conquer to 1 chunk
+    if( (_hi-_lo) >= 2 && !batch() ) { // Multi-chunk case: just divide-and-conquer to 1 chunk
       final int mid = (_lo+_hi)>>>1; // Mid-point
       _left = copyAndInit();
       _rite = copyAndInit();
@@ -603,71 +712,204 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         _res = self();        // Save results since called map() at least once!
         if(_profile!=null) _profile._closestart = System.currentTimeMillis();
       }
+    } else if( _stealQueue != null ) { // Worker of a stealing task
+      stealWork();
+    } else if( _hi - _lo >= 2 ) { // Frame, batch of cheap chunks
+      mapBatch();
     } else if( _hi > _lo ) {    // Frame, Single chunk?
-      Vec v0 = _fr.anyVec();
-      if( _run_local || v0.chunkKey(_lo).home() ) { // And chunk is homed here?
-        assert(_run_local || !H2O.ARGS.client) : "Client node should not process any keys in MRTask!";
+      mapChunk();
+    }
+    if(_profile!=null)
+      _profile._mapdone = System.currentTimeMillis();
+    tryComplete();
+  }
 
-        // Make decompression chunk headers for these chunks
-        Vec vecs[] = _fr.vecs();
-        Chunk bvs[] = new Chunk[vecs.length];
-        NewChunk [] appendableChunks = null;
-        for( int i=0; i<vecs.length; i++ )
-          if( vecs[i] != null ) {
-            assert _run_local || vecs[i].chunkKey(_lo).home()
-              : "Chunk="+_lo+" v0="+v0+", k="+v0.chunkKey(_lo)+"   v["+i+"]="+vecs[i]+", k="+vecs[i].chunkKey(_lo);
-            bvs[i] = vecs[i].chunkForChunkIdx(_lo);
-          }
-
-        if(_output_types != null) {
-          final VectorGroup vg = vecs[0].group();
-          _appendables = new AppendableVec[_output_types.length];
-          appendableChunks = new NewChunk[_output_types.length];
-          for(int i = 0; i < _appendables.length; ++i) {
-            _appendables[i] = new AppendableVec(vg.vecKey(_vid+i),_output_types[i]);
-            appendableChunks[i] = _appendables[i].chunkForChunkIdx(_lo);
-          }
+  // Map chunk _lo if it is homed (or placed) here
+  private void mapChunk() {
+    Vec v0 = _fr.anyVec();
+    if( _specStop != null && _specStop.get() ) return; // Result not needed anymore
+    if( _run_local || mapsHere(_lo) ) { // And chunk is homed here?
+      assert(_run_local || !H2O.ARGS.client) : "Client node should not process any keys in MRTask!";
+
+      // Make decompression chunk headers for these chunks
+      Vec vecs[] = _fr.vecs();
+      Chunk bvs[] = new Chunk[vecs.length];
+      NewChunk [] appendableChunks = null;
+      if( _specHome >= 0 ) {    // Backup of a straggler, read its chunks without caching them here
+        Chunk[][] chks = BulkChunkFetch.fetch(vecs, new int[]{_lo});
+        for( int i=0; i<vecs.length; i++ ) bvs[i] = chks[i][0];
+      } else for( int i=0; i<vecs.length; i++ )
+        if( vecs[i] != null ) {     // A replica when placed here, see ChunkReplicas
+          assert _run_local || _placement != null || mapsHere(vecs[i].chunkKey(_lo))
+            : "Chunk="+_lo+" v0="+v0+", k="+v0.chunkKey(_lo)+"   v["+i+"]="+vecs[i]+", k="+vecs[i].chunkKey(_lo);
+          bvs[i] = vecs[i].chunkForChunkIdx(_lo);
         }
-        // Call all the various map() calls that apply
-        if(_profile!=null)
-          _profile._userstart = System.currentTimeMillis();
-
-        int num_fr_vecs = _fr.vecs().length;
-        int num_outputs = _output_types == null? 0 : _output_types.length;
-        if (num_outputs == 0) {
-          if (num_fr_vecs == 1) map(bvs[0]);
-          else if (num_fr_vecs == 2) map(bvs[0], bvs[1]);
-          else if (num_fr_vecs == 3) map(bvs[0], bvs[1], bvs[2]);
-          map(bvs);
-        }
-        else if (num_outputs == 1) {  // convenience versions for cases with single output.
-          assert appendableChunks != null;
-          if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0]);
-          else if (num_fr_vecs == 2) map(bvs[0], bvs[1], appendableChunks[0]);
-          // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0]);
-          map(bvs, appendableChunks[0]);
-        }
-        else if (num_outputs == 2) {  // convenience versions for cases with 2 outputs (e.g split).
-          assert appendableChunks != null;
-          if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0], appendableChunks[1]);
-          // else if (fr_vecs_length == 2) map(bvs[0], bvs[1], appendableChunks[0], appendableChunks[1]);
-          // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0], appendableChunks[1]);
-          map(bvs, appendableChunks[0], appendableChunks[1]);
+
+      if(_output_types != null) {
+        final VectorGroup vg = vecs[0].group();
+        _appendables = new AppendableVec[_output_types.length];
+        appendableChunks = new NewChunk[_output_types.length];
+        for(int i = 0; i < _appendables.length; ++i) {
+          _appendables[i] = new AppendableVec(vg.vecKey(_vid+i),_output_types[i]);
+          appendableChunks[i] = _appendables[i].chunkForChunkIdx(_lo);
         }
-        if (num_outputs >= 0)
-          map(bvs, appendableChunks);
-
-        _res = self();          // Save results since called map() at least once!
-        // Further D/K/V put any new vec results.
-        if(_profile!=null)
-          _profile._closestart = System.currentTimeMillis();
-        for( Chunk bv : bvs )  bv.close(_lo,_fs);
-        if( _output_types != null) for(NewChunk nch:appendableChunks)nch.close(_lo, _fs);
+      }
+      // Call all the various map() calls that apply
+      if(_profile!=null)
+        _profile._userstart = System.currentTimeMillis();
+
+      long start = System.nanoTime();
+      callMaps(bvs, appendableChunks);
+      if( _mapCost != null ) _mapCost.add(System.nanoTime() - start, bvs[0] == null ? 0 : bvs[0]._len);
+
+      _res = self();          // Save results since called map() at least once!
+      // Further D/K/V put any new vec results.
+      if(_profile!=null)
+        _profile._closestart = System.currentTimeMillis();
+      for( Chunk bv : bvs )  bv.close(_lo,_fs);
+      if( _output_types != null) for(NewChunk nch:appendableChunks)nch.close(_lo, _fs);
+    }
+  }
+
+  // Should the chunks [_lo,_hi) be mapped one after another by this task
+  // instead of forking further?  Yes if the maps measured so far say they take
+  // less than BATCH_NS altogether, so the fork-join overhead would dominate.
+  private boolean batch() {
+    if( _mapCost == null || _stealQueue != null ) return false;
+    long[] espc = _fr.anyVec().espc();
+    return _mapCost.expectedNs(espc[_hi] - espc[_lo]) < BATCH_NS;
+  }
+
+  // Map the chunks [_lo,_hi), each on its own copy as if forked, reduced into _res
+  private void mapBatch() {
+    if(_profile!=null) _profile._userstart = System.currentTimeMillis();
+    for( int cidx=_lo; cidx<_hi; cidx++ ) {
+      T t = copyAndInit();
+      MRTask<T> m = t;
+      m._lo = cidx;  m._hi = cidx+1;
+      m._res = null;
+      m.mapChunk();
+      if( m._res == null ) continue;
+      if( _res == null ) _res = t;
+      else _res.reduce4(t);
+    }
+    if(_profile!=null) _profile._closestart = System.currentTimeMillis();
+  }
+
+  // Call all the various map() calls that apply
+  private void callMaps( Chunk[] bvs, NewChunk[] appendableChunks ) {
+    int num_fr_vecs = _fr.vecs().length;
+    int num_outputs = _output_types == null? 0 : _output_types.length;
+    if (num_outputs == 0) {
+      if (num_fr_vecs == 1) map(bvs[0]);
+      else if (num_fr_vecs == 2) map(bvs[0], bvs[1]);
+      else if (num_fr_vecs == 3) map(bvs[0], bvs[1], bvs[2]);
+      map(bvs);
+    }
+    else if (num_outputs == 1) {  // convenience versions for cases with single output.
+      assert appendableChunks != null;
+      if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0]);
+      else if (num_fr_vecs == 2) map(bvs[0], bvs[1], appendableChunks[0]);
+      // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0]);
+      map(bvs, appendableChunks[0]);
+    }
+    else if (num_outputs == 2) {  // convenience versions for cases with 2 outputs (e.g split).
+      assert appendableChunks != null;
+      if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0], appendableChunks[1]);
+      // else if (fr_vecs_length == 2) map(bvs[0], bvs[1], appendableChunks[0], appendableChunks[1]);
+      // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0], appendableChunks[1]);
+      map(bvs, appendableChunks[0], appendableChunks[1]);
+    }
+    if (num_outputs >= 0)
+      map(bvs, appendableChunks);
+  }
+
+  // Worker of a stealing task: maps chunks from the local queue, then chunks
+  // stolen from other nodes, each on its own copy of the task reduced into _res
+  private void stealWork() {
+    if(_profile!=null) _profile._userstart = System.currentTimeMillis();
+    final Vec[] vecs = _fr.vecs();
+    int cidx;
+    while( true ) {
+      while( (cidx = _stealQueue.next()) >= 0 ) {
+        Chunk[] bvs = new Chunk[vecs.length];
+        for( int i=0; i<vecs.length; i++ )
+          if( vecs[i] != null ) bvs[i] = vecs[i].chunkForChunkIdx(cidx);
+        mapCopy(cidx, bvs);
+      }
+      int[] stolen = steal();
+      if( stolen == null ) break;
+      Chunk[][] chks = BulkChunkFetch.fetch(vecs, stolen);
+      for( int j=0; j<stolen.length; j++ ) {
+        Chunk[] bvs = new Chunk[vecs.length];
+        for( int i=0; i<vecs.length; i++ ) bvs[i] = chks[i][j];
+        mapCopy(stolen[j], bvs);
       }
     }
-    if(_profile!=null)
-      _profile._mapdone = System.currentTimeMillis();
-    tryComplete();
+    if(_profile!=null) _profile._closestart = System.currentTimeMillis();
+  }
+
+  private void mapCopy( int cidx, Chunk[] bvs ) {
+    T t = copyAndInit();
+    MRTask<T> m = t;            // One map call per copy, as without stealing
+    m._lo = cidx;  m._hi = cidx+1;
+    m.callMaps(bvs, null);
+    for( Chunk bv : bvs ) if( bv != null ) bv.close(cidx,_fs);
+    if( _res == null ) _res = t;
+    else _res.reduce4(t);
+  }
+
+  // Take unstarted chunks of this task from another node, starting with the
+  // last node that had some; null once no node has any left
+  private int[] steal() {
+    final StealQueue q = _stealQueue;
+    final int n = H2O.CLOUD.size();
+    final int self = H2O.SELF.index();
+    for( int k=0; k<n; k++ ) {
+      int node = (q._victim + k) % n;
+      if( node == self || q._drained[node] ) continue;
+      int[] cidxs = new RPC<>(H2O.CLOUD._memary[node], new StealChunks(_stealKey, STEAL_BATCH)).call().get()._cidxs;
+      if( cidxs != null ) { q._victim = node; return cidxs; }
+      q._drained[node] = true;  // Done with its own chunks, or not started (and will do them itself)
+    }
+    return null;
+  }
+
+  // Unstarted chunks homed on this node; the workers take them from the head,
+  // other nodes steal from the tail
+  private static final class StealQueue {
+    private final int[] _cidxs;
+    private int _head, _tail;
+    final boolean[] _drained = new boolean[H2O.CLOUD.size()]; // Nodes with nothing left to steal, racy
+    volatile int _victim = H2O.SELF.index() + 1;             // Node to try first
+
+    StealQueue( Vec v0, int nchunks ) {
+      int[] cidxs = new int[nchunks];
+      for( int c=0; c<nchunks; c++ )
+        if( v0.chunkKey(c).home() ) cidxs[_tail++] = c;
+      _cidxs = cidxs;
+    }
+    synchronized int next() { return _head < _tail ? _cidxs[_head++] : -1; }
+    // Half of the chunks left (rounded up), at most max; null if none
+    synchronized int[] steal( int max ) {
+      int n = Math.min(max, (_tail - _head + 1) >> 1);
+      if( n == 0 ) return null;
+      _tail -= n;
+      return Arrays.copyOfRange(_cidxs, _tail, _tail + n);
+    }
+  }
+
+  // Runs on a victim node, takes chunks off its queue for the thief
+  private static class StealChunks extends DTask<StealChunks> {
+    final Key _task;
+    final int _max;
+    int[] _cidxs;
+    StealChunks( Key task, int max ) { super(H2O.GET_KEY_PRIORITY); _task = task; _max = max; }
+    @Override public void compute2() {
+      StealQueue q = STEAL_QUEUES.get(_task);
+      _cidxs = q == null ? null : q.steal(_max);
+      tryComplete();
+    }
   }
 
   /** OnCompletion - reduce the left and right into self.  Called internal by
@@ -706,10 +948,14 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   // Block for other queued pending tasks.
   // Copy any final results into 'this', such that a return of 'this' has the results.
   private void postLocal0() {
+    if( _stealQueue != null ) STEAL_QUEUES.remove(_stealKey); // All local work done, nothing left to steal
     closeLocal();               // User's node-local cleanup
     if(_profile!=null) _profile._closeLocalDone = System.currentTimeMillis();
+    if( _specKey != null ) SPEC_RUNNING.remove(_specKey);
     reduce3(_nleft);            // Reduce global results from neighbors.
     reduce3(_nrite);
+    if( _spec != null )         // All in by now, see Speculation
+      for( T mrt : _spec._res ) reduce3(mrt);
     if(_profile!=null) _profile._remoteBlkDone = System.currentTimeMillis();
     _fs.blockForPending();      // Block any pending user tasks
     if(_profile!=null) _profile._localBlkDone = System.currentTimeMillis();
@@ -738,13 +984,188 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // blocks.  Not much can be asserted there.
     if(_profile!=null)
       _profile.gather(mrt._profile, rpc.size_rez());
+    reduce3(mrt);
+  }
+  private void reduce3( T mrt ) {
     // Unlike reduce2, results are in mrt directly not mrt._res.
-    if( mrt._nhi != -1L ) {     // Any results at all?
+    if( mrt != null && mrt._nhi != -1L ) { // Any results at all?
       if( _res == null ) _res = mrt;
       else _res.reduce4(mrt);
     }
   }
 
+  // Is the chunk with this key mapped by this task: homed here, or, for a
+  // speculative backup, homed on the straggler it stands in for
+  private boolean mapsHere( Key k ) {
+    return _specHome < 0 ? k.home() : k.home_node().index() == _specHome;
+  }
+
+  // Is chunk cidx mapped by this task: placed here on a replica, else as above
+  private boolean mapsHere( int cidx ) {
+    return _placement != null ? _placement[cidx] == H2O.SELF.index() : mapsHere(_fr.anyVec().chunkKey(cidx));
+  }
+
+  // Requests of a speculating top-level task, one per remote node.  Driven by
+  // their completions, plus a timer for the time a pending node becomes a
+  // straggler.  The top-level task has one pending count per node, released
+  // by the first copy to answer for it.
+  private final class Speculation {
+    final int _first, _end;     // Remote nodes, shifted indices
+    final long _start = System.currentTimeMillis();
+    final int[] _chunks;        // Chunks homed on each node
+    final long[] _ms;           // Time taken by the nodes that answered themselves, 0 if not (yet)
+    final RPC<T>[] _rpcs, _backups;
+    final Key[] _keys, _backupKeys;
+    final int[] _backupNodes;
+    final T[] _res;             // Result for each node, once in
+    final boolean[] _in;
+    int _nin;                   // Nodes in
+    int _nextIdle;              // Round robin over the nodes done
+    TimerTask _timer;           // Next straggler check, if any
+
+    @SuppressWarnings("unchecked")
+    Speculation( int first, int end ) {
+      _first = first;  _end = end;
+      int n = H2O.CLOUD.size();
+      _chunks = new int[n];
+      Vec v0 = _fr.anyVec();
+      if( v0 != null )
+        for( int c = 0; c < v0.nChunks(); c++ ) _chunks[subShift(v0.chunkKey(c).home_node().index())]++;
+      _ms = new long[n];
+      _rpcs = new RPC[n];  _backups = new RPC[n];
+      _keys = new Key[n];  _backupKeys = new Key[n];
+      _backupNodes = new int[n];
+      _res = (T[])new MRTask[n];
+      _in = new boolean[n];
+      addToPendingCount(end - first);
+      for( int i = first; i < end; i++ ) {
+        _keys[i] = Key.make();
+        _rpcs[i] = send(i, i, _keys[i], false);
+      }
+    }
+
+    // Send a copy of the task to node 'to', mapping the chunks of node 'of'
+    // (shifted indices); the node forwards it to nobody
+    private RPC<T> send( final int of, int to, Key key, final boolean backup ) {
+      T mrt = copyAndInit();
+      MRTask<T> m = mrt;
+      m.setCompleter(null);     // Completes through the callback below
+      m._nhi = (short)(to+1);
+      m._specKey = key;
+      if( backup ) m._specHome = addShift(of);
+      return new RPC<>(H2O.CLOUD._memary[addShift(to)], mrt).addCompleter(new H2O.H2OCallback<T>() {
+        @Override public void callback( T res ) { in(of, res, backup); }
+        @Override public boolean onExceptionalCompletion( Throwable ex, CountedCompleter caller ) {
+          failed(of, ex, backup);
+          return true;
+        }
+      }).call();
+    }
+
+    private void in( int i, T res, boolean backup ) {
+      synchronized( this ) {
+        if( _in[i] ) return;    // The other copy was faster
+        _in[i] = true;  _nin++;
+        _res[i] = res;
+        if( backup ) stop(i, _rpcs, _keys, addShift(i));
+        else {
+          _ms[i] = Math.max(1, System.currentTimeMillis() - _start);
+          stop(i, _backups, _backupKeys, _backupNodes[i]);
+        }
+        check();
+      }
+      tryComplete();            // Node i is in
+    }
+
+    private void failed( int i, Throwable ex, boolean backup ) {
+      synchronized( this ) {
+        if( _in[i] ) return;
+        if( backup ) {          // The node itself may still answer
+          Log.warn(MRTask.this.getClass().getSimpleName() + ": backup of node " + addShift(i) + " failed", ex);
+          return;
+        }
+      }
+      completeExceptionally(ex);
+    }
+
+    // Drop the result of the losing copy and tell it to skip its remaining chunks
+    private void stop( int i, RPC<T>[] rpcs, Key[] keys, int node ) {
+      RPC<T> rpc = rpcs[i];
+      if( rpc == null ) return;
+      rpc.cancel(true);
+      rpcs[i] = null;
+      new RPC<>(H2O.CLOUD._memary[node], new StopSpeculation(keys[i])).call();
+    }
+
+    // Back up the stragglers, with the nodes done so far as the yardstick;
+    // otherwise check again when the next pending node would become one
+    private synchronized void check() {
+      if( _timer != null ) { _timer.cancel(); _timer = null; }
+      if( _nin == _end - _first ) return;
+      double[] perChunk = new double[_end - _first];
+      int n = 0;
+      for( int i = _first; i < _end; i++ )
+        if( _ms[i] > 0 ) perChunk[n++] = (double)_ms[i] / Math.max(1, _chunks[i]);
+      if( 2*n < _end - _first ) return; // Wait for more nodes
+      Arrays.sort(perChunk, 0, n);
+      double median = perChunk[n/2];
+      long now = System.currentTimeMillis(), next = Long.MAX_VALUE;
+      for( int i = _first; i < _end; i++ ) {
+        if( _in[i] || _backups[i] != null ) continue;
+        long due = _start + Math.max(SPECULATION_MIN_MS, (long)(SPECULATION_FACTOR * median * Math.max(1, _chunks[i])));
+        if( due <= now ) backup(i, now);
+        else next = Math.min(next, due);
+      }
+      if( next < Long.MAX_VALUE ) {
+        _timer = new TimerTask() { @Override public void run() { check(); } };
+        SpeculationTimer.TIMER.schedule(_timer, next - now);
+      }
+    }
+
+    // Map the chunks of straggler i on a node that answered for itself
+    private void backup( int i, long now ) {
+      int n = _end - _first;
+      for( int k = 0; k < n; k++ ) {
+        int j = _first + (_nextIdle + k) % n;
+        if( _ms[j] == 0 ) continue;
+        _nextIdle = (j - _first + 1) % n;
+        Log.info(MRTask.this.getClass().getSimpleName() + ": node " + addShift(i) + " is still busy after " +
+                (now - _start) + "ms, mapping its " + _chunks[i] + " chunks on node " + addShift(j));
+        _backupKeys[i] = Key.make();
+        _backupNodes[i] = addShift(j);
+        _backups[i] = send(i, j, _backupKeys[i], true);
+        return;
+      }
+    }
+
+    // Give up on all the copies still running
+    synchronized void cancel() {
+      if( _timer != null ) { _timer.cancel(); _timer = null; }
+      for( int i = _first; i < _end; i++ ) {
+        _in[i] = true;
+        stop(i, _rpcs, _keys, addShift(i));
+        stop(i, _backups, _backupKeys, _backupNodes[i]);
+      }
+    }
+  }
+
+  // Started on first use
+  private static final class SpeculationTimer {
+    static final Timer TIMER = new Timer("MRTask-speculation", true);
+  }
+
+  // Runs on a node with a copy of a speculating task whose result is not
+  // needed anymore, the copy skips its remaining chunks
+  private static class StopSpeculation extends DTask<StopSpeculation> {
+    final Key _task;
+    StopSpeculation( Key task ) { super(H2O.GET_KEY_PRIORITY); _task = task; }
+    @Override public void compute2() {
+      AtomicBoolean stop = SPEC_RUNNING.get(_task);
+      if( stop != null ) stop.set(true);
+      tryComplete();
+    }
+  }
+
   /** Call user's reduction.  Also reduce any new AppendableVecs.  Called
    *  internal by F/J.  Not expected to be user-called.  */
   void reduce4( T mrt ) {
@@ -768,6 +1189,9 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    *  exceptions (which is the F/J default).  Called internal by F/J.  Not
    *  expected to be user-called.  */
   @Override public final boolean onExceptionalCompletion( Throwable ex, CountedCompleter caller ) {
+    if( _stealQueue != null ) STEAL_QUEUES.remove(_stealKey);
+    if( _specKey != null ) SPEC_RUNNING.remove(_specKey);
+    if( _spec != null ) _spec.cancel();
     self_cancel1();
     // Block for completion - we don't want the work, but we want all the
     // workers stopped before we complete this task.  Otherwise this task quits
@@ -790,6 +1214,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     x._topLocal = false;  // Not a top job
     x._nleft = x._nrite = null;
     x. _left = x. _rite = null;
+    ((MRTask<T>)x)._spec = null; // Only the top task speculates
     x._fs = _fs;
     if( _profile!=null )  x._profile = new MRProfile(this);
     else                  x._profile = null;    // Clone needs its own profile
@@ -8,6 +8,7 @@ import water.util.PrettyPrint;
 import javax.management.Notification;
 import javax.management.NotificationEmitter;
 import java.lang.management.*;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -314,6 +315,23 @@ abstract public class MemoryManager {
   public static float  [] arrayCopyOf( float [] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
   public static double [] arrayCopyOf( double[] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
 
+  // Off-heap tier for frozen Chunk bytes.  Cold Chunks are moved here by the
+  // Cleaner instead of being held in the Java heap, so the GC does not have to
+  // keep scanning bytes which never change once written.  The Cleaner pages
+  // these regions to disk once the usage is past 3/4 of the budget.  Disabled
+  // (zero budget) by default; enable with -Dsys.ai.h2o.mem.offheap.max=<bytes>.
+  static volatile long OFF_HEAP_MAX = Long.getLong(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mem.offheap.max", 0);
+  static boolean offHeapEnabled() { return OFF_HEAP_MAX > 0; }
+  static long offHeapHighWater() { return OFF_HEAP_MAX - (OFF_HEAP_MAX>>2); }
+
+  // Allocates an off-heap region, or returns null if the JVM cannot provide
+  // more direct memory.  The budget itself is enforced by the Cleaner, which
+  // is the only caller and which knows the current off-heap usage.
+  static ByteBuffer mallocOffHeap( int bytes ) {
+    try { return ByteBuffer.allocateDirect(bytes); }
+    catch( OutOfMemoryError e ) { return null; } // Direct memory exhausted (-XX:MaxDirectMemorySize)
+  }
+
   // Memory available for tasks (we assume 3/4 of the heap is available for tasks)
   static final AtomicLong _taskMem = new AtomicLong(MEM_MAX-(MEM_MAX>>2));
 
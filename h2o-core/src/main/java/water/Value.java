@@ -1,6 +1,7 @@
 package water;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import jsr166y.ForkJoinPool;
@@ -94,6 +95,54 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   private volatile Freezable _pojo;
   Freezable rawPOJO() { return _pojo; }
 
+  // ---
+  // An off-heap copy of the frozen _mem bytes of a Chunk, or null.  Filled in
+  // by the Cleaner in place of the heap forms when the off-heap tier is
+  // enabled (see MemoryManager), and cleared when the Chunk is reloaded onto
+  // the heap or paged out to disk.
+  private volatile ByteBuffer _offHeap;
+  final ByteBuffer rawOffHeap() { return _offHeap; }
+  /** Read-only view of the off-heap copy of the serialized bytes, or null if
+   *  there is none.  Used by persistence backends to write directly from the
+   *  off-heap region without copying it back onto the Java heap.
+   *  @return off-heap bytes, or null */
+  public final ByteBuffer offHeapOrNull() {
+    ByteBuffer off = _offHeap; // Read once!
+    return off == null ? null : off.asReadOnlyBuffer();
+  }
+
+  // Move the frozen bytes of a Chunk off-heap and drop both heap forms.  Only
+  // called by the Cleaner.  Returns false if there is nothing to move, or if
+  // no direct memory could be had.
+  boolean moveOffHeap() {
+    byte[] mem = _mem;          // Read once!
+    if( mem == null || _offHeap != null ) return false;
+    ByteBuffer off = MemoryManager.mallocOffHeap(mem.length);
+    if( off == null ) return false;
+    off.put(mem).flip();
+    _offHeap = off; // Publish before dropping the heap forms: racing readers always find a copy
+    _mem = null;
+    _pojo = null;
+    return true;
+  }
+  // Drop the off-heap copy once it is safely on disk, or once the Value is
+  // deleted (storePersist does not write deleted Values).  Returns false, and
+  // keeps the copy, otherwise.  Only called by the Cleaner.
+  boolean freeOffHeap() {
+    if( !isPersisted() && !isDeleted() ) return false;
+    _offHeap = null;
+    return true;
+  }
+  // Copy the off-heap bytes back onto the heap; the Chunk is hot again, so
+  // release the off-heap copy.
+  private byte[] loadOffHeap( ByteBuffer off ) {
+    byte[] mem = MemoryManager.malloc1(off.capacity());
+    off.duplicate().get(mem);   // Private position; racing readers may copy at the same time
+    _mem = mem;                 // Set heap form before clearing the off-heap one
+    _offHeap = null;
+    return mem;
+  }
+
   /** Invalidate byte[] cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freeMem() {
@@ -117,11 +166,14 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     if( pojo != null )          // Has the POJO, make raw bytes
       return _mem = pojo.asBytes();
     if( _max == 0 ) return (_mem = new byte[0]);
+    ByteBuffer off = _offHeap;  // Read once!
+    if( off != null )           // Has an off-heap copy, cheaper than the disk
+      return loadOffHeap(off);
     return (_mem = loadPersist());
   }
   // Just an empty shell of a Value, no local data but the Value is "real".
   // Any attempt to look at the Value will require a remote fetch.
-  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && !isPersisted(); }
+  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && _offHeap == null && !isPersisted(); }
 
   /** The FAST path get-POJO as an {@link Iced} subclass - final method for
    *  speed.  Will (re)build the POJO from the _mem array.  Never returns NULL.
@@ -363,7 +415,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   // and the normal serializer then might ship over a null instead of the
   // intended byte[].  Also, the value is NOT on the deserialize'd machines disk
   public final AutoBuffer write_impl( AutoBuffer ab ) {
-    return ab.put1(_persist).put2(_type).putA1(memOrLoad());
+    return ab.put1(_persist).put2(_type).putA1z(memOrLoad());
   }
   // Custom serializer: set _max from _mem length; set replicas & timestamp.
   public final Value read_impl(AutoBuffer bb) {
@@ -371,7 +423,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     // Set persistence backend but... strip off saved-to-disk bit
     _persist = (byte)(bb.get1()&BACKEND_MASK);
     _type = (short) bb.get2();
-    _mem = bb.getA1();
+    _mem = bb.getA1z();
     _max = _mem.length;
     assert _max < MAX : "Value size=0x"+Integer.toHexString(_max)+" during read is larger than "+Integer.toHexString(MAX)+", type: "+TypeMap.className(_type);
     _pojo = null;
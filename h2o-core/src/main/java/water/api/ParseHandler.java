@@ -24,6 +24,7 @@ class ParseHandler extends Handler {
                                       new ParseWriter.ParseErr[0], parse.chunk_size,
                                       parse.decrypt_tool != null ? parse.decrypt_tool.key() : null, parse.skipped_columns,
                                       parse.custom_non_data_line_markers != null ? parse.custom_non_data_line_markers.getBytes(): null);
+    setup.setRowFilter(parse.row_filter);
 
     if (parse.source_frames == null) throw new H2OIllegalArgumentException("Data for Frame '" + parse.destination_frame.name + "' is not available. Please check that the path is valid (for all H2O nodes).'");
     Key[] srcs = new Key[parse.source_frames.length];
@@ -35,6 +36,9 @@ class ParseHandler extends Handler {
             && ((setup.getSkippedColumns() != null) && (setup.getSkippedColumns().length >0)))
       throw new H2OIllegalArgumentException("Parser: skipped_columns are not supported for SVMlight or Avro parsers.");
 
+    if (setup.getRowFilter() != null && !setup.getParseType().name().toLowerCase().equals("parquet"))
+      throw new H2OIllegalArgumentException("Parser: row_filter is only supported for Parquet files.");
+
     if (setup.getSkippedColumns() !=null &&
             ((setup.get_parse_columns_indices()==null) || (setup.get_parse_columns_indices().length==0)))
       throw new H2OIllegalArgumentException("Parser:  all columns in the file are skipped and no H2OFrame" +
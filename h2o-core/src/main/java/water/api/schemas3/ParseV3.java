@@ -38,6 +38,10 @@ public class ParseV3 extends RequestSchemaV3<Iced, ParseV3> {
   @API(help="Skipped columns indices", direction=API.Direction.INOUT)
   public int[] skipped_columns;
 
+  @API(help="Only rows satisfying all the given comparisons of a column with a constant are parsed, eg. " +
+          "\"age >= 21 & state == 'CA'\" (Parquet only)", direction=API.Direction.INPUT)
+  public String row_filter;
+
   @API(help="Domains for categorical columns")
   public String[][] domains;
 
@@ -0,0 +1,136 @@
+package water.fvec;
+
+import water.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches a set of chunks with as few requests as possible, for tasks that read a run of remote chunks of many Vecs
+ * at once (see {@link RebalanceDataSet}).
+ *
+ * {@link DKV#get} makes one {@link TaskGetKey} round trip per chunk, caches the copy in the local store and makes the
+ * home node track it as a replica. Here the remote chunks are grouped by home node and each node packs the raw bytes
+ * of up to -Dsys.ai.h2o.chunk.bulk_fetch_bytes (default 64MB) of them into a single response; the nodes are asked in
+ * parallel. The receiver wraps the bytes into Chunks directly (the compressed bytes are the chunk) and does not
+ * install them in the store, so the copies live only as long as the caller holds them. Chunks already in the local
+ * store (homed here or cached) are used as they are.
+ */
+public class BulkChunkFetch {
+  // not final so tests can switch it; read by the requesting node and sent along with each request
+  static int MAX_BATCH_BYTES = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "chunk.bulk_fetch_bytes", 64 << 20);
+
+  // Chunks received from other nodes by this node
+  private static final AtomicLong RECEIVED = new AtomicLong();
+
+  private BulkChunkFetch() {}
+
+  /** Number of chunks this node received from other nodes so far */
+  public static long receivedChunks() { return RECEIVED.get(); }
+
+  /**
+   * @return chunks cidxs[j] of every vec, res[i][j] is chunk cidxs[j] of vecs[i] (null for null vecs)
+   */
+  public static Chunk[][] fetch(Vec[] vecs, int[] cidxs) {
+    Chunk[][] res = new Chunk[vecs.length][cidxs.length];
+    Map<H2ONode, List<int[]>> remote = new LinkedHashMap<>();
+    for (int i = 0; i < vecs.length; ++i)
+      for (int j = 0; j < cidxs.length && vecs[i] != null; ++j) {
+        Key k = vecs[i].chunkKey(cidxs[j]);
+        if (k.home() || Value.STORE_get(k) != null) {
+          res[i][j] = vecs[i].chunkForChunkIdx(cidxs[j]);
+        } else {
+          List<int[]> ids = remote.get(k.home_node());
+          if (ids == null) remote.put(k.home_node(), ids = new ArrayList<>());
+          ids.add(new int[]{i, j});
+        }
+      }
+    if (remote.isEmpty()) return res;
+    final int n = remote.size();
+    H2ONode[] nodes = remote.keySet().toArray(new H2ONode[n]);
+    Key[][] keys = new Key[n][];
+    int[][][] ids = new int[n][][];
+    for (int k = 0; k < n; ++k) {
+      ids[k] = remote.get(nodes[k]).toArray(new int[0][]);
+      keys[k] = new Key[ids[k].length];
+      for (int t = 0; t < ids[k].length; ++t)
+        keys[k][t] = vecs[ids[k][t][0]].chunkKey(cidxs[ids[k][t][1]]);
+    }
+    @SuppressWarnings("unchecked")
+    RPC<GetChunks>[] rpcs = new RPC[n];
+    int[] done = new int[n];
+    final int maxBytes = MAX_BATCH_BYTES;
+    for (int k = 0; k < n; ++k)
+      rpcs[k] = new RPC<>(nodes[k], new GetChunks(keys[k], maxBytes)).call();
+    boolean pending = true;
+    while (pending) {
+      pending = false;
+      for (int k = 0; k < n; ++k) {
+        if (rpcs[k] == null) continue;
+        GetChunks gc = rpcs[k].get();
+        for (int t = 0; t < gc._mems.length; ++t) {
+          int[] id = ids[k][done[k] + t];
+          Vec v = vecs[id[0]];
+          int cidx = cidxs[id[1]];
+          res[id[0]][id[1]] = gc._mems[t] == null
+              ? v.chunkForChunkIdx(cidx) // not a plain value on its home, take the usual path
+              : wrap(v, cidx, gc._types[t], gc._mems[t]);
+        }
+        done[k] += gc._mems.length;
+        RECEIVED.addAndGet(gc._mems.length);
+        rpcs[k] = done[k] < keys[k].length
+            ? new RPC<>(nodes[k], new GetChunks(Arrays.copyOfRange(keys[k], done[k], keys[k].length), maxBytes)).call()
+            : null;
+        pending |= rpcs[k] != null;
+      }
+    }
+    return res;
+  }
+
+  private static Chunk wrap(Vec v, int cidx, short type, byte[] mem) {
+    Chunk c = ((Chunk) TypeMap.newFreezable(type)).reloadFromBytes(mem);
+    c._vec = v;
+    c._start = v.chunk2StartElem(cidx);
+    c._cidx = cidx;
+    return c;
+  }
+
+  // Executes on the home node of the keys, returns the bytes of a prefix of them
+  private static class GetChunks extends DTask<GetChunks> {
+    Key[] _keys;     // sent by the client, cleared by the home node
+    final int _maxBytes;
+    byte[][] _mems;  // raw chunks of the first _mems.length keys, null for keys without a plain local value
+    short[] _types;
+
+    GetChunks(Key[] keys, int maxBytes) {
+      super(H2O.GET_KEY_PRIORITY);
+      _keys = keys;
+      _maxBytes = maxBytes;
+    }
+
+    @Override public void compute2() {
+      List<byte[]> mems = new ArrayList<>();
+      List<Short> types = new ArrayList<>();
+      long bytes = 0;
+      for (Key k : _keys) {
+        assert k.home();
+        Value v = Value.STORE_get(k);
+        byte[] mem = v == null ? null : v.memOrLoad();
+        int len = mem == null ? 0 : mem.length;
+        if (!mems.isEmpty() && bytes + len > _maxBytes) break;
+        bytes += len;
+        mems.add(mem);
+        types.add(mem == null ? 0 : (short) v.type());
+      }
+      _mems = mems.toArray(new byte[0][]);
+      _types = new short[types.size()];
+      for (int i = 0; i < _types.length; ++i) _types[i] = types.get(i);
+      _keys = null; // not part of the result
+      tryComplete();
+    }
+  }
+}
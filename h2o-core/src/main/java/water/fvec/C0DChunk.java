@@ -3,6 +3,7 @@ package water.fvec;
 import water.parser.BufferedString;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -94,4 +95,28 @@ public class C0DChunk extends Chunk {
     return v;
   }
 
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals,0,to-from,Double.isNaN(_con)?NA:_con);
+    return vals;
+  }
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    Arrays.fill(vals,0,to-from,Double.isNaN(_con)?NA:(long)_con);
+    return vals;
+  }
+  @Override public int getNAs(long [] naBits, int from, int to){
+    if(!Double.isNaN(_con)) {
+      clearBits(naBits,to-from);
+      return 0;
+    }
+    setBits(naBits,to-from);
+    return to-from;
+  }
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    if(_con == 0 || Double.isNaN(_con)) return 0;
+    for(int i = from; i < to; ++i) {
+      ids[i-from] = i;
+      vals[i-from] = _con;
+    }
+    return to-from;
+  }
 }
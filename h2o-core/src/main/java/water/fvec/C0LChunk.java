@@ -2,6 +2,8 @@ package water.fvec;
 
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 /**
  * The constant 'long' column.
  */
@@ -57,4 +59,25 @@ public class C0LChunk extends Chunk {
         v.addValue(_con);
     return v;
   }
+
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals,0,to-from,_con);
+    return vals;
+  }
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    Arrays.fill(vals,0,to-from,_con);
+    return vals;
+  }
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    return 0;
+  }
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    if(_con == 0) return 0;
+    for(int i = from; i < to; ++i) {
+      ids[i-from] = i;
+      vals[i-from] = _con;
+    }
+    return to-from;
+  }
 }
@@ -81,4 +81,34 @@ public class C1Chunk extends Chunk {
   @Override
   public boolean hasFloat() {return false;}
 
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; i++) {
+      int x = 0xFF&_mem[i+_OFF];
+      vals[i-from] = (x == _NA)?NA:x;
+    }
+    return vals;
+  }
+
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    int nas = 0;
+    for(int i = from; i < to; i++)
+      if((0xFF&_mem[i+_OFF]) == _NA) {
+        setBit(naBits,i-from);
+        nas++;
+      }
+    return nas;
+  }
+
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    for(int i = from; i < to; i++) {
+      int x = 0xFF&_mem[i+_OFF];
+      if(x != 0 && x != _NA) {
+        ids[k] = i;
+        vals[k++] = x;
+      }
+    }
+    return k;
+  }
 }
@@ -49,4 +49,24 @@ public class C1NChunk extends Chunk {
     return v;
   }
 
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; ++i)
+      vals[i-from] = _mem[i]&0xFF;
+    return vals;
+  }
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    return 0;
+  }
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    for(int i = from; i < to; ++i) {
+      int x = _mem[i]&0xFF;
+      if(x != 0) {
+        ids[k] = i;
+        vals[k++] = x;
+      }
+    }
+    return k;
+  }
 }
@@ -107,5 +107,36 @@ public final class C1SChunk extends CSChunk {
     return v;
   }
 
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; i++) {
+      int x = 0xFF&_mem[_OFF+i];
+      vals[i-from] = (x == C1Chunk._NA)?NA:get8(x);
+    }
+    return vals;
+  }
 
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    int nas = 0;
+    for(int i = from; i < to; i++)
+      if((0xFF&_mem[_OFF+i]) == C1Chunk._NA) {
+        setBit(naBits,i-from);
+        nas++;
+      }
+    return nas;
+  }
+
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    for(int i = from; i < to; i++) {
+      int x = 0xFF&_mem[_OFF+i];
+      if(x == C1Chunk._NA) continue;
+      double d = getD(x,C1Chunk._NA);
+      if(d != 0) {
+        ids[k] = i;
+        vals[k++] = d;
+      }
+    }
+    return k;
+  }
 }
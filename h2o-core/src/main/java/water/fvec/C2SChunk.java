@@ -95,4 +95,37 @@ public class C2SChunk extends CSChunk {
       v.addValue(getD(getMantissa(i),C2Chunk._NA));
     return v;
   }
+
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; i++) {
+      int x = getMantissa(i);
+      vals[i-from] = (x == C2Chunk._NA)?NA:get8(x);
+    }
+    return vals;
+  }
+
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    int nas = 0;
+    for(int i = from; i < to; i++)
+      if(getMantissa(i) == C2Chunk._NA) {
+        setBit(naBits,i-from);
+        nas++;
+      }
+    return nas;
+  }
+
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    for(int i = from; i < to; i++) {
+      int x = getMantissa(i);
+      if(x == C2Chunk._NA) continue;
+      double d = getD(x,C2Chunk._NA);
+      if(d != 0) {
+        ids[k] = i;
+        vals[k++] = d;
+      }
+    }
+    return k;
+  }
 }
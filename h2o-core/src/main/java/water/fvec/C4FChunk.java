@@ -63,4 +63,50 @@ public class C4FChunk extends Chunk {
     assert _mem.length == _len <<2;
   }
   @Override public boolean hasFloat() {return true;}
+
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    for(int i = from; i < to; i++) {
+      float f = UnsafeUtils.get4f(_mem, i<<2);
+      vals[i-from] = Float.isNaN(f)?NA:f;
+    }
+    return vals;
+  }
+
+  @Override public double [] getDoubles(double [] vals, int [] ids){
+    int k = 0;
+    for(int i:ids)
+      vals[k++] = UnsafeUtils.get4f(_mem, i<<2);
+    return vals;
+  }
+
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; i++) {
+      float d = UnsafeUtils.get4f(_mem,i<<2);
+      vals[i-from] = Float.isNaN(d)?NA:(long)d;
+    }
+    return vals;
+  }
+
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    int nas = 0;
+    for(int i = from; i < to; i++)
+      if(Float.isNaN(UnsafeUtils.get4f(_mem,i<<2))) {
+        setBit(naBits,i-from);
+        nas++;
+      }
+    return nas;
+  }
+
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    for(int i = from; i < to; i++) {
+      float d = UnsafeUtils.get4f(_mem,i<<2);
+      if(d != 0 && !Float.isNaN(d)) {
+        ids[k] = i;
+        vals[k++] = d;
+      }
+    }
+    return k;
+  }
 }
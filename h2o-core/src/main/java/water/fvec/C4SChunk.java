@@ -22,6 +22,13 @@ public class C4SChunk extends CSChunk {
     }
   }
 
+  @Override protected final long at8_impl( int i ) {
+    int x = getMantissa(i);
+    if( x==C4Chunk._NA )
+      throw new IllegalArgumentException("at8_abs but value is missing");
+    return get8(x);
+  }
+
   private int getMantissa(int i){return UnsafeUtils.get4(_mem,_OFF+4*i);}
   private void setMantissa(int i, int j){
     UnsafeUtils.set4(_mem,(i*4)+_OFF,j);
@@ -89,4 +96,37 @@ public class C4SChunk extends CSChunk {
       v.addValue(getD(getMantissa(i),C4Chunk._NA));
     return v;
   }
+
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; i++) {
+      int x = getMantissa(i);
+      vals[i-from] = (x == C4Chunk._NA)?NA:get8(x);
+    }
+    return vals;
+  }
+
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    int nas = 0;
+    for(int i = from; i < to; i++)
+      if(getMantissa(i) == C4Chunk._NA) {
+        setBit(naBits,i-from);
+        nas++;
+      }
+    return nas;
+  }
+
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    for(int i = from; i < to; i++) {
+      int x = getMantissa(i);
+      if(x == C4Chunk._NA) continue;
+      double d = getD(x,C4Chunk._NA);
+      if(d != 0) {
+        ids[k] = i;
+        vals[k++] = d;
+      }
+    }
+    return k;
+  }
 }
@@ -71,4 +71,34 @@ public class C8DChunk extends Chunk {
     return vals;
   }
 
+  @Override public long [] getLongs(long [] vals, int from, int to, long NA){
+    for(int i = from; i < to; i++) {
+      double d = UnsafeUtils.get8d(_mem,i<<3);
+      vals[i-from] = Double.isNaN(d)?NA:(long)d;
+    }
+    return vals;
+  }
+
+  @Override public int getNAs(long [] naBits, int from, int to){
+    clearBits(naBits,to-from);
+    int nas = 0;
+    for(int i = from; i < to; i++)
+      if(Double.isNaN(UnsafeUtils.get8d(_mem,i<<3))) {
+        setBit(naBits,i-from);
+        nas++;
+      }
+    return nas;
+  }
+
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    for(int i = from; i < to; i++) {
+      double d = UnsafeUtils.get8d(_mem,i<<3);
+      if(d != 0 && !Double.isNaN(d)) {
+        ids[k] = i;
+        vals[k++] = d;
+      }
+    }
+    return k;
+  }
 }
@@ -52,7 +52,8 @@ public abstract class CSChunk extends Chunk {
     return x == NA?naImpute:_isDecimal?(_bias + x)/_scale:(_bias + x)*_scale;
   }
 
-  protected final long get8(int x) { return (_bias + x)*(long)(_scale); }
+  // Integral scales multiply exactly in longs, fractional values are truncated as by at8
+  protected final long get8(int x) { return hasFloat() ? (long)getD(x,Integer.MIN_VALUE) : (_bias + x)*(long)(_scale); }
 
   @Override public final boolean hasFloat(){ return _isDecimal || _scale < 1; }
 
@@ -90,4 +90,7 @@ public class CXFChunk extends CXIChunk {
   }
   @Override
   public boolean hasFloat(){return true;}
+
+  @Override protected boolean isStoredNA(int x){return Double.isNaN(getVal(x));}
+  @Override protected double getStoredDouble(int x){return getVal(x);}
 }
@@ -217,4 +217,49 @@ public class CXIChunk extends Chunk {
 
   @Override
   public boolean hasFloat(){return false;}
+
+  // Stored entries are the only non-zero (zero-sparse) or non-NA (NA-sparse) rows
+  @Override public int getNAs(long [] naBits, int from, int to){
+    int n = to-from;
+    int nas;
+    if(_isNA) {
+      setBits(naBits,n);
+      nas = n;
+    } else {
+      clearBits(naBits,n);
+      nas = 0;
+    }
+    int x = from == 0?_OFF: findOffset(from);
+    if(x < 0) x = -x-1;
+    for(int id; x < _mem.length && (id = getId(x)) < to; x += _elem_sz) {
+      boolean na = isStoredNA(x);
+      if(na == _isNA) continue;
+      int b = id-from;
+      if(na) {
+        naBits[b>>6] |= 1L << b;
+        nas++;
+      } else {
+        naBits[b>>6] &= ~(1L << b);
+        nas--;
+      }
+    }
+    return nas;
+  }
+
+  @Override public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    int k = 0;
+    int x = from == 0?_OFF: findOffset(from);
+    if(x < 0) x = -x-1;
+    for(int id; x < _mem.length && (id = getId(x)) < to; x += _elem_sz) {
+      double d = getStoredDouble(x);
+      if(d != 0 && !Double.isNaN(d)) {
+        ids[k] = id;
+        vals[k++] = d;
+      }
+    }
+    return k;
+  }
+
+  protected boolean isStoredNA(int x){return getVal(x) == _NAS[_val_sz];}
+  protected double getStoredDouble(int x){return getFVal(x);}
 }
@@ -3,6 +3,7 @@ package water.fvec;
 import water.*;
 import water.parser.BufferedString;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /** A compression scheme, over a chunk of data - a single array of bytes.
@@ -789,6 +790,41 @@ public abstract class Chunk extends Iced<Chunk> implements Vec.Holder {
   public int [] getIntegers(int [] vals, int from, int to, int NA){
     return processRows(new ChunkVisitor.IntAryVisitor(vals,NA),from,to).vals;
   }
+  /**
+   * Dense bulk interface, fetch integer values from the given range.
+   * Floating point values are truncated, same as {@link #at8(int)}.
+   * @param vals holds extracted values, length must be >= to-from
+   * @param NA value stored for missing rows
+   */
+  public long [] getLongs(long [] vals, int from, int to, long NA){
+    return processRows(new ChunkVisitor.LongAryVisitor(vals,NA),from,to).vals;
+  }
+  /**
+   * Bulk NA mask of the given range, bit (i-from) of naBits is set iff row i is missing.
+   * @param naBits holds the mask, length must be >= (to-from+63)/64; words covering the range are overwritten
+   * @return number of missing rows in the range
+   */
+  public int getNAs(long [] naBits, int from, int to){
+    return processRows(new ChunkVisitor.NABitsVisitor(naBits,to-from),from,to).nas();
+  }
+  /**
+   * Sparse bulk interface over the given range, skips both zeros and NAs.
+   * @param vals holds extracted non-zero values, length must be >= to-from (or >= sparseLenZero() for sparse chunks)
+   * @param ids holds extracted chunk-relative row ids, same length as vals
+   * @return number of extracted elements
+   */
+  public int getNonZeroDoubles(double [] vals, int [] ids, int from, int to){
+    return processRows(new ChunkVisitor.NonZeroDoubleAryVisitor(vals,ids,from),from,to).len();
+  }
+
+  // NA bitmap helpers for the bulk interface
+  static void clearBits(long [] bits, int n) { Arrays.fill(bits,0,(n+63)>>6,0L); }
+  static void setBit(long [] bits, int i) { bits[i>>6] |= 1L << i; }
+  static void setBits(long [] bits, int n) {
+    int words = n >> 6;
+    Arrays.fill(bits,0,words,-1L);
+    if((n & 63) != 0) bits[words] = -1L >>> (64 - (n & 63));
+  }
   /**
    * Dense bulk interface, fetch values from the given ids
    * @param vals
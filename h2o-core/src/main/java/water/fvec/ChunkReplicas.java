@@ -0,0 +1,153 @@
+package water.fvec;
+
+import water.*;
+import water.nbhm.NonBlockingHashMap;
+import water.util.Log;
+import water.util.PrettyPrint;
+
+/**
+ * Copies of the chunks of a Frame on more than their home node, and the placement of MRTask maps on them.
+ *
+ * {@link #replicate} gives every Vec of a Frame a replication factor k: the chunks homed on node h are also held by
+ * the k-1 nodes after it (h+1, ... around the cloud).  The copies are DKV cache entries, so the home node keeps them
+ * coherent: a write to a chunk invalidates its copies, and the next read on a holder fetches and keeps it again.
+ * Unlike other cached values, the Cleaner does not drop them under memory pressure, so each extra copy costs as
+ * much memory as the Frame itself.  They go away with {@link #unreplicate} or when the Vecs are removed.  The home
+ * stays the single owner of a chunk: losing a node still loses the cloud, copies make reads cheaper and let work
+ * move off busy nodes.
+ *
+ * An {@link MRTask} over a Frame whose Vecs are all replicated, without output Vecs, maps each chunk on one of its
+ * holders (see {@link #place}), picked by the F/J queue depth the nodes report in their heartbeats.  Its map may
+ * still write to the input chunks: the writes go to the home node as for any other node.  Work stealing and
+ * speculative tasks keep their own scheduling.
+ */
+public class ChunkReplicas {
+
+  private ChunkReplicas() {}
+
+  // Replication factor of the replicated Vecs, the same on all nodes
+  private static final NonBlockingHashMap<Key, Integer> REPLICATION = new NonBlockingHashMap<>();
+
+  /**
+   * Hold every chunk of fr on k nodes (k includes the home node, at most the cloud size; k &lt;= 1 drops the
+   * copies).  Blocks until all copies are made.
+   * @return bytes copied over the whole cloud
+   */
+  public static long replicate(Frame fr, int k) {
+    k = Math.min(k, H2O.CLOUD.size());
+    if (k <= 1) { unreplicate(fr); return 0; }
+    if (fr.numCols() == 0) return 0;
+    long bytes = new ReplicateTask(fr.vecs(), k).doAllNodes()._bytes;
+    Log.info("Replicated chunks of frame " + fr._key + " on " + k + " nodes, " + PrettyPrint.bytes(bytes) + " copied");
+    return bytes;
+  }
+
+  /** Stop holding copies of the chunks of fr, the Cleaner may drop the copies made so far */
+  public static void unreplicate(Frame fr) {
+    new ReplicateTask(fr.vecs(), 1).doAllNodes();
+  }
+
+  /** Replication factor of the Vec, 1 if it is not replicated */
+  public static int replication(Vec v) {
+    Integer k = v == null ? null : REPLICATION.get(v._key);
+    return k == null ? 1 : k;
+  }
+
+  // Replication factor shared by all the Vecs, 1 if any of them is not replicated
+  static int replication(Vec[] vecs) {
+    int k = Integer.MAX_VALUE;
+    for (Vec v : vecs) k = Math.min(k, replication(v));
+    return vecs.length == 0 ? 1 : k;
+  }
+
+  // Vec was removed, called on every node (see Vec.bulk_remove)
+  static void forget(Key vecKey) {
+    REPLICATION.remove(vecKey);
+  }
+
+  // How many nodes after the home node of the chunk the node is (0 for the home node itself)
+  static int distance(int node, Key chunkKey) {
+    int n = H2O.CLOUD.size();
+    return (node - chunkKey.home_node().index() + n) % n;
+  }
+
+  /** Is the chunk a copy this node holds for a replicated Vec (not the home copy); kept by the Cleaner */
+  public static boolean isReplica(Key chunkKey) {
+    if (REPLICATION.isEmpty() || H2O.ARGS.client || chunkKey.home()) return false;
+    Integer k = REPLICATION.get(Vec.getVecKey(chunkKey));
+    return k != null && distance(H2O.SELF.index(), chunkKey) < k;
+  }
+
+  /**
+   * Nodes to map the chunks of a task over the given Vecs on, null if they are not all replicated.
+   * @return node index by chunk
+   */
+  public static short[] place(Vec[] vecs) {
+    int k = replication(vecs);
+    if (k <= 1) return null;
+    H2ONode[] nodes = H2O.CLOUD.members();
+    double[] load = new double[nodes.length];
+    double[] cost = new double[nodes.length];
+    for (int n = 0; n < nodes.length; n++) {
+      HeartBeat hb = nodes[n]._heartbeat;
+      int cpus = hb == null || hb._cpus_allowed <= 0 ? 1 : hb._cpus_allowed;
+      int queued = 0;
+      if (hb != null && hb._fjqueue != null)
+        for (short q : hb._fjqueue) queued += q;
+      load[n] = (double) queued / cpus;
+      cost[n] = 1.0 / cpus;
+    }
+    Vec v0 = null;
+    for (Vec v : vecs) if (v != null) { v0 = v; break; }
+    return v0 == null ? null : place(v0, k, load, cost);
+  }
+
+  /**
+   * Greedy placement: each chunk goes to the holder that would be done first, counting the work queued on it
+   * (load, in the time of one chunk) and the chunks given to it so far (cost of one chunk on each node).
+   */
+  static short[] place(Vec v0, int k, double[] load, double[] cost) {
+    int n = load.length;
+    load = load.clone();
+    short[] nodes = new short[v0.nChunks()];
+    for (int c = 0; c < nodes.length; c++) {
+      int home = v0.chunkKey(c).home_node().index();
+      int best = home;
+      for (int d = 1; d < k; d++) {
+        int node = (home + d) % n;
+        if (load[node] + cost[node] < load[best] + cost[best]) best = node;
+      }
+      load[best] += cost[best];
+      nodes[c] = (short) best;
+    }
+    return nodes;
+  }
+
+  private static class ReplicateTask extends MRTask<ReplicateTask> {
+    final Vec[] _vecs;
+    final int _k;
+    long _bytes;
+
+    ReplicateTask(Vec[] vecs, int k) { _vecs = vecs; _k = k; }
+
+    @Override public void setupLocal() {
+      for (Vec v : _vecs)
+        if (_k > 1) REPLICATION.put(v._key, _k);
+        else REPLICATION.remove(v._key);
+      if (_k <= 1 || H2O.ARGS.client) return;
+      final int self = H2O.SELF.index();
+      final int nchunks = _vecs[0].nChunks();
+      for (int pass = 0; pass < 2; ++pass) // issue all fetches first, then block for them
+        for (Vec v : _vecs)
+          for (int c = 0; c < nchunks; ++c) {
+            Key key = v.chunkKey(c);
+            int d = distance(self, key);
+            if (d == 0 || d >= _k) continue;
+            if (pass == 0) DKV.prefetch(key);
+            else _bytes += DKV.get(key).memOrLoad().length;
+          }
+    }
+
+    @Override public void reduce(ReplicateTask mrt) { _bytes += mrt._bytes; }
+  }
+}
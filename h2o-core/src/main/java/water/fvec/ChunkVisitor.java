@@ -193,4 +193,95 @@ public abstract class ChunkVisitor {
       _k = kmax;
     }
   }
+  /**
+   * Simple chunk visitor for extracting rows from chunks into a long array.
+   */
+  public static final class LongAryVisitor extends ChunkVisitor {
+    public final long [] vals;
+    private int _k = 0;
+    private final long _na;
+    LongAryVisitor(long [] vals){this(vals,C8Chunk._NA);}
+    LongAryVisitor(long [] vals, long NA){this.vals = vals; _na = NA;}
+    @Override
+    void addValue(int val) {vals[_k++] = val;}
+    @Override
+    void addValue(long val) {vals[_k++] = val;}
+    @Override
+    void addValue(double val) {vals[_k++] = Double.isNaN(val)?_na:(long)val;}
+    @Override
+    void addZeros(int zeros) {
+      int k = _k;
+      int kmax = k +zeros;
+      for(;k < kmax; k++)vals[k] = 0;
+      _k = kmax;
+    }
+    @Override
+    void addNAs(int nas) {
+      int k = _k;
+      int kmax = k + nas;
+      for(;k < kmax; k++)vals[k] = _na;
+      _k = kmax;
+    }
+  }
+  /**
+   * Chunk visitor collecting NA positions into a bitmap, works for chunks of any type.
+   */
+  public static final class NABitsVisitor extends ChunkVisitor {
+    public final long [] bits;
+    private int _k = 0;
+    private int _nas = 0;
+    NABitsVisitor(long [] bits, int len){this.bits = bits; Chunk.clearBits(bits,len);}
+    public int nas(){return _nas;}
+    @Override
+    void addValue(BufferedString bs) {_k++;}
+    @Override
+    void addValue(long uuid_lo, long uuid_hi) {_k++;}
+    @Override
+    void addValue(int val) {_k++;}
+    @Override
+    void addValue(long val) {_k++;}
+    @Override
+    void addValue(long m, int e) {_k++;}
+    @Override
+    void addValue(double val) {
+      if(Double.isNaN(val)) addNAs(1);
+      else _k++;
+    }
+    @Override
+    void addZeros(int zeros) {_k += zeros;}
+    @Override
+    void addNAs(int nas) {
+      int kmax = _k + nas;
+      for(int k = _k; k < kmax; k++) Chunk.setBit(bits,k);
+      _k = kmax;
+      _nas += nas;
+    }
+  }
+  /**
+   * Chunk visitor extracting non-zero, non-NA rows of a range into (id, value) pairs.
+   */
+  public static final class NonZeroDoubleAryVisitor extends ChunkVisitor {
+    public final double [] vals;
+    public final int [] ids;
+    private int _row;
+    private int _len;
+    NonZeroDoubleAryVisitor(double [] vals, int [] ids, int from){this.vals = vals; this.ids = ids; _row = from;}
+    public int len(){return _len;}
+    @Override
+    void addValue(int val) {addValue((double)val);}
+    @Override
+    void addValue(long val) {addValue((double)val);}
+    @Override
+    void addValue(double val) {
+      if(val != 0 && !Double.isNaN(val)) {
+        ids[_len] = _row;
+        vals[_len++] = val;
+      }
+      _row++;
+    }
+    @Override
+    void addZeros(int zeros) {_row += zeros;}
+    @Override
+    void addNAs(int nas) {_row += nas;}
+  }
 }
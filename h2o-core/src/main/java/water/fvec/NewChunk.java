@@ -474,6 +474,19 @@ public class NewChunk extends Chunk {
     }
     ++_len;
   }
+
+  /**
+   * Renumbers the categorical values of this chunk, value {@code v} becomes {@code map[v]}, NAs are kept.
+   * Used by the parse to store final categorical ids in place of the node-local ones before the chunk is compressed.
+   */
+  public void remapCategoricals(int[] map) {
+    if (_ms == null || _ds != null || _is != null) return; // nothing appended or not categorical values
+    if (isSparseZero()) cancel_sparse(); // implicit zeros would need to be remapped as well
+    for (int i = 0; i < _sparseLen; i++)
+      if (!isNA2(i)) _ms.set(i, map[(int) _ms.get(i)]);
+    _naCnt = -1; // zeros changed, re-run the rollups
+  }
+
   public void addNA() {
     if(!_sparseNA) {
       if (isString()) {
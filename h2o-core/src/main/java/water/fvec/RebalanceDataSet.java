@@ -5,8 +5,11 @@ import water.Futures;
 import water.H2O;
 import water.Key;
 import water.MRTask;
+import water.nbhm.NonBlockingHashMapLong;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  *  Created by tomasnykodym on 3/28/14.
@@ -99,20 +102,75 @@ public class RebalanceDataSet extends H2O.H2OCountedCompleter {
 
   public static class RebalanceTask extends MRTask<RebalanceTask> {
     final Vec [] _srcVecs;
+    // Source chunks fetched on this node, by source chunk index, shared by the local copies: a source chunk
+    // overlapping several destination chunks of the node is fetched once
+    private transient NonBlockingHashMapLong<SrcChunks> _fetched;
     public RebalanceTask(H2O.H2OCountedCompleter cmp, Vec... srcVecs){super(cmp);_srcVecs = srcVecs;}
 
     @Override public boolean logVerbose() { return false; }
 
-    private void rebalanceChunk(int i, Chunk c, NewChunk nc){
-      final Vec srcVec = _srcVecs[i];
+    @Override protected void setupLocal() { _fetched = new NonBlockingHashMapLong<>(); }
+    @Override protected void closeLocal() { _fetched = null; }
+
+    // The chunks of one source chunk index, for every column; filled in by the copy that fetches them
+    private static final class SrcChunks {
+      private Chunk[] _chks;
+      private RuntimeException _err;
+      synchronized void set(Chunk[] chks, RuntimeException err) { _chks = chks; _err = err; notifyAll(); }
+      synchronized Chunk[] get() {
+        boolean interrupted = false;
+        while( _chks == null && _err == null )
+          try { wait(); } catch( InterruptedException e ) { interrupted = true; }
+        if( interrupted ) Thread.currentThread().interrupt();
+        if( _err != null ) throw _err;
+        return _chks;
+      }
+    }
+
+    // Source chunks cidxs of every column (res[col][j] is chunk cidxs[j]), each fetched once on this node
+    private Chunk[][] srcChunks(int[] cidxs) {
+      Chunk[][] res = new Chunk[_srcVecs.length][cidxs.length];
+      SrcChunks[] entries = new SrcChunks[cidxs.length];
+      List<Integer> mine = new ArrayList<>(); // entries this copy fetches
+      for( int j = 0; j < cidxs.length; ++j ) {
+        SrcChunks e = new SrcChunks();
+        SrcChunks old = _fetched.putIfAbsent(cidxs[j], e);
+        entries[j] = old == null ? e : old;
+        if( old == null ) mine.add(j);
+      }
+      if( !mine.isEmpty() ) {
+        int[] fetch = new int[mine.size()];
+        for( int t = 0; t < fetch.length; ++t ) fetch[t] = cidxs[mine.get(t)];
+        Chunk[][] fetched;
+        try {
+          fetched = BulkChunkFetch.fetch(_srcVecs, fetch);
+        } catch( RuntimeException ex ) {
+          for( int j : mine ) entries[j].set(null, ex); // don't leave the other copies waiting
+          throw ex;
+        }
+        for( int t = 0; t < fetch.length; ++t ) {
+          Chunk[] chks = new Chunk[_srcVecs.length];
+          for( int c = 0; c < chks.length; ++c ) chks[c] = fetched[c][t];
+          entries[mine.get(t)].set(chks, null);
+        }
+      }
+      for( int j = 0; j < cidxs.length; ++j ) {
+        Chunk[] chks = entries[j].get();
+        for( int c = 0; c < res.length; ++c ) res[c][j] = chks[c];
+      }
+      return res;
+    }
+
+    // srcChunks are the source chunks firstSrc, firstSrc+1, ... of the column
+    private void rebalanceChunk(Chunk c, NewChunk nc, Chunk[] srcChunks, int firstSrc){
       final int N = c._len;
       int len = 0;
       int lastId = -1;
       while(N > len) {
-        Chunk srcRaw = srcVec.chunkForRow(c._start+len);
+        Chunk srcRaw = srcChunks[_srcVecs[0].elem2ChunkIdx(c._start+len) - firstSrc];
         assert lastId == -1 ||
                 lastId == srcRaw.cidx()-1 || // proceeded to the next chunk
-                srcVec.chunk2StartElem(lastId+1) == srcVec.chunk2StartElem(srcRaw.cidx()); // skipped bunch of empty chunks
+                _srcVecs[0].chunk2StartElem(lastId+1) == _srcVecs[0].chunk2StartElem(srcRaw.cidx()); // skipped bunch of empty chunks
         lastId = srcRaw.cidx();
         int off = (int)((c._start+len) - srcRaw._start);
         assert off >=0 && off < srcRaw._len;
@@ -123,8 +181,19 @@ public class RebalanceDataSet extends H2O.H2OCountedCompleter {
       nc.close(_fs);
     }
     @Override public void map(Chunk [] chks){
+      final Chunk c0 = chks[0];
+      if(c0._len == 0) {
+        for(Chunk c : chks) new NewChunk(c).close(_fs);
+        return;
+      }
+      // all source columns share the layout, fetch the chunks covering our rows for every column at once
+      int firstSrc = _srcVecs[0].elem2ChunkIdx(c0._start);
+      int lastSrc = _srcVecs[0].elem2ChunkIdx(c0._start + c0._len - 1);
+      int [] cidxs = new int[lastSrc - firstSrc + 1];
+      for(int i = 0; i < cidxs.length; ++i) cidxs[i] = firstSrc + i;
+      Chunk [][] srcChunks = srcChunks(cidxs);
       for(int c = 0; c < chks.length; ++c){
-        rebalanceChunk(c,chks[c],new NewChunk(chks[c]));
+        rebalanceChunk(chks[c],new NewChunk(chks[c]),srcChunks[c],firstSrc);
       }
     }
   }
@@ -1366,6 +1366,7 @@ public class Vec extends Keyed<Vec> {
       H2O.raw_remove(kc);
     }
     H2O.raw_remove(vkey);
+    ChunkReplicas.forget(vkey);
   }
 
   /** Write out K/V pairs */
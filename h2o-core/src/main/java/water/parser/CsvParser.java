@@ -1,11 +1,13 @@
 package water.parser;
 
 import org.apache.commons.lang.math.NumberUtils;
+import water.H2O;
 import water.Key;
 import water.fvec.FileVec;
 import water.fvec.Vec;
 import water.util.ArrayUtils;
 import water.util.StringUtils;
+import water.util.UnsafeUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
@@ -19,6 +21,8 @@ public class CsvParser extends Parser {
   private static final int GUESS_HEADER = ParseSetup.GUESS_HEADER;
   private static final int HAS_HEADER = ParseSetup.HAS_HEADER;
   private static final byte[] NON_DATA_LINE_MARKERS_DEFAULT = {'#'};
+  /** Lines of plain numbers skip the state machine, see {@link NumericLines} */
+  static final boolean NUMERIC_LINES = H2O.getSysBoolProperty("parse.csv_numeric_lines", true);
 
   private final byte[] _nonDataLineMarkers; 
 
@@ -90,6 +94,8 @@ public class CsvParser extends Parser {
       _setup.setParseColumnIndices(_setup.getNumberColumns(), _setup.getSkippedColumns());
     }
     int parseIndexNum = _setup._parse_columns_indices.length-1;
+    final NumericLines numericLines = NUMERIC_LINES && CHAR_SEPARATOR != CHAR_SPACE && !isEOL(CHAR_SEPARATOR) ?
+            new NumericLines(dout, forceable, colIndexNum, parseIndexNum) : null;
 MAIN_LOOP:
     while (true) {
       final boolean forcedCategorical = forceable && colIdx < _setup._column_types.length &&
@@ -221,6 +227,15 @@ MAIN_LOOP:
           continue MAIN_LOOP;
         // ---------------------------------------------------------------------
         case POSSIBLE_EMPTY_LINE:
+          if (numericLines != null && firstChunk) {
+            int eol = numericLines.parse(bits, offset);
+            if (eol >= 0) { // whole line parsed, continue from its end
+              offset = eol;
+              c = bits[offset];
+              state = (c == CHAR_CR) ? EXPECT_COND_LF : POSSIBLE_EMPTY_LINE;
+              break;
+            }
+          }
           if (isEOL(c)) {
             if (c == CHAR_CR)
               state = EXPECT_COND_LF;
@@ -516,6 +531,116 @@ MAIN_LOOP:
     return dout;
   }
 
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGHS = 0x8080808080808080L;
+  private static final long LFS = CHAR_LF * ONES;
+  private static final long CRS = CHAR_CR * ONES;
+  private static final long DOUBLE_QUOTES = CHAR_DOUBLE_QUOTE * ONES;
+  private static final long SINGLE_QUOTES = CHAR_SINGLE_QUOTE * ONES;
+
+  // Non-zero iff a byte of w is zero
+  private static long zeroByte(long w) { return (w - ONES) & ~w & HIGHS; }
+
+  /**
+   * Fast path for lines made only of plain numbers: [+-]digits[.digits] (at most 18 digits, so the number is exact)
+   * separated by single separators, no quotes, blanks, exponents or empty fields, ending within the chunk.  The end
+   * of the line is found 8 bytes at a time (SWAR), then the fields are parsed in a tight loop and go straight to
+   * {@link ParseWriter#addNumCol}, giving the same calls as the state machine would.  Anything else, or a column
+   * that is forced (or already turned) to a string or categorical, leaves the line to the state machine.
+   */
+  private final class NumericLines {
+    private final ParseWriter _dout;
+    private final boolean _forceable;
+    private final int _colIndexNum, _parseIndexNum;
+    private long[] _nums = new long[16];
+    private int[] _exps = new int[16];
+
+    NumericLines(ParseWriter dout, boolean forceable, int colIndexNum, int parseIndexNum) {
+      _dout = dout;
+      _forceable = forceable;
+      _colIndexNum = colIndexNum;
+      _parseIndexNum = parseIndexNum;
+    }
+
+    /** Parses the line starting at start, returns the offset of its CR/LF or -1 if the line was not touched */
+    int parse(byte[] bits, int start) {
+      int eol = lineEnd(bits, start);
+      if (eol <= start || ArrayUtils.contains(_nonDataLineMarkers, bits[start]))
+        return -1;
+      // Parse all the fields before adding any
+      int n = 0;
+      int i = start;
+      while (true) {
+        byte b = bits[i];
+        boolean neg = b == '-';
+        if (neg || b == '+') i++;
+        long num = 0;
+        int digits = 0;
+        int frac = -1;        // digits after the decimal separator, -1 if none
+        for (; i < eol; i++) {
+          b = bits[i];
+          if (b >= '0' && b <= '9') {
+            num = num * 10 + (b - '0');
+            digits++;
+            if (frac >= 0) frac++;
+          } else if (b == CHAR_DECIMAL_SEP && frac < 0) {
+            frac = 0;
+          } else break;
+        }
+        if (digits == 0 || digits > 18) return -1;
+        if (n == _nums.length) {
+          _nums = Arrays.copyOf(_nums, n << 1);
+          _exps = Arrays.copyOf(_exps, n << 1);
+        }
+        _nums[n] = neg ? -num : num;
+        _exps[n++] = frac < 0 ? 0 : -frac;
+        if (i == eol) break;
+        if (bits[i] != CHAR_SEPARATOR || ++i == eol) return -1; // something else, or an empty last field
+      }
+      // Same column bookkeeping as the state machine
+      int colIdx = 0, parsedColumnCounter = 0;
+      for (int k = 0; k < n; k++) {
+        if (forcedNonNumeric(colIdx, parsedColumnCounter) || _dout.isString(parsedColumnCounter)) return -1;
+        if ((colIdx <= _colIndexNum) && _keepColumns[colIdx++] && (parsedColumnCounter < _parseIndexNum))
+          parsedColumnCounter++;
+      }
+      colIdx = 0;
+      parsedColumnCounter = 0;
+      for (int k = 0; k < n; k++) {
+        if ((colIdx <= _colIndexNum) && _keepColumns[colIdx])
+          _dout.addNumCol(parsedColumnCounter, _nums[k], _exps[k]);
+        if ((colIdx <= _colIndexNum) && _keepColumns[colIdx++] && (parsedColumnCounter < _parseIndexNum))
+          parsedColumnCounter++;
+      }
+      _dout.newLine();
+      return eol;
+    }
+
+    private boolean forcedNonNumeric(int colIdx, int parsedColumnCounter) {
+      if (!_forceable || colIdx >= _setup._column_types.length) return false;
+      byte type = _setup._column_types[_setup._parse_columns_indices[parsedColumnCounter]];
+      return type == Vec.T_CAT || type == Vec.T_STR;
+    }
+
+    // Offset of the first CR/LF from start, -1 if there is a quote before it or no line end in bits
+    private int lineEnd(byte[] bits, int start) {
+      final boolean singleQuotes = _setup._single_quotes;
+      int i = start;
+      for (; i + 8 <= bits.length; i += 8) {
+        long w = UnsafeUtils.get8(bits, i);
+        long hits = zeroByte(w ^ LFS) | zeroByte(w ^ CRS) | zeroByte(w ^ DOUBLE_QUOTES);
+        if (singleQuotes) hits |= zeroByte(w ^ SINGLE_QUOTES);
+        if (hits != 0) break; // the byte loop below finds which one
+      }
+      for (; i < bits.length; i++) {
+        byte b = bits[i];
+        if (isEOL(b)) return i;
+        if (b == CHAR_DOUBLE_QUOTE || (singleQuotes && b == CHAR_SINGLE_QUOTE)) return -1;
+      }
+      return -1;
+    }
+  }
+
   @Override protected int fileHasHeader(byte[] bits, ParseSetup ps) {
     boolean hasHdr = true;
     String[] lines = getFirstLines(bits, ps._single_quotes, _nonDataLineMarkers);
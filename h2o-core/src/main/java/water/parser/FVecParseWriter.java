@@ -8,6 +8,8 @@ import water.fvec.Vec;
 import water.util.ArrayUtils;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /** Parsed data output specialized for fluid vecs.
@@ -27,6 +29,9 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
   private final Vec.VectorGroup _vg;
   private long _errCnt;
   int[] _parse_columns_indices;
+  private transient StreamingCategoricals _streamingCats;
+  // levels of the streamed columns this chunk added without a known global id, by node-local id
+  private transient Map<Integer, BufferedString>[] _newLevels;
 
   public FVecParseWriter(Vec.VectorGroup vg, int cidx, Categorical[] categoricals, byte[] ctypes, int chunkSize,
                          AppendableVec[] avs) {
@@ -111,6 +116,11 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
   }
   @Override public FVecParseWriter close(Futures fs){
     if( _nvs == null ) return this; // Might call close twice
+    if( _streamingCats != null ) { // store the final categorical ids
+      _streamingCats.resolve(_newLevels);
+      for(int i=0; i < _nvs.length; i++)
+        if( _streamingCats.isStreamed(i) ) _streamingCats.remap(i, _nvs[i]);
+    }
     for(int i=0; i < _nvs.length; i++) {
       _nvs[i].close(_cidx, fs);
       _nvs[i] = null; // free immediately, don't wait for all columns to close
@@ -119,7 +129,29 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
     return this;
   }
   @Override public FVecParseWriter nextChunk(){
-    return  new FVecParseWriter(_vg, _cidx+1, _categoricals, _ctypes, _chunkSize, _vecs, _parse_columns_indices);
+    return  new FVecParseWriter(_vg, _cidx+1, _categoricals, _ctypes, _chunkSize, _vecs, _parse_columns_indices)
+            .streamCategoricals(_streamingCats);
+  }
+
+  /**
+   * Writes the streamed categorical columns with the ids of the cloud-wide dictionaries (null for the node-local
+   * numbering).
+   */
+  @SuppressWarnings("unchecked")
+  FVecParseWriter streamCategoricals(StreamingCategoricals sc) {
+    _streamingCats = sc == null ? null : sc.local();
+    _newLevels = sc == null ? null : new Map[_nCols];
+    return this;
+  }
+
+  // Adds the level to the node-local categorical map, remembers it if the chunk has to resolve its global id
+  private int addCategoricalKey(int colIdx, BufferedString str) {
+    int id = _categoricals[colIdx].addKey(str);
+    if (_streamingCats != null && _streamingCats.isStreamed(colIdx) && _streamingCats.globalId(colIdx, id) < 0) {
+      if (_newLevels[colIdx] == null) _newLevels[colIdx] = new HashMap<>();
+      if (!_newLevels[colIdx].containsKey(id)) _newLevels[colIdx].put(id, new BufferedString(str));
+    }
+    return id;
   }
 
   @Override public void newLine() {
@@ -174,7 +206,7 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
         _nvs[_col = colIdx].addStr(str);
       } else { // categoricals
         if(!_categoricals[colIdx].isMapFull()) {
-          int id = _categoricals[_col = colIdx].addKey(str);
+          int id = addCategoricalKey(_col = colIdx, str);
           if (_ctypes[colIdx] == Vec.T_BAD && id > 1) _ctypes[colIdx] = Vec.T_CAT;
           if(_ctypes[colIdx] == Vec.T_CAT) {
             _nvs[colIdx].addNum(id, 0); // if we are sure we have a categorical column, we can only store the integer (more efficient than remembering this value was categorical)
@@ -187,6 +219,27 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
     }
   }
 
+  /** Is the column parsed as categorical (values can be added by their id with {@link #addCategoricalCol}). */
+  public boolean isCategorical(int colIdx) {
+    return colIdx < _nCols && _ctypes != null && _ctypes[colIdx] == Vec.T_CAT;
+  }
+
+  /**
+   * Id of the value in the domain of a categorical column, the value is added to the domain if it is new.
+   * Lets parsers of dictionary encoded data look up each distinct value once instead of once per row.
+   */
+  public int categoricalId(int colIdx, BufferedString str) {
+    assert isCategorical(colIdx);
+    if (_categoricals[colIdx].isMapFull())
+      throw new ParseDataset.H2OParseException("Exceeded categorical limit on column #"+(colIdx+1)+" (using 1-based indexing).  Consider reparsing this column as a string.");
+    return addCategoricalKey(colIdx, str);
+  }
+
+  /** Adds a value of a categorical column given by its {@link #categoricalId}. */
+  public void addCategoricalCol(int colIdx, int id) {
+    _nvs[_col = colIdx].addNum(id, 0);
+  }
+
   /** Adds double value to the column. */
   @Override public void addNumCol(int colIdx, double value) {
     if (Double.isNaN(value) || Double.isInfinite(value)) {
@@ -24,12 +24,20 @@ import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import static water.parser.DefaultParserProviders.CSV_INFO;
 import static water.parser.DefaultParserProviders.SVMLight_INFO;
 
 public final class ParseDataset {
   public Job<Frame> _job;
   private MultiFileParseTask _mfpt; // Access to partially built vectors for cleanup after parser crash
 
+  // Parse compressed CSV files in parallel blocks of lines while they are decompressed (see Parser#pipelinedStreamParse);
+  // read by the parsing nodes, not final so tests can switch it
+  static boolean PIPELINED_UNZIP = H2O.getSysBoolProperty("parse.pipelined_unzip", false);
+
+  // Nodes holding each chunk of a parsed Frame, see ChunkReplicas; 1 (the home node only) by default
+  static final int REPLICATION = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.replication", 1);
+
   // Keys are limited to ByteVec Keys and Frames-of-1-ByteVec Keys
   public static Frame parse(Key okey, Key... keys) {
     return parse(null, okey, keys);
@@ -254,8 +262,15 @@ public final class ParseDataset {
     job.update(0, "Ingesting files.");
     VectorGroup vg = getByteVec(fkeys[0]).group();
     MultiFileParseTask mfpt = pds._mfpt = new MultiFileParseTask(vg,setup,job._key,fkeys,deleteOnDone);
-    mfpt.doAll(fkeys);
+    try {
+      mfpt.doAll(fkeys);
+    } catch (RuntimeException e) {
+      if (mfpt._streamingCats != null) mfpt._streamingCats.drop(); // the dictionaries will not be collected
+      throw e;
+    }
     Log.trace("Done ingesting files.");
+    // Domains of the columns numbered by cloud-wide dictionaries, by parse column (collecting them drops the dictionaries)
+    final String[][] streamedDomains = mfpt._streamingCats == null ? null : mfpt._streamingCats.domains();
     
     if( job.stop_requested() ) return pds;
 
@@ -300,6 +315,12 @@ public final class ParseDataset {
         ecols2[n++] = i;
     }
     final int[] ecols = Arrays.copyOf(ecols2, n); // skipped columns are excluded already
+    // Categorical columns numbered per node, they need their domains unified after the parse
+    int u = 0;
+    for (int ecol : ecols)
+      if (streamedDomains == null || streamedDomains[ecol] == null)
+        ecols2[u++] = ecol;
+    final int[] ucols = Arrays.copyOf(ecols2, u);
     Frame fr;
     ParseFinalizer finalizer = ParseFinalizer.get(setup);
     // If we have any, go gather unified categorical domains
@@ -307,16 +328,19 @@ public final class ParseDataset {
       if (!setup.getParseType().isDomainProvided) { // Domains are not provided via setup we need to collect them
         job.update(0, "Collecting categorical domains across nodes.");
         {
-          GatherCategoricalDomainsTask gcdt = new GatherCategoricalDomainsTask(mfpt._cKey, ecols,
+          GatherCategoricalDomainsTask gcdt = ucols.length == 0 ? null : new GatherCategoricalDomainsTask(mfpt._cKey, ucols,
                   mfpt._parseSetup._parse_columns_indices).doAllNodes();
           //Test domains for excessive length.
           List<String> offendingColNames = new ArrayList<>();
-          for (int i = 0; i < ecols.length; i++) {
-            if (gcdt.getDomainLength(i) < Categorical.MAX_CATEGORICAL_COUNT) {
-              if( gcdt.getDomainLength(i)==0 ) avs[ecols[i]].setBad(); // The all-NA column
-              else avs[ecols[i]].setDomain(gcdt.getDomain(i));
+          for (int i = 0, j = 0; i < ecols.length; i++) {
+            String[] streamed = streamedDomains == null ? null : streamedDomains[ecols[i]];
+            int domainLength = streamed != null ? streamed.length : gcdt.getDomainLength(j);
+            if (domainLength < Categorical.MAX_CATEGORICAL_COUNT) {
+              if( domainLength==0 ) avs[ecols[i]].setBad(); // The all-NA column
+              else avs[ecols[i]].setDomain(streamed != null ? streamed : gcdt.getDomain(j));
             } else
               offendingColNames.add(setup._column_names[ecols[i]]);
+            if (streamed == null) j++;
           }
           if (offendingColNames.size() > 0)
             throw new H2OParseException("Exceeded categorical limit on columns "+ offendingColNames+".   " +
@@ -337,10 +361,10 @@ public final class ParseDataset {
       fr.update(job);
 
       Log.trace("Done compressing data.");
-      if (!setup.getParseType().isDomainProvided) {
+      if (!setup.getParseType().isDomainProvided && ucols.length > 0) {
         // Update categoricals to the globally agreed numbering
-        Vec[] evecs = new Vec[ecols.length];
-        for( int i = 0; i < evecs.length; ++i ) evecs[i] = fr.vecs()[ecols[i]];
+        Vec[] evecs = new Vec[ucols.length];
+        for( int i = 0; i < evecs.length; ++i ) evecs[i] = fr.vecs()[ucols[i]];
         job.update(0, "Unifying categorical domains across nodes.");
         {
           // new CreateParse2GlobalCategoricalMaps(mfpt._cKey).doAll(evecs);
@@ -349,7 +373,7 @@ public final class ParseDataset {
           RPC[] rpcs = new RPC[H2O.CLOUD.size()];
           for (int i = 0; i < fcdt.length; i++){
             H2ONode[] nodes = H2O.CLOUD.members();
-            fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, fr._key, ecols, mfpt._parseSetup._parse_columns_indices);
+            fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, fr._key, ucols, mfpt._parseSetup._parse_columns_indices);
             rpcs[i] = new RPC<>(nodes[i], fcdt[i]).call();
           }
           for (RPC rpc : rpcs)
@@ -405,6 +429,10 @@ public final class ParseDataset {
         Log.warn(warns[i++] = err.toString());
       job.setWarnings(warns);
     }
+    if( REPLICATION > 1 ) {
+      job.update(0,"Replicating chunks.");
+      ChunkReplicas.replicate(fr, REPLICATION);
+    }
     job.update(0,"Calculating data summary.");
     logParseResults(fr);
     // Release the frame for overwriting
@@ -633,6 +661,8 @@ public final class ParseDataset {
     private static NonBlockingHashMap<Key, Categorical[]> _categoricals = new NonBlockingHashMap<>();
     // The Key used to sort out *this* parse's Categorical[]
     private final Key _cKey = Key.make();
+    // Cloud-wide dictionaries of the categorical columns, null if they are numbered per node and unified after the parse
+    private final StreamingCategoricals _streamingCats;
     // Eagerly delete Big Data
     private final boolean _deleteOnDone;
     // Mapping from Chunk# to node index holding the initial category mappings.
@@ -652,6 +682,7 @@ public final class ParseDataset {
     MultiFileParseTask(VectorGroup vg,  ParseSetup setup, Key<Job> jobKey, Key[] fkeys, boolean deleteOnDone ) {
       _vg = vg; 
       _parseSetup = setup;
+      _streamingCats = StreamingCategoricals.make(setup);
       _vecIdStart = _vg.reserveKeys(_reservedKeys = _parseSetup._parse_type.equals(SVMLight_INFO) ? 100000000 : setup._number_columns);
       _deleteOnDone = deleteOnDone;
       _jobKey = jobKey;
@@ -764,7 +795,8 @@ public final class ParseDataset {
         ? new SVMLightFVecParseWriter(_vg, _vecIdStart,chunkOff, _parseSetup._chunk_size, avs,
               _parseSetup._parse_columns_indices)
         : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup._number_columns),
-              localSetup._column_types, _parseSetup._chunk_size, avs, _parseSetup._parse_columns_indices);
+              localSetup._column_types, _parseSetup._chunk_size, avs, _parseSetup._parse_columns_indices)
+            .streamCategoricals(_streamingCats);
     }
 
     // Called once per file
@@ -826,7 +858,8 @@ public final class ParseDataset {
           InputStream dec = decryptionTool.decryptInputStream(zis);
           // There is at least one entry in zip file and it is not a directory.
           if( ze != null && !ze.isDirectory() )
-            _dout[_lo] = streamParse(dec,localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()), bvs);
+            _dout[_lo] = streamParse(dec,localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()), bvs,
+                    PIPELINED_UNZIP && ZipUtil.getFileNames(vec).size() == 1);
             _errors = _dout[_lo].removeErrors();
           dec.close();       // Confused: which zipped file to decompress
           chunksAreLocal(vec,chunkStartIdx,key);
@@ -837,7 +870,7 @@ public final class ParseDataset {
           InputStream bvs = vec.openStream(_jobKey);
           // Zipped file; no parallel decompression;
           _dout[_lo] = streamParse(decryptionTool.decryptInputStream(new GZIPInputStream(bvs)),
-                  localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
+                  localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs, PIPELINED_UNZIP);
           _errors = _dout[_lo].removeErrors();
           // set this node as the one which processed all the chunks
           chunksAreLocal(vec,chunkStartIdx,key);
@@ -882,11 +915,14 @@ public final class ParseDataset {
     // ------------------------------------------------------------------------
     // Zipped file; no parallel decompression; decompress into local chunks,
     // parse local chunks; distribute chunks later.
-    private FVecParseWriter streamParse(final InputStream is, final ParseSetup localSetup,FVecParseWriter dout, InputStream bvs) throws IOException {
+    private FVecParseWriter streamParse(final InputStream is, final ParseSetup localSetup,FVecParseWriter dout, InputStream bvs,
+                                        boolean pipelined) throws IOException {
       // All output into a fresh pile of NewChunks, one per column
       Parser p = localSetup.parser(_jobKey);
       // assume 2x inflation rate
-      if(localSetup._parse_type.isParallelParseSupported())
+      if(pipelined && localSetup._parse_type.equals(CSV_INFO))
+        p.pipelinedStreamParse(is, dout, bvs);
+      else if(localSetup._parse_type.isParallelParseSupported())
         p.streamParseZip(is, dout, bvs);
       else
         p.streamParse(is,dout);
@@ -905,6 +941,7 @@ public final class ParseDataset {
       private final VectorGroup _vg;
       private FVecParseWriter _dout;
       private final Key _cKey;  // Parse-local-categoricals key
+      private final StreamingCategoricals _streamingCats;
       private final Key<Job> _jobKey;
       private transient final MultiFileParseTask _outerMFPT;
       private transient final Key _srckey; // Source/text file to delete on done
@@ -920,6 +957,7 @@ public final class ParseDataset {
         _startChunkIdx = startChunkIdx;
         _outerMFPT = mfpt;
         _cKey = mfpt._cKey;
+        _streamingCats = mfpt._streamingCats;
         _jobKey = mfpt._jobKey;
         _srckey = srckey;
         _nchunks = nchunks;
@@ -954,7 +992,8 @@ public final class ParseDataset {
         case "PARQUET":
           Categorical [] categoricals = categoricals(_cKey, _setup._number_columns);
           dout = new FVecParseWriter(_vg,_startChunkIdx + in.cidx(), categoricals, _setup._column_types,
-                  _setup._chunk_size, avs, _setup._parse_columns_indices); //TODO: use _setup._domains instead of categoricals
+                  _setup._chunk_size, avs, _setup._parse_columns_indices) //TODO: use _setup._domains instead of categoricals
+                  .streamCategoricals(_streamingCats);
           break;
         case "SVMLight":
           dout = new SVMLightFVecParseWriter(_vg, _vecIdStart, in.cidx() + _startChunkIdx, _setup._chunk_size,
@@ -963,7 +1002,7 @@ public final class ParseDataset {
         case "ORC":  // setup special case for ORC
           Categorical [] orc_categoricals = categoricals(_cKey, _setup._number_columns);
           dout = new FVecParseWriter(_vg, in.cidx() + _startChunkIdx, orc_categoricals, _setup._column_types,
-                  _setup._chunk_size, avs, _setup._parse_columns_indices);
+                  _setup._chunk_size, avs, _setup._parse_columns_indices).streamCategoricals(_streamingCats);
           break;
         default: // FIXME: should not be default and creation strategy should be forwarded to ParserProvider
           dout = new FVecParseWriter(_vg, in.cidx() + _startChunkIdx, null, _setup._column_types,
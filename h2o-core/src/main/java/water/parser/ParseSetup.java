@@ -41,6 +41,7 @@ public class ParseSetup extends Iced {
   String[][] _data;           // First few rows of parsed/tokenized data
   int[] _parse_columns_indices; // store column indices to be parsed into the final file
   byte[] _nonDataLineMarkers;
+  String _row_filter;         // comparisons on columns a row has to satisfy to be parsed (Parquet only)
 
   String[] _synthetic_column_names; // Columns with constant values to be added to parsed Frame
   String[][] _synthetic_column_values; // For each imported file contains array of values for each synthetic column
@@ -67,6 +68,7 @@ public class ParseSetup extends Iced {
          ps._column_names, ps._column_types, ps._domains, ps._na_strings, ps._data,
             new ParseWriter.ParseErr[0], ps._chunk_size, ps._decrypt_tool, ps._skipped_columns,
             ps._nonDataLineMarkers);
+    _row_filter = ps._row_filter;
   }
 
   public static ParseSetup makeSVMLightSetup(){
@@ -208,6 +210,7 @@ public class ParseSetup extends Iced {
 
   public String[] getColumnNames() { return _column_names; }
   public int[] getSkippedColumns() { return _skipped_columns; }
+  public String getRowFilter() { return _row_filter; }
   public int[] get_parse_columns_indices() { return _parse_columns_indices; }
   public String[][] getData() { return _data; }
 
@@ -822,6 +825,11 @@ public class ParseSetup extends Iced {
     return this;
   }
 
+  public ParseSetup setRowFilter(String row_filter) {
+    this._row_filter = row_filter;
+    return this;
+  }
+
   public ParseSetup setColumnTypes(byte[] column_types) {
     this._column_types = column_types;
     return this;
@@ -8,6 +8,7 @@ import water.fvec.Vec;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -242,6 +243,100 @@ public abstract class Parser extends Iced {
     return dout;
   }
 
+  // ------------------------------------------------------------------------
+  // Zipped file; decompressed by the calling thread, blocks of lines are parsed
+  // in parallel into local chunks; distribute chunks later.
+  /**
+   * Pipelined alternative to {@link #streamParseZip} for a single compressed file (a gzip file or a zip file with one
+   * entry). The stream itself can't be split, so the calling thread only decompresses: it cuts the data into blocks of
+   * whole lines, one block per chunk of the compressed file, and hands each block with its own output chunk to a parse
+   * task. The blocks are parsed in parallel on this node while the next ones are decompressed; at most
+   * {@link H2O#NUMCPUS} blocks are in flight, which bounds the decompressed data held in memory.
+   *
+   * Each block after the first is parsed from its first byte, so the parser must not have records spanning several
+   * lines (eg. line breaks in quoted CSV values), the same restriction as for the distributed parse.
+   */
+  protected ParseWriter pipelinedStreamParse(final InputStream is, final StreamParseWriter dout, InputStream bvs) throws IOException {
+    ArrayDeque<BlockParse> inFlight = new ArrayDeque<>();
+    StreamParseWriter nextChunk = dout;
+    int zidx = bvs.read(null, 0, 0); // Back-channel read of chunk index
+    byte[] buf = new byte[64*1024];
+    int len = 0;
+    boolean first = true;
+    Throwable failure = null;
+    try {
+      int n;
+      while ((n = is.read(buf, len, buf.length - len)) != -1) {
+        len += n;
+        int xidx = bvs.read(null, 0, 0);
+        int end = xidx > zidx ? lastLineEnd(buf, len) : -1;
+        if (end > 0) { // Input advanced to the next chunk of the compressed file, cut the block
+          zidx = xidx;
+          inFlight.add(H2O.submitTask(new BlockParse(Arrays.copyOf(buf, end), first, nextChunk)));
+          System.arraycopy(buf, end, buf, 0, len -= end); // Keep the partial line for the next block
+          first = false;
+          nextChunk = nextChunk.nextChunk();
+          while (inFlight.size() > H2O.NUMCPUS)
+            reduceBlock(dout, inFlight.poll());
+          if (_jobKey != null && _jobKey.get().stop_requested()) break;
+        }
+        if (len == buf.length) buf = Arrays.copyOf(buf, len << 1); // A block holds at least one whole line
+      }
+      inFlight.add(H2O.submitTask(new BlockParse(Arrays.copyOf(buf, len), first, nextChunk)));
+    } catch (IOException | RuntimeException | Error e) {
+      failure = e;
+    }
+    // Wait for every block still in flight, and report the first failure rather than the last one
+    while (!inFlight.isEmpty()) {
+      try {
+        reduceBlock(dout, inFlight.poll());
+      } catch (RuntimeException | Error e) {
+        if (failure == null) failure = e;
+      }
+    }
+    if (failure instanceof IOException) throw (IOException) failure;
+    if (failure instanceof Error) throw (Error) failure;
+    if (failure != null) throw (RuntimeException) failure;
+    bvs.close();
+    is.close();
+    return dout;
+  }
+
+  private static void reduceBlock(StreamParseWriter dout, BlockParse block) {
+    block.join();
+    if (dout != block._dout) dout.reduce(block._dout);
+  }
+
+  // Offset just past the last line break, -1 if there is none
+  private static int lastLineEnd(byte[] bits, int len) {
+    for (int i = len - 1; i >= 0; i--)
+      if (isEOL(bits[i])) return i + 1;
+    return -1;
+  }
+
+  private class BlockParse extends H2O.H2OCountedCompleter<BlockParse> {
+    private final byte[] _bits;
+    private final boolean _first;
+    private final StreamParseWriter _dout;
+    BlockParse(byte[] bits, boolean first, StreamParseWriter dout) { _bits = bits; _first = first; _dout = dout; }
+    @Override public void compute2() {
+      parseChunk(0, new LinesData(_bits, _first), _dout);
+      _dout.close();
+      tryComplete();
+    }
+  }
+
+  /** Block of whole lines of a stream, parsed from its first byte unless it is the start of the stream */
+  final static class LinesData implements ParseReader {
+    private final byte[] _bits;
+    private final boolean _first;
+    LinesData(byte[] bits, boolean first) { _bits = bits; _first = first; }
+    @Override public byte[] getChunkData(int cidx) { return cidx == 0 && _bits.length > 0 ? _bits : null; }
+    @Override public int getChunkDataStart(int cidx) { return _first ? -1 : 0; }
+    @Override public void setChunkDataStart(int cidx, int offset) { }
+    @Override public long getGlobalByteOffset() { return 0; }
+  }
+
   final static class ByteAryData implements ParseReader {
     private final byte [] _bits;
     public int _off;
@@ -0,0 +1,281 @@
+package water.parser;
+
+import water.DTask;
+import water.H2O;
+import water.H2ONode;
+import water.Iced;
+import water.Key;
+import water.RPC;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cloud-wide categorical dictionaries built while parsing.
+ *
+ * By default the levels of categorical columns are numbered per node during the parse, then the node-local domains
+ * are gathered and merged into sorted global domains and every categorical chunk is rewritten with the global
+ * numbering (see ParseDataset). With -Dsys.ai.h2o.parse.streaming_categoricals=true the columns typed as categorical
+ * in the parse setup get a single dictionary each instead, partitioned over the cloud by column. A parse writer sends
+ * the levels its chunk introduced to the owners of the columns (one call per owner node) when the chunk is closed,
+ * and stores the chunk with the ids they assign. Those ids are final: the domains are the dictionaries and no chunk
+ * is rewritten after the parse.
+ *
+ * Levels are numbered in the order they reach the owner, so the domains are not sorted and the numbering may differ
+ * between two parses of the same data.
+ */
+public class StreamingCategoricals extends Iced<StreamingCategoricals> {
+
+  static boolean ENABLED = H2O.getSysBoolProperty("parse.streaming_categoricals", false); // not final so tests can switch it
+
+  // Shared against all concurrent unrelated parses, the node-local state of each parse
+  private static final NonBlockingHashMap<Key, StreamingCategoricals> NODE_STATES = new NonBlockingHashMap<>();
+
+  private final Key _key;
+  private final boolean[] _streamed; // by parse column
+
+  // Owner side: dictionaries of the columns owned by this node
+  private transient Map<BufferedString, Integer>[] _dicts;
+  private transient List<BufferedString>[] _levels;
+  // Parse side: node-local categorical id -> global id, -1 if not resolved yet; arrays are never modified
+  // in place except for setting unresolved entries
+  private transient volatile int[][] _local2global;
+
+  private StreamingCategoricals(Key key, boolean[] streamed) {
+    _key = key;
+    _streamed = streamed;
+  }
+
+  /**
+   * @return dictionaries for the categorical columns of the setup, null if the feature is disabled or there is
+   * nothing to stream
+   */
+  static StreamingCategoricals make(ParseSetup setup) {
+    if (!ENABLED || setup._column_types == null || setup.getParseType().isDomainProvided)
+      return null;
+    int[] parseCols = setup._parse_columns_indices;
+    boolean[] streamed = new boolean[parseCols.length];
+    boolean any = false;
+    for (int i = 0; i < parseCols.length; i++)
+      any |= streamed[i] = setup._column_types[parseCols[i]] == Vec.T_CAT;
+    return any ? new StreamingCategoricals(Key.make(), streamed) : null;
+  }
+
+  boolean isStreamed(int col) {
+    return col < _streamed.length && _streamed[col];
+  }
+
+  /** Node-local state of this parse, shared by all its copies on this node under the key of the parse */
+  @SuppressWarnings("unchecked")
+  StreamingCategoricals local() {
+    if (_local2global != null) return this; // already the node-local state
+    StreamingCategoricals sc = NODE_STATES.get(_key);
+    if (sc != null) return sc;
+    sc = new StreamingCategoricals(_key, _streamed);
+    sc._dicts = new Map[_streamed.length];
+    sc._levels = new List[_streamed.length];
+    sc._local2global = new int[_streamed.length][0];
+    StreamingCategoricals old = NODE_STATES.putIfAbsent(_key, sc);
+    return old != null ? old : sc;
+  }
+
+  /** Global id of a node-local categorical id, -1 if it is not known on this node yet */
+  int globalId(int col, int localId) {
+    int[] ids = _local2global[col];
+    return localId < ids.length ? ids[localId] : -1;
+  }
+
+  /**
+   * Resolves the global ids of the new levels of a chunk with the owners of their columns.
+   * @param newLevels node-local id -> level, by column (null for columns without new levels)
+   */
+  void resolve(Map<Integer, BufferedString>[] newLevels) {
+    H2ONode[] nodes = H2O.CLOUD.members();
+    Resolve[] tasks = new Resolve[nodes.length];
+    for (int c = 0; c < newLevels.length; c++) {
+      if (newLevels[c] == null || newLevels[c].isEmpty()) continue;
+      int owner = c % nodes.length;
+      if (tasks[owner] == null) tasks[owner] = new Resolve(this);
+      tasks[owner].add(c, newLevels[c]);
+    }
+    RPC[] rpcs = new RPC[nodes.length];
+    for (int n = 0; n < nodes.length; n++)
+      if (tasks[n] != null && nodes[n] != H2O.SELF)
+        rpcs[n] = new RPC<>(nodes[n], tasks[n]).call();
+    for (int n = 0; n < nodes.length; n++) {
+      if (tasks[n] == null) continue;
+      Resolve r = nodes[n] == H2O.SELF ? tasks[n].assignLocally() : (Resolve) rpcs[n].get();
+      for (int i = 0; i < r._cols.length; i++)
+        setGlobalIds(r._cols[i], tasks[n]._localIds[i], r._globalIds[i]);
+    }
+  }
+
+  /** Switches the node-local ids of a closed column chunk to the global ones, all of them must be resolved */
+  void remap(int col, NewChunk nc) {
+    nc.remapCategoricals(_local2global[col]);
+  }
+
+  private synchronized void setGlobalIds(int col, int[] localIds, int[] globalIds) {
+    int[] ids = _local2global[col];
+    int max = ids.length - 1;
+    for (int id : localIds) max = Math.max(max, id);
+    if (max >= ids.length) { // grow a copy and publish it fully initialized
+      int[] grown = Arrays.copyOf(ids, Math.max(max + 1, ids.length * 2));
+      Arrays.fill(grown, ids.length, grown.length, -1);
+      for (int i = 0; i < localIds.length; i++) grown[localIds[i]] = globalIds[i];
+      int[][] l2g = _local2global.clone();
+      l2g[col] = grown;
+      _local2global = l2g;
+    } else {
+      for (int i = 0; i < localIds.length; i++) ids[localIds[i]] = globalIds[i];
+    }
+  }
+
+  // Owner side: ids of the levels, new levels are appended to the dictionary
+  private int[] assign(int col, BufferedString[] levels) {
+    Map<BufferedString, Integer> dict;
+    List<BufferedString> domain;
+    synchronized (this) {
+      if (_dicts[col] == null) {
+        _dicts[col] = new HashMap<>();
+        _levels[col] = new ArrayList<>();
+      }
+      dict = _dicts[col];
+      domain = _levels[col];
+    }
+    int[] ids = new int[levels.length];
+    synchronized (dict) {
+      for (int i = 0; i < levels.length; i++) {
+        Integer id = dict.get(levels[i]);
+        if (id == null) {
+          dict.put(levels[i], id = domain.size());
+          domain.add(levels[i]);
+        }
+        ids[i] = id;
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Collects the dictionaries from their owners and drops the state of the parse on all nodes.
+   * @return domain by parse column, null for the columns that are not streamed
+   */
+  String[][] domains() {
+    H2ONode[] nodes = H2O.CLOUD.members();
+    RPC[] rpcs = new RPC[nodes.length];
+    for (int n = 0; n < nodes.length; n++)
+      rpcs[n] = new RPC<>(nodes[n], new CollectDomains(this, n, nodes.length)).call();
+    String[][] domains = new String[_streamed.length][];
+    for (RPC rpc : rpcs) {
+      CollectDomains cd = (CollectDomains) rpc.get();
+      for (int c = 0; c < domains.length; c++)
+        if (cd._domains[c] != null) domains[c] = cd._domains[c];
+    }
+    return domains;
+  }
+
+  /** Drops the state of the parse on all nodes without collecting the dictionaries, for a parse that failed */
+  void drop() {
+    H2ONode[] nodes = H2O.CLOUD.members();
+    RPC[] rpcs = new RPC[nodes.length];
+    for (int n = 0; n < nodes.length; n++)
+      rpcs[n] = new RPC<>(nodes[n], new Drop(_key)).call();
+    for (RPC rpc : rpcs)
+      rpc.get();
+  }
+
+  /** Drops the node-local state of the parse */
+  private void remove() {
+    NODE_STATES.remove(_key);
+  }
+
+  /** Number of parses with state on this node */
+  static int nodeStates() {
+    return NODE_STATES.size();
+  }
+
+  private static class Resolve extends DTask<Resolve> {
+    private final StreamingCategoricals _sc;
+    private int[] _cols = new int[0];
+    private BufferedString[][] _newLevels = new BufferedString[0][];
+    private transient int[][] _localIds = new int[0][];
+    // OUTPUT
+    private int[][] _globalIds;
+
+    Resolve(StreamingCategoricals sc) { _sc = sc; }
+
+    void add(int col, Map<Integer, BufferedString> levels) {
+      int n = _cols.length;
+      _cols = Arrays.copyOf(_cols, n + 1);
+      _newLevels = Arrays.copyOf(_newLevels, n + 1);
+      _localIds = Arrays.copyOf(_localIds, n + 1);
+      _cols[n] = col;
+      _newLevels[n] = new BufferedString[levels.size()];
+      _localIds[n] = new int[levels.size()];
+      int i = 0;
+      for (Map.Entry<Integer, BufferedString> e : levels.entrySet()) {
+        _localIds[n][i] = e.getKey();
+        _newLevels[n][i++] = e.getValue();
+      }
+    }
+
+    Resolve assignLocally() {
+      StreamingCategoricals sc = _sc.local();
+      _globalIds = new int[_cols.length][];
+      for (int i = 0; i < _cols.length; i++)
+        _globalIds[i] = sc.assign(_cols[i], _newLevels[i]);
+      _newLevels = null; // don't send the levels back
+      return this;
+    }
+
+    @Override public void compute2() {
+      assignLocally();
+      tryComplete();
+    }
+  }
+
+  private static class Drop extends DTask<Drop> {
+    private final Key _key;
+
+    Drop(Key key) { _key = key; }
+
+    @Override public void compute2() {
+      NODE_STATES.remove(_key);
+      tryComplete();
+    }
+  }
+
+  private static class CollectDomains extends DTask<CollectDomains> {
+    private final StreamingCategoricals _sc;
+    private final int _node;
+    private final int _nodes;
+    // OUTPUT
+    private String[][] _domains;
+
+    CollectDomains(StreamingCategoricals sc, int node, int nodes) { _sc = sc; _node = node; _nodes = nodes; }
+
+    @Override public void compute2() {
+      StreamingCategoricals sc = _sc.local();
+      _domains = new String[_sc._streamed.length][];
+      for (int c = _node; c < _domains.length; c += _nodes) {
+        if (!_sc._streamed[c]) continue;
+        List<BufferedString> levels = sc._levels[c];
+        _domains[c] = new String[levels == null ? 0 : levels.size()];
+        for (int i = 0; i < _domains[c].length; i++) {
+          String s = levels.get(i).toString();
+          _domains[c][i] = s.contains("\uFFFD") ? levels.get(i).toSanitizedString() : s;
+        }
+      }
+      sc.remove();
+      tryComplete();
+    }
+  }
+
+}
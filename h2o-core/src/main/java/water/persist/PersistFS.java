@@ -2,6 +2,8 @@ package water.persist;
 
 import java.io.*;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 
 import water.*;
@@ -12,7 +14,7 @@ import water.util.Log;
 /**
  * Persistence backend using local file system.
  */
-public final class PersistFS extends Persist {
+public class PersistFS extends Persist {
   final File _root;
   final File _dir;
 
@@ -46,17 +48,22 @@ public final class PersistFS extends Persist {
     return new File(_dir, getIceName(v));
   }
 
+  // Spills are compressed when an AutoBufferCodec is configured; ice files
+  // then hold a codec-tagged payload instead of the raw bytes.
+  private static final boolean COMPRESSED = AutoBufferCodec.active() != AutoBufferCodec.NONE;
+
   @Override public byte[] load(Value v) throws IOException {
     File f = getFile(v);
-    if( f.length() < v._max ) { // Should be fully on disk...
+    if( f.length() < (COMPRESSED ? 1 : v._max) ) { // Should be fully on disk...
       // or it's a racey delete of a spilled value
       assert !v.isPersisted() : f.length() + " " + v._max + " " + v._key;
       return null; // No value
     }
     try (FileInputStream s = new FileInputStream(f)) {
         AutoBuffer ab = new AutoBuffer(s.getChannel(), true, Value.ICE);
-        byte[] b = ab.getA1(v._max);
+        byte[] b = COMPRESSED ? ab.getA1z() : ab.getA1(v._max);
         ab.close();
+        assert b.length == v._max : b.length + " " + v._max + " " + v._key;
         return b;
       }
   }
@@ -68,12 +75,25 @@ public final class PersistFS extends Persist {
     if( !dirs.mkdirs() && !dirs.exists() )
       throw new java.io.IOException("mkdirs failed making "+dirs);
     try(FileOutputStream s = new FileOutputStream(getFile(v))) {
+        ByteBuffer off = v.offHeapOrNull();
+        if( off != null && COMPRESSED ) { // Compress from a transient copy; leave the Value off-heap
+          byte[] m = new byte[off.remaining()];
+          off.get(m);
+          new AutoBuffer(s.getChannel(), false, Value.ICE).putA1z(m).close();
+          return;
+        }
+        if( off != null ) {     // Page out an off-heap Chunk without copying it onto the heap
+          FileChannel fc = s.getChannel();
+          while( off.hasRemaining() ) fc.write(off);
+          return;
+        }
         byte[] m = v.memOrLoad(); // we are not single threaded anymore
         if( m != null && m.length != v._max ) {
           Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length+" v._max="+v._max);
           v._max = m.length; // Implies update of underlying POJO, then re-serializing it without K/V storing it
         }
-        new AutoBuffer(s.getChannel(), false, Value.ICE).putA1(m, m.length).close();
+        AutoBuffer ab = new AutoBuffer(s.getChannel(), false, Value.ICE);
+        (COMPRESSED ? ab.putA1z(m) : ab.putA1(m, m.length)).close();
       } catch( AutoBuffer.AutoBufferException abe ) {
       throw abe._ioe;
     }
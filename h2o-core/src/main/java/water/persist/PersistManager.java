@@ -107,10 +107,10 @@ public class PersistManager {
     boolean windowsPath = iceRoot.toString().matches("^[a-zA-Z]:.*");
 
     if (windowsPath) {
-      ice = new PersistFS(new File(iceRoot.toString()));
+      ice = newIcePersist(new File(iceRoot.toString()));
     }
     else if ((iceRoot.getScheme() == null) || Schemes.FILE.equals(iceRoot.getScheme())) {
-      ice = new PersistFS(new File(iceRoot.getPath()));
+      ice = newIcePersist(new File(iceRoot.getPath()));
     }
     else if( Schemes.HDFS.equals(iceRoot.getScheme()) ) {
       Log.err("HDFS ice_root not yet supported.  Exiting.");
@@ -173,6 +173,14 @@ public class PersistManager {
     }
   }
 
+  private static PersistFS newIcePersist(File root) {
+    if( PersistMappedFS.isEnabled() ) {
+      Log.info("User-mode swapping to memory-mapped segment files");
+      return new PersistMappedFS(root);
+    }
+    return new PersistFS(root);
+  }
+
   public void store(int backend, Value v) throws IOException {
     stats[backend].store_count.incrementAndGet();
     I[backend].store(v);
@@ -0,0 +1,199 @@
+package water.persist;
+
+import water.Key;
+import water.MemoryManager;
+import water.Value;
+import water.nbhm.NonBlockingHashMap;
+import water.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static water.H2O.OptArgs.SYSTEM_PROP_PREFIX;
+
+/**
+ * User-mode swapping into memory-mapped segment files.
+ * <p>
+ * Instead of writing one ice file per Value through an {@link water.AutoBuffer},
+ * spilled Values are appended into large segment files which stay mapped for
+ * their whole life.  Storing a Value is a copy into the mapping; loading it back
+ * is a single bulk copy out of the page cache, without opening a file or staging
+ * the bytes through an intermediate buffer.  A segment file is deleted once all
+ * the Values spilled into it have been deleted.
+ * <p>
+ * Enabled with -Dsys.ai.h2o.persist.ice.mmap=true; all other file operations
+ * are inherited from {@link PersistFS}.
+ */
+public class PersistMappedFS extends PersistFS {
+
+  static final String PROP_ICE_MMAP = SYSTEM_PROP_PREFIX + "persist.ice.mmap";
+  private static final String PROP_SEGMENT_SIZE = SYSTEM_PROP_PREFIX + "persist.ice.mmap.segment";
+
+  // Size of a segment file; Values larger than this get a segment on their own
+  private final int _segmentSize;
+  // Where each spilled Value lives
+  private final NonBlockingHashMap<Key, Slot> _slots = new NonBlockingHashMap<>();
+  // Segment currently being appended to
+  private Segment _active;
+  private int _nextSegment;
+
+  PersistMappedFS(File root) {
+    this(root, Integer.getInteger(PROP_SEGMENT_SIZE, 256 << 20));
+  }
+
+  PersistMappedFS(File root, int segmentSize) {
+    super(root);
+    _segmentSize = segmentSize;
+  }
+
+  static boolean isEnabled() { return Boolean.getBoolean(PROP_ICE_MMAP); }
+
+  /** A mapped segment file */
+  private static final class Segment {
+    final File _file;
+    final MappedByteBuffer _map;
+    int _end;                   // Next free offset; guarded by the PersistMappedFS lock
+    long _live;                 // Bytes still referenced by a Slot; guarded by the PersistMappedFS lock
+    boolean _dropped;           // Unmapped and deleted; written under both locks
+    // Loads copy out of the mapping under the read lock, unmapping takes the write lock
+    final ReentrantReadWriteLock _lock = new ReentrantReadWriteLock();
+    Segment(File file, int size) throws IOException {
+      _file = file;
+      try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+        // The mapping stays valid after the channel is closed
+        _map = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+      }
+    }
+    boolean fits(int len) { return _map.capacity() - _end >= len; }
+  }
+
+  /** Location of a Value in a segment */
+  private static final class Slot {
+    final Segment _seg;
+    final int _off, _len;
+    Slot(Segment seg, int off, int len) { _seg = seg; _off = off; _len = len; }
+  }
+
+  private synchronized Slot allocate(int len) throws IOException {
+    Segment seg = _active;
+    if( seg == null || !seg.fits(len) ) {
+      if( !_dir.mkdirs() && !_dir.exists() )
+        throw new IOException("mkdirs failed making " + _dir);
+      seg = new Segment(new File(_dir, "segment_" + (_nextSegment++)), Math.max(len, _segmentSize));
+      Segment old = _active;
+      _active = seg;
+      if( old != null && old._live == 0 ) drop(old); // Nothing left in the retired segment
+    }
+    Slot slot = new Slot(seg, seg._end, len);
+    seg._end += len;
+    seg._live += len;
+    return slot;
+  }
+
+  private synchronized void release(Slot slot) {
+    Segment seg = slot._seg;
+    seg._live -= slot._len;
+    if( seg != _active && seg._live == 0 ) drop(seg);
+  }
+
+  // Unmaps and deletes a segment nothing refers to anymore; called with the
+  // PersistMappedFS lock held, waits for the loads copying out of it
+  private static void drop(Segment seg) {
+    if( seg._dropped ) return;
+    seg._lock.writeLock().lock();
+    try {
+      seg._dropped = true;
+      unmap(seg._map);
+    } finally {
+      seg._lock.writeLock().unlock();
+    }
+    if( !seg._file.delete() )
+      Log.warn("Unable to delete ice segment " + seg._file);
+  }
+
+  // Releases the mapping now rather than when the buffer is collected: a
+  // mapped file can't be deleted on Windows, and elsewhere its disk space is
+  // held until the unmap
+  private static void unmap(MappedByteBuffer map) {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner;
+      try {
+        invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      } catch( NoSuchMethodException e ) { // Java 8
+        Method cleanerMethod = map.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        Object cleaner = cleanerMethod.invoke(map);
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+        return;
+      }
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      invokeCleaner.invoke(theUnsafe.get(null), map);
+    } catch( Exception e ) {
+      Log.debug("Unable to unmap an ice segment, it is unmapped once collected: " + e);
+    }
+  }
+
+  @Override public byte[] load(Value v) throws IOException {
+    Slot slot = _slots.get(v._key);
+    if( slot == null || slot._len < v._max ) {
+      // A racey delete of a spilled value
+      assert !v.isPersisted() : v._key;
+      return null; // No value
+    }
+    Segment seg = slot._seg;
+    seg._lock.readLock().lock();
+    try {
+      if( seg._dropped ) return null; // A racey delete of a spilled value
+      ByteBuffer bb = seg._map.duplicate(); // Private position; loads run concurrently
+      bb.position(slot._off);
+      byte[] b = MemoryManager.malloc1(v._max);
+      bb.get(b);
+      return b;
+    } finally {
+      seg._lock.readLock().unlock();
+    }
+  }
+
+  @Override public void store(Value v) throws IOException {
+    assert !v.isPersisted();
+    ByteBuffer src = v.offHeapOrNull();
+    if( src == null ) {
+      byte[] m = v.memOrLoad(); // we are not single threaded anymore
+      if( m.length != v._max ) {
+        Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length + " v._max=" + v._max);
+        v._max = m.length; // Implies update of underlying POJO, then re-serializing it without K/V storing it
+      }
+      src = ByteBuffer.wrap(m);
+    }
+    Slot slot = allocate(src.remaining());
+    ByteBuffer dst = slot._seg._map.duplicate();
+    dst.position(slot._off);
+    dst.put(src);
+    Slot old = _slots.put(v._key, slot);
+    if( old != null ) release(old); // Key re-spilled after an update
+  }
+
+  @Override public void delete(Value v) {
+    Slot slot = _slots.remove(v._key);
+    if( slot != null ) release(slot); // Silently ignore missing values
+  }
+
+  @Override public void cleanUp() {
+    synchronized( this ) {
+      for( Slot slot : _slots.values() ) drop(slot._seg);
+      if( _active != null ) drop(_active);
+      _active = null;
+      _slots.clear();
+    }
+    super.cleanUp();
+  }
+}
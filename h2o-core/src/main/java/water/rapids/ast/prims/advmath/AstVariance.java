@@ -165,9 +165,9 @@ public class AstVariance extends AstPrimitive {
         return new ValFrame(new Frame(fry._names, res));
       }
 
-      // Launch tasks; each does all Xs vs one Y
+      // Launch tasks; each does all Xs vs one Y.  Pure map/reduce over all the rows, so a slow node can be backed up
       for (int y = 0; y < ncoly; y++)
-        cvs[y] = new CoVarTaskEverything(vecys[y].mean(), xmeans).dfork(new Frame(vecys[y]).add(frx));
+        cvs[y] = new CoVarTaskEverything(vecys[y].mean(), xmeans).speculative().dfork(new Frame(vecys[y]).add(frx));
 
       // 1-col returns scalar 
       if (ncolx == 1 && ncoly == 1) {
@@ -221,7 +221,7 @@ public class AstVariance extends AstPrimitive {
       double[] xmeans = ArrayUtils.div(taskCompleteObsMean._xsum, fry.numRows() - NACount);
 
       // 1 task with all Xs and Ys
-      CoVarTaskCompleteObs cvs = new CoVarTaskCompleteObs(ymeans, xmeans).doAll(new Frame(fry).add(frx));
+      CoVarTaskCompleteObs cvs = new CoVarTaskCompleteObs(ymeans, xmeans).speculative().doAll(new Frame(fry).add(frx));
 
       // 1-col returns scalar 
       if (ncolx == 1 && ncoly == 1) {
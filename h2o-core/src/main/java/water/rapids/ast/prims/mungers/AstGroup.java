@@ -450,7 +450,8 @@ public class AstGroup extends AstPrimitive {
   private static IcedHashSet<G> doGroups(Frame fr, int[] gbCols, AGG[] aggs, boolean hasMedian, boolean perNodeAggregates) {
     // do the group by work now
     long start = System.currentTimeMillis();
-    GBTask<?> p1 = makeGBTask(perNodeAggregates, gbCols, aggs, hasMedian).doAll(fr);
+    GBTask<?> p1 = makeGBTask(perNodeAggregates, gbCols, aggs, hasMedian);
+    p1.stealable().doAll(fr); // Skewed groups make some chunks far slower than others
     Log.info("Group By Task done in " + (System.currentTimeMillis() - start) / 1000. + " (s)");
     return p1.getGroups();
   }
@@ -27,11 +27,29 @@ public class WaterMeterIo extends Iced {
     public long load_bytes;
   }
 
+  public static class CodecStatsEntry extends SchemaV3<Iced, CodecStatsEntry> {
+    @API(help="AutoBuffer codec name", direction = API.Direction.OUTPUT)
+    public String codec;
+
+    @API(help="Cumulative uncompressed bytes sent or spilled", direction = API.Direction.OUTPUT)
+    public long raw_bytes_out;
+
+    @API(help="Cumulative compressed bytes sent or spilled", direction = API.Direction.OUTPUT)
+    public long compressed_bytes_out;
+
+    @API(help="Cumulative uncompressed bytes received or loaded", direction = API.Direction.OUTPUT)
+    public long raw_bytes_in;
+
+    @API(help="Cumulative compressed bytes received or loaded", direction = API.Direction.OUTPUT)
+    public long compressed_bytes_in;
+  }
+
   // Input
   public int nodeidx;
 
   // Output
   public IoStatsEntry persist_stats[];
+  public CodecStatsEntry codec_stats[];
 
   public void doIt(boolean aggregateAllNodes) {
     if (! aggregateAllNodes) {
@@ -57,6 +75,21 @@ public class WaterMeterIo extends Iced {
         persist_stats[j].load_count += io.persist_stats[j].load_count;
         persist_stats[j].load_bytes += io.persist_stats[j].load_bytes;
       }
+
+      if (i == 0) {
+        codec_stats = new CodecStatsEntry[io.codec_stats.length];
+        for (int j = 0; j < codec_stats.length; j++) {
+          codec_stats[j] = new CodecStatsEntry();
+          codec_stats[j].codec = io.codec_stats[j].codec;
+        }
+      }
+
+      for (int j = 0; j < Math.min(codec_stats.length, io.codec_stats.length); j++) {
+        codec_stats[j].raw_bytes_out += io.codec_stats[j].raw_bytes_out;
+        codec_stats[j].compressed_bytes_out += io.codec_stats[j].compressed_bytes_out;
+        codec_stats[j].raw_bytes_in += io.codec_stats[j].raw_bytes_in;
+        codec_stats[j].compressed_bytes_in += io.codec_stats[j].compressed_bytes_in;
+      }
     }
   }
 
@@ -68,10 +101,12 @@ public class WaterMeterIo extends Iced {
     new RPC<>(node, t).call().get();
     Log.trace("IO GetTask completed to node " + idx);
     persist_stats = t._persist_stats;
+    codec_stats = t._codec_stats;
   }
 
   private static class GetTask extends DTask<GetTask> {
     private IoStatsEntry _persist_stats[];
+    private CodecStatsEntry _codec_stats[];
 
     public GetTask() { super(H2O.MIN_HI_PRIORITY); _persist_stats = null; }
 
@@ -118,6 +153,19 @@ public class WaterMeterIo extends Iced {
         assert(src_e.load_bytes.get() == 0);
       }
 
+      // Built-in codecs are registered on every node, so the entries line up across the cloud
+      AutoBufferCodec[] codecs = new AutoBufferCodec[] {AutoBufferCodec.NONE, AutoBufferCodec.DEFLATE, AutoBufferCodec.active()};
+      int n = codecs[2] == AutoBufferCodec.NONE || codecs[2] == AutoBufferCodec.DEFLATE ? 2 : 3;
+      _codec_stats = new CodecStatsEntry[n];
+      for (int i = 0; i < n; i++) {
+        _codec_stats[i] = new CodecStatsEntry();
+        _codec_stats[i].codec = codecs[i].name();
+        _codec_stats[i].raw_bytes_out = codecs[i].rawBytesOut();
+        _codec_stats[i].compressed_bytes_out = codecs[i].compressedBytesOut();
+        _codec_stats[i].raw_bytes_in = codecs[i].rawBytesIn();
+        _codec_stats[i].compressed_bytes_in = codecs[i].compressedBytesIn();
+      }
+
       tryComplete();
     }
   }
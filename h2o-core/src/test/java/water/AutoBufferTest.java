@@ -5,6 +5,10 @@ import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
 
@@ -110,4 +114,55 @@ public class AutoBufferTest extends TestUtil {
     assertEquals("(no name)", AutoBuffer.nameOfClass(new byte[]{0,0,0,0,0}));
   }
 
+  @Test
+  public void testPutA1zRoundTrip() throws IOException {
+    byte[] data = new byte[100 * 1024];
+    for (int i = 0; i < data.length; i++) data[i] = (byte) (i % 7);
+    AutoBufferCodec active = AutoBufferCodec.ACTIVE;
+    File f = File.createTempFile("autobuffer-putA1z", ".ice");
+    try {
+      AutoBufferCodec.ACTIVE = AutoBufferCodec.DEFLATE;
+      // Write the way a spill to the ice does
+      try (FileOutputStream os = new FileOutputStream(f)) {
+        new AutoBuffer(os.getChannel(), false, Value.ICE).putA1z(data).putA1z(null).close();
+      }
+      assertTrue("compressed to " + f.length() + " bytes", f.length() < data.length / 10);
+      try (FileInputStream is = new FileInputStream(f)) {
+        assertEquals(AutoBufferCodec.DEFLATE.id(), is.read());
+      }
+      try (FileInputStream is = new FileInputStream(f)) {
+        AutoBuffer rd = new AutoBuffer(is.getChannel(), true, Value.ICE);
+        assertArrayEquals(data, rd.getA1z());
+        assertNull(rd.getA1z());
+        rd.close();
+      }
+      // Buffers that stay in memory are never compressed
+      AutoBuffer ab = new AutoBuffer();
+      ab.putA1z(data);
+      byte[] raw = ab.buf();
+      assertEquals(AutoBufferCodec.NONE.id(), raw[0]);
+      assertArrayEquals(data, new AutoBuffer(raw).getA1z());
+    } finally {
+      AutoBufferCodec.ACTIVE = active;
+      assertTrue(f.delete());
+    }
+  }
+
+  @Test
+  public void testDeflateCodec() {
+    byte[] data = new byte[64 * 1024];
+    for (int i = 0; i < data.length; i++) data[i] = (byte) (i % 13);
+    byte[] z = new byte[data.length];
+    int zlen = AutoBufferCodec.DEFLATE.compress(data, data.length, z);
+    assertTrue(zlen > 0 && zlen < data.length / 10);
+    byte[] res = new byte[data.length];
+    AutoBufferCodec.DEFLATE.decompress(z, zlen, res);
+    assertArrayEquals(data, res);
+
+    // Random bytes do not compress
+    byte[] rnd = new byte[64 * 1024];
+    new java.util.Random(42).nextBytes(rnd);
+    assertEquals(-1, AutoBufferCodec.DEFLATE.compress(rnd, rnd.length, new byte[rnd.length]));
+  }
+
 }
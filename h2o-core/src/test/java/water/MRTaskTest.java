@@ -93,6 +93,90 @@ public class MRTaskTest extends TestUtil {
 
     zeros.remove();
   }
+
+  // One node is slow, a node that is done maps its chunks instead and the caller does not wait for it
+  @Test public void testSpeculative() {
+    int minMs = MRTask.SPECULATION_MIN_MS;
+    Vec v = Vec.makeCon(1.0, 1 << 14, 8, true);
+    try {
+      MRTask.SPECULATION_MIN_MS = 100; // only read by the caller
+      int straggler = (H2O.SELF.index() + 1) % H2O.CLOUD.size();
+      long start = System.currentTimeMillis();
+      // The straggler skips the chunks it has not started once the backup is in,
+      // so it is busy for at most one round of 2s maps after the test
+      double sum = new SlowSum(straggler, 2000).speculative().doAll(v)._sum;
+      assertEquals(v.length(), sum, 0);
+      if (H2O.CLOUD.size() > 2)
+        assertTrue(System.currentTimeMillis() - start < 2000);
+      assertEquals(v.length(), new SlowSum(straggler, 0).speculative().doAll(v)._sum, 0);
+    } finally {
+      MRTask.SPECULATION_MIN_MS = minMs;
+      v.remove();
+    }
+  }
+  private static class SlowSum extends MRTask<SlowSum> {
+    final int _straggler;
+    final long _sleep;
+    double _sum;
+    SlowSum(int straggler, long sleep) { _straggler = straggler; _sleep = sleep; }
+    @Override public void map(Chunk c) {
+      if (H2O.SELF.index() == _straggler)
+        try { Thread.sleep(_sleep); } catch (InterruptedException ignore) { }
+      for (int i = 0; i < c._len; i++) _sum += c.atd(i);
+    }
+    @Override public void reduce(SlowSum mrt) { _sum += mrt._sum; }
+  }
+
+  // Chunks homed on node 1 are slow when mapped there, the other nodes steal them
+  @Test public void testStealable() {
+    Vec v = Vec.makeCon(1.0, 1 << 14, 8, true);
+    try {
+      SkewedSum s = new SkewedSum(1, 100).stealable().doAll(v);
+      assertEquals(v.length(), s._sum, 0);
+      assertEquals(v.nChunks(), s._maps);
+    } finally {
+      v.remove();
+    }
+  }
+  private static class SkewedSum extends MRTask<SkewedSum> {
+    final int _slowNode;
+    final long _sleep;
+    double _sum;
+    int _maps;
+    SkewedSum(int slowNode, long sleep) { _slowNode = slowNode; _sleep = sleep; }
+    @Override public void map(Chunk c) {
+      if (H2O.SELF.index() == _slowNode)
+        try { Thread.sleep(_sleep); } catch (InterruptedException ignore) { }
+      for (int i = 0; i < c._len; i++) _sum += c.atd(i);
+      _maps++;
+    }
+    @Override public void reduce(SkewedSum mrt) { _sum += mrt._sum; _maps += mrt._maps; }
+  }
+
+  // Cheap maps over tiny chunks get batched, with the same results (and one map call per chunk)
+  @Test public void testBatchedTinyChunks() {
+    Vec v = Vec.makeCon(1.0, 20000, 2, true); // 4 rows per chunk
+    Vec doubled = null;
+    try {
+      for (int i = 0; i < 3; i++) {
+        SkewedSum s = new SkewedSum(-1, 0).doAll(v);
+        assertEquals(v.length(), s._sum, 0);
+        assertEquals(v.nChunks(), s._maps);
+      }
+      doubled = new MRTask() {
+        @Override public void map(Chunk c, NewChunk nc) {
+          for (int i = 0; i < c._len; i++) nc.addNum(2 * c.atd(i));
+        }
+      }.doAll(Vec.T_NUM, v).outputFrame().anyVec();
+      assertEquals(v.length(), doubled.length());
+      assertEquals(2.0, doubled.min(), 0);
+      assertEquals(2.0, doubled.max(), 0);
+    } finally {
+      v.remove();
+      if (doubled != null) doubled.remove();
+    }
+  }
+
   private static MRTask manyMaps(Vec vec) {
     return new MRTask() { 
       @Override public void map(Chunk cs[]) { }
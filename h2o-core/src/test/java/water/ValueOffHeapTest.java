@@ -0,0 +1,100 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class ValueOffHeapTest extends TestUtil {
+  @BeforeClass
+  public static void setup() { stall_till_cloudsize(1); }
+
+  @Test
+  public void testMoveOffHeapAndReload() {
+    Vec v = null;
+    try {
+      v = dvec(1.5, 2.5, Double.NaN, -4.25, 1e6);
+      Key k = v.chunkKey(0);
+      Value val = H2O.STORE.get(k);
+      byte[] expected = val.memOrLoad().clone();
+
+      assertTrue(val.moveOffHeap());
+      assertNull(val.rawMem());
+      assertNull(val.rawPOJO());
+      assertNotNull(val.rawOffHeap());
+      assertFalse(val.isEmpty());
+      assertFalse("Already off-heap", val.moveOffHeap());
+
+      assertArrayEquals(expected, val.memOrLoad());
+      assertNull("Off-heap copy is released on reload", val.rawOffHeap());
+
+      Chunk c = val.get();
+      assertEquals(1.5, c.atd(0), 0);
+      assertTrue(c.isNA(2));
+      assertEquals(1e6, c.atd(4), 0);
+    } finally {
+      if (v != null) v.remove();
+    }
+  }
+
+  // Drives the Cleaner's off-heap step past the budget: the tier never holds more than OFF_HEAP_MAX,
+  // it is paged out to disk past its high-water mark and paged out Chunks reload from disk
+  @Test
+  public void testOffHeapTierSpillsToDisk() {
+    long oldMax = MemoryManager.OFF_HEAP_MAX;
+    Vec v = null;
+    try {
+      Vec vcon = Vec.makeCon(0, 1 << 12, 8); // 16 chunks
+      v = vcon.makeRand(0xdecafL);
+      vcon.remove();
+      int nchks = v.nChunks();
+      Value[] vals = new Value[nchks];
+      byte[][] expected = new byte[nchks][];
+      long maxChunk = 0;
+      for (int i = 0; i < nchks; i++) {
+        vals[i] = H2O.STORE.get(v.chunkKey(i));
+        vals[i].get();
+        expected[i] = vals[i].memOrLoad().clone();
+        maxChunk = Math.max(maxChunk, vals[i]._max);
+      }
+      MemoryManager.OFF_HEAP_MAX = 4 * maxChunk;
+
+      // First pass fills the tier, the Chunks which don't fit are left to the regular spilling
+      Cleaner.OffHeapPass pass = new Cleaner.OffHeapPass(0, false);
+      int moved = 0;
+      for (Value val : vals)
+        if (pass.clean(val, val._key, true, true)) moved++;
+      assertTrue(moved > 0 && moved < nchks);
+      assertTrue(pass._offheap <= MemoryManager.OFF_HEAP_MAX);
+      assertTrue(pass._offheap > MemoryManager.offHeapHighWater());
+
+      // Second pass is over the high-water mark, it pages off-heap Chunks out to disk
+      pass = new Cleaner.OffHeapPass(pass._offheap, false);
+      for (Value val : vals)
+        pass.clean(val, val._key, true, true);
+      assertTrue(pass._offheap <= MemoryManager.OFF_HEAP_MAX);
+      assertTrue(pass._cleaned > 0);
+      int onDisk = 0;
+      for (Value val : vals) {
+        if (!val.isPersisted()) continue;
+        onDisk++;
+        assertNull(val.rawOffHeap());
+        assertNull(val.rawMem());
+        assertFalse(val.isEmpty());
+      }
+      assertTrue(onDisk > 0);
+
+      // Every Chunk reloads with its bytes, from the heap, the off-heap tier or the disk
+      for (int i = 0; i < nchks; i++) {
+        assertArrayEquals(expected[i], vals[i].memOrLoad());
+        Chunk c = vals[i].get();
+        assertEquals(v.at(v.espc()[i]), c.atd(0), 0);
+      }
+    } finally {
+      MemoryManager.OFF_HEAP_MAX = oldMax;
+      if (v != null) v.remove();
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BulkChunkFetchTest extends TestUtil {
+  @BeforeClass public static void setup() { stall_till_cloudsize(3); }
+
+  // ~100 chunks of 1024 rows, homed all over the cloud: a double, an integer and a mostly-NA column
+  private static Frame makeFrame() {
+    Vec v = Vec.makeCon(0, 100000, 10);
+    Frame fr = new Frame(Key.<Frame>make(), new String[]{"dbl", "int", "na"}, new Vec[]{v, v.makeZero(), v.makeZero()});
+    new MRTask() {
+      @Override public void map(Chunk[] cs) {
+        for (int r = 0; r < cs[0]._len; r++) {
+          long row = cs[0].start() + r;
+          cs[0].set(r, expected(0, row));
+          cs[1].set(r, (long) expected(1, row));
+          if (Double.isNaN(expected(2, row))) cs[2].setNA(r);
+          else cs[2].set(r, (long) expected(2, row));
+        }
+      }
+    }.doAll(fr);
+    DKV.put(fr);
+    return fr;
+  }
+
+  private static double expected(int col, long row) {
+    switch (col) {
+      case 0:  return row * 0.25 + 0.1;
+      case 1:  return row % 1000;
+      default: return row % 7 == 0 ? row : Double.NaN;
+    }
+  }
+
+  private static Set<H2ONode> remoteHomes(Vec v) {
+    Set<H2ONode> homes = new HashSet<>();
+    for (int i = 0; i < v.nChunks(); i++)
+      if (!v.chunkKey(i).home()) homes.add(v.chunkKey(i).home_node());
+    return homes;
+  }
+
+  @Test
+  public void testFetchRemoteChunks() {
+    int maxBatchBytes = BulkChunkFetch.MAX_BATCH_BYTES;
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeFrame());
+      Vec[] vecs = {fr.vec(0), null, fr.vec(1), fr.vec(2)};
+      int[] cols = {0, -1, 1, 2};
+      assertTrue("chunks are homed on several other nodes", remoteHomes(fr.anyVec()).size() > 1);
+      int[] cidxs = new int[fr.anyVec().nChunks()];
+      for (int i = 0; i < cidxs.length; i++) cidxs[i] = cidxs.length - 1 - i; // any order
+      // a response per chunk, the remainder is asked for again
+      BulkChunkFetch.MAX_BATCH_BYTES = 1;
+      Chunk[][] chunks = BulkChunkFetch.fetch(vecs, cidxs);
+      assertEquals(vecs.length, chunks.length);
+      for (int i = 0; i < vecs.length; i++) {
+        if (vecs[i] == null) {
+          for (Chunk c : chunks[i]) assertNull(c);
+          continue;
+        }
+        for (int j = 0; j < cidxs.length; j++) {
+          Chunk c = chunks[i][j];
+          Key k = vecs[i].chunkKey(cidxs[j]);
+          assertNotNull(c);
+          assertSame(vecs[i], c.vec());
+          assertEquals(cidxs[j], c.cidx());
+          assertEquals(vecs[i].chunk2StartElem(cidxs[j]), c.start());
+          assertEquals(vecs[i].espc()[cidxs[j] + 1] - vecs[i].espc()[cidxs[j]], c._len);
+          if (!k.home()) assertNull("remote chunks are not cached", Value.STORE_get(k));
+          for (int r = 0; r < c._len; r++)
+            assertEquals(expected(cols[i], c.start() + r), c.atd(r), 0);
+        }
+      }
+      // batched responses fetch the same
+      BulkChunkFetch.MAX_BATCH_BYTES = 8 << 10;
+      Chunk[][] batched = BulkChunkFetch.fetch(vecs, cidxs);
+      for (int i = 0; i < vecs.length; i++)
+        for (int j = 0; j < cidxs.length && vecs[i] != null; j++)
+          for (int r = 0; r < chunks[i][j]._len; r++)
+            assertEquals(chunks[i][j].atd(r), batched[i][j].atd(r), 0);
+    } finally {
+      BulkChunkFetch.MAX_BATCH_BYTES = maxBatchBytes;
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testFetchRemovedChunk() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeFrame());
+      Vec v = fr.vec(1);
+      int removed = -1;
+      for (int i = 0; i < v.nChunks() && removed == -1; i++)
+        if (!v.chunkKey(i).home()) removed = i;
+      assertTrue(removed != -1);
+      int[] cidxs = new int[]{removed == 0 ? 1 : 0, removed};
+      DKV.remove(v.chunkKey(removed));
+      try {
+        BulkChunkFetch.fetch(new Vec[]{v}, cidxs);
+        fail("missing chunk was not reported");
+      } catch (IllegalStateException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Missing chunk " + removed));
+      }
+      // the rest of the frame can still be fetched
+      Chunk[][] chunks = BulkChunkFetch.fetch(new Vec[]{fr.vec(0)}, cidxs);
+      assertEquals(expected(0, chunks[0][1].start()), chunks[0][1].atd(0), 0);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testRebalanceRemoteChunks() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeFrame());
+      assertTrue(remoteHomes(fr.anyVec()).size() > 1);
+      for (int nchunks : new int[]{3, 7, 250}) {
+        Key<Frame> key = Key.make("rebalanced");
+        RebalanceDataSet rb = new RebalanceDataSet(fr, key, nchunks);
+        H2O.submitTask(rb);
+        rb.join();
+        Frame rebalanced = key.get();
+        assertEquals(nchunks, rebalanced.anyVec().nChunks());
+        assertEquals(fr.numRows(), rebalanced.numRows());
+        assertIdenticalUpToRelTolerance(fr, rebalanced, 1e-10);
+        for (int c = 0; c < fr.numCols(); c++)
+          assertEquals(fr.vec(c).naCnt(), rebalanced.vec(c).naCnt());
+        rebalanced.delete();
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void testRebalanceFetchesSourceChunksOncePerNode() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeFrame());
+      Vec src = fr.anyVec();
+      long before = new CountReceived().doAllNodes()._received;
+      Key<Frame> key = Key.make("rebalanced");
+      RebalanceDataSet rb = new RebalanceDataSet(fr, key, 250);
+      H2O.submitTask(rb);
+      rb.join();
+      Frame rebalanced = Scope.track(key.get());
+      long received = new CountReceived().doAllNodes()._received - before;
+      assertIdenticalUpToRelTolerance(fr, rebalanced, 1e-10);
+
+      // remote source chunks each destination chunk reads, and the distinct ones per node
+      Set<String> perNode = new HashSet<>();
+      long perChunk = 0;
+      Vec dst = rebalanced.anyVec();
+      for (int c = 0; c < dst.nChunks(); c++) {
+        long start = dst.chunk2StartElem(c), end = dst.chunk2StartElem(c + 1);
+        H2ONode home = dst.chunkKey(c).home_node();
+        for (int s = src.elem2ChunkIdx(start); s <= src.elem2ChunkIdx(end - 1); s++)
+          if (src.chunkKey(s).home_node() != home) {
+            perChunk += fr.numCols();
+            perNode.add(home.index() + "/" + s);
+          }
+      }
+      long onePerNode = perNode.size() * (long) fr.numCols();
+      assertTrue("rebalancing into more chunks reads source chunks several times", onePerNode < perChunk);
+      assertTrue("received " + received + " chunks, at most " + onePerNode, received <= onePerNode);
+      assertTrue(received > 0);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  private static class CountReceived extends MRTask<CountReceived> {
+    long _received;
+    @Override protected void setupLocal() { _received = BulkChunkFetch.receivedChunks(); }
+    @Override public void reduce(CountReceived mrt) { _received += mrt._received; }
+  }
+
+}
@@ -0,0 +1,88 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.TestUtil;
+
+/**
+ * Cross-checks the bulk getLongs/getNAs/getNonZeroDoubles accessors against per-row access, for every codec.
+ */
+public class ChunkBulkAccessTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static double [] data(String type, int len) {
+    double [] vals = new double[len];
+    for (int i = 0; i < len; ++i) {
+      boolean na = i % 13 == 5;
+      switch (type) {
+        case "C0D": vals[i] = 2.5; break;
+        case "C0DNA": vals[i] = Double.NaN; break;
+        case "C0L": vals[i] = 7; break;
+        case "C1N": vals[i] = i % 3; break;
+        case "C1": vals[i] = na ? Double.NaN : i % 3; break;
+        case "C2": vals[i] = na ? Double.NaN : i % 3 * 1000 - 1000; break;
+        case "C4": vals[i] = na ? Double.NaN : i % 3 * 100000; break;
+        case "C8": vals[i] = na ? Double.NaN : i % 3 * 1e12; break;
+        case "C8D": vals[i] = na ? Double.NaN : i % 3 * Math.PI; break;
+        case "C1S": vals[i] = na ? Double.NaN : i % 3 * 0.1; break;
+        case "C2S": vals[i] = na ? Double.NaN : i % 3 * 10.01; break;
+        case "C4S": vals[i] = na ? Double.NaN : i % 3 * 10000.001; break;
+        case "CXI": vals[i] = i % 17 == 3 ? (i == 20 ? Double.NaN : i) : 0; break;
+        case "CXF": vals[i] = i % 17 == 3 ? (i == 20 ? Double.NaN : i * Math.E) : 0; break;
+        case "CXINA": vals[i] = i % 17 == 3 ? (i == 37 ? 0 : i) : Double.NaN; break;
+        default: throw new IllegalArgumentException(type);
+      }
+    }
+    return vals;
+  }
+
+  @Test
+  public void testBulkAccessors() {
+    String [] types = {"C0D", "C0DNA", "C0L", "C1N", "C1", "C2", "C4", "C8", "C8D", "C1S", "C2S", "C4S", "CXI", "CXF", "CXINA"};
+    int len = 1000;
+    for (String type : types) {
+      Chunk c = new NewChunk(data(type, len)).compress();
+      checkRange(type, c, 0, len);
+      checkRange(type, c, 21, 600);
+      checkRange(type, c, 64, 128);
+      checkRange(type, c, 5, 5);
+    }
+  }
+
+  private static void checkRange(String type, Chunk c, int from, int to) {
+    String msg = type + " (" + c.getClass().getSimpleName() + ") [" + from + "," + to + ")";
+    int n = to - from;
+    long [] longs = c.getLongs(new long[n], from, to, -1);
+    long [] bits = new long[(n + 63) / 64 + 1];
+    java.util.Arrays.fill(bits, -1L); // must be overwritten
+    int nas = c.getNAs(bits, from, to);
+    double [] vals = new double[n];
+    int [] ids = new int[n];
+    int nzs = c.getNonZeroDoubles(vals, ids, from, to);
+    int expectedNAs = 0, k = 0;
+    for (int i = from; i < to; ++i) {
+      int b = i - from;
+      boolean na = c.isNA(i);
+      Assert.assertEquals(msg + " NA bit of row " + i, na, (bits[b >> 6] & (1L << b)) != 0);
+      if (na) {
+        expectedNAs++;
+        Assert.assertEquals(msg + " row " + i, -1, longs[b]);
+        continue;
+      }
+      Assert.assertEquals(msg + " row " + i, c.at8(i), longs[b]);
+      double d = c.atd(i);
+      if (c instanceof CSChunk) // scaled values are truncated, never dropped to the integral part of the scale
+        Assert.assertEquals(msg + " truncated row " + i, (long) d, longs[b]);
+      if (d != 0) {
+        Assert.assertEquals(msg + " nz id " + k, i, ids[k]);
+        Assert.assertEquals(msg + " nz val " + k, d, vals[k], 0);
+        k++;
+      }
+    }
+    for (int b = n; b < ((n + 63) & ~63); ++b)
+      Assert.assertEquals(msg + " bit past range " + b, 0, bits[b >> 6] & (1L << b));
+    Assert.assertEquals(msg, expectedNAs, nas);
+    Assert.assertEquals(msg, k, nzs);
+  }
+}
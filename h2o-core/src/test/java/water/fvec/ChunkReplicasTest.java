@@ -0,0 +1,160 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.*;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ChunkReplicasTest extends TestUtil {
+  @BeforeClass public static void setup() { stall_till_cloudsize(3); }
+
+  // ~100 chunks homed all over the cloud
+  private static Frame makeFrame() {
+    Vec v = Vec.makeCon(0, 100000, 10);
+    Frame fr = new Frame(Key.<Frame>make(), new String[]{"x"}, new Vec[]{v});
+    new MRTask() {
+      @Override public void map(Chunk c) {
+        for (int r = 0; r < c._len; r++) c.set(r, c.start() + r);
+      }
+    }.doAll(fr);
+    DKV.put(fr);
+    return fr;
+  }
+
+  @Test
+  public void testReplicate() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(makeFrame());
+      Vec v = fr.anyVec();
+      assertEquals(1, ChunkReplicas.replication(v));
+      assertTrue(ChunkReplicas.replicate(fr, 2) > 0);
+      assertEquals(2, ChunkReplicas.replication(v));
+      // every node holds the chunks homed on the node before it, and only those are kept
+      CheckReplicas check = new CheckReplicas(v, 2).doAllNodes();
+      assertEquals(v.nChunks(), check._held);
+      assertEquals(0, check._missing);
+      assertEquals(0, check._wrong);
+
+      ChunkReplicas.unreplicate(fr);
+      assertEquals(1, ChunkReplicas.replication(v));
+      assertEquals(0, new CheckReplicas(v, 2).doAllNodes()._kept);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  private static class CheckReplicas extends MRTask<CheckReplicas> {
+    final Vec _v;
+    final int _k;
+    int _held, _missing, _wrong, _kept;
+    CheckReplicas(Vec v, int k) { _v = v; _k = k; }
+    @Override protected void setupLocal() {
+      for (int c = 0; c < _v.nChunks(); c++) {
+        Key key = _v.chunkKey(c);
+        boolean holder = ChunkReplicas.distance(H2O.SELF.index(), key) < _k;
+        if (ChunkReplicas.isReplica(key)) _kept++;
+        if (key.home()) continue;
+        if (holder) {
+          if (Value.STORE_get(key) != null) _held++;
+          else _missing++;
+        }
+        if (holder != ChunkReplicas.isReplica(key)) _wrong++;
+      }
+    }
+    @Override public void reduce(CheckReplicas mrt) {
+      _held += mrt._held; _missing += mrt._missing; _wrong += mrt._wrong; _kept += mrt._kept;
+    }
+  }
+
+  @Test
+  public void testMapOnReplicas() {
+    Frame fr;
+    Vec v;
+    Scope.enter();
+    try {
+      fr = Scope.track(makeFrame());
+      v = fr.anyVec();
+      ChunkReplicas.replicate(fr, 2);
+      long n = v.length();
+      MapNodes mn = new MapNodes(v.nChunks()).doAll(fr);
+      assertEquals((double) n * (n - 1) / 2, mn._sum, 0);
+      for (int c = 0; c < v.nChunks(); c++) {
+        assertEquals("chunk " + c + " is mapped once", 1, mn._maps[c]);
+        assertTrue("chunk " + c + " is mapped on a holder", ChunkReplicas.distance(mn._nodes[c], v.chunkKey(c)) < 2);
+      }
+      // writes from the holders reach the homes and the other copies
+      new MRTask() {
+        @Override public void map(Chunk c) {
+          for (int r = 0; r < c._len; r++) c.set(r, c.atd(r) * 2);
+        }
+      }.doAll(fr);
+      assertEquals((double) n * (n - 1), new MapNodes(v.nChunks()).doAll(fr)._sum, 0);
+      for (long r = 0; r < n; r += 997) assertEquals(2 * r, v.at8(r));
+    } finally {
+      Scope.exit();
+    }
+    assertEquals("removed Vecs are not replicated anymore", 0, new CountReplicated(v).doAllNodes()._replicated);
+  }
+
+  private static class MapNodes extends MRTask<MapNodes> {
+    int[] _maps, _nodes;
+    double _sum;
+    MapNodes(int nchunks) { _maps = new int[nchunks]; _nodes = new int[nchunks]; }
+    @Override public void map(Chunk c) {
+      _maps = _maps.clone(); _nodes = _nodes.clone();
+      _maps[c.cidx()]++;
+      _nodes[c.cidx()] = H2O.SELF.index();
+      for (int r = 0; r < c._len; r++) _sum += c.atd(r);
+    }
+    @Override public void reduce(MapNodes mrt) {
+      for (int i = 0; i < _maps.length; i++) {
+        if (mrt._maps[i] > 0) _nodes[i] = mrt._nodes[i];
+        _maps[i] += mrt._maps[i];
+      }
+      _sum += mrt._sum;
+    }
+  }
+
+  private static class CountReplicated extends MRTask<CountReplicated> {
+    final Vec _v;
+    int _replicated;
+    CountReplicated(Vec v) { _v = v; }
+    @Override protected void setupLocal() { _replicated = ChunkReplicas.replication(_v) > 1 ? 1 : 0; }
+    @Override public void reduce(CountReplicated mrt) { _replicated += mrt._replicated; }
+  }
+
+  @Test
+  public void testPlaceByQueueDepth() {
+    Scope.enter();
+    try {
+      Vec v = Scope.track(Vec.makeCon(0, 100000, 10));
+      int n = H2O.CLOUD.size();
+      double[] cost = new double[n];
+      Arrays.fill(cost, 1);
+      double[] load = new double[n];
+      // an idle cloud spreads the chunks evenly over the holders
+      short[] nodes = ChunkReplicas.place(v, 2, load, cost);
+      int[] counts = new int[n];
+      for (int c = 0; c < nodes.length; c++) {
+        assertTrue(ChunkReplicas.distance(nodes[c], v.chunkKey(c)) < 2);
+        counts[nodes[c]]++;
+      }
+      for (int i = 0; i < n; i++)
+        assertEquals(nodes.length / (double) n, counts[i], nodes.length / (double) n / 2 + 1);
+      // a node with a long queue gets no chunks, the node after it takes over its chunks
+      load[0] = nodes.length;
+      nodes = ChunkReplicas.place(v, 2, load, cost);
+      for (int c = 0; c < nodes.length; c++) {
+        assertTrue(nodes[c] != 0);
+        if (v.chunkKey(c).home_node().index() == 0) assertEquals(1 % n, nodes[c]);
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
@@ -71,6 +71,21 @@ public class NewChunkTest extends TestUtil {
     }
   }
 
+  @Test public void testRemapCategoricals() {
+    NewChunk nc = new NewChunk(null, 0, false);
+    for (int i = 0; i < 1000; i++) {
+      if (i % 7 == 0) nc.addNA();
+      else nc.addNum(1 + i % 3, 0);
+    }
+    nc.remapCategoricals(new int[]{-1, 300, 0, 1});
+    Chunk c = nc.compress();
+    assertEquals(1000, c._len);
+    for (int i = 0; i < 1000; i++) {
+      if (i % 7 == 0) assertTrue(c.isNA(i));
+      else assertEquals(new int[]{300, 0, 1}[i % 3], c.at8(i));
+    }
+  }
+
   private static class NewChunkTestCpy extends NewChunk {
     NewChunkTestCpy(Vec vec, int cidx) {super(vec, cidx);}
     public NewChunkTestCpy() { super(null,0); }
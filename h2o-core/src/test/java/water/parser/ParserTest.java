@@ -306,6 +306,31 @@ public class ParserTest extends TestUtil {
     }
   }
 
+  // Lines of plain numbers take a fast path, lines with anything else go through the state machine
+  @Test public void testPlainNumericLines() {
+    String[] data = new String[] {
+        "1,2.5,-3\n+4,.5,6.\n7,\"8\",9\n10,1e2,1",
+        "1\r\n-0,0.000001,123456789012345678\n1234567890123456789,2,3\n",
+        "4,5\n6, 7,8\n9,10,11%\n-.25,+1.,0012\n"
+    };
+    double[][] exp = new double[][] {
+        ard(1, 2.5, -3),
+        ard(4, .5, 6),
+        ard(7, 8, 9),
+        ard(10, 100, 11),
+        ard(0, 0.000001, 123456789012345678.0),
+        ard(1234567890123456789.0, 2, 3),
+        ard(4, 5, NaN),
+        ard(6, 7, 8),
+        ard(9, 10, .11),
+        ard(-.25, 1, 12),
+    };
+    Key k = makeByteVec(data);
+    Key r = Key.make();
+    ParseDataset.parse(r, k);
+    testParsed(r, exp);
+  }
+
   @Test public void testMajoritySep() {
     String data = 
       "a,b,c,d,e,f,g,h,i,j,k,space 1,l,space 2,m,space 3,n,o,p,q,r,s,t,u,v,w,x,y,z\n"+ // 26+3 cols, exactly 3 spaces
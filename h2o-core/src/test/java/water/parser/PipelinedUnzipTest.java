@@ -0,0 +1,93 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import java.io.*;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class PipelinedUnzipTest extends TestUtil {
+
+  // the switch is read by the parsing node, keep the whole parse on this one
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  private static final int NROWS = 30000;
+  private static final int CHUNK_SIZE = 1 << 14;
+  private static final String[] NAMES = {"id", "x", "cat", "n"};
+
+  @Test public void testGzipHeader()       throws IOException { checkPipelined(false, true, false); }
+  @Test public void testGzipNoHeader()     throws IOException { checkPipelined(false, false, false); }
+  @Test public void testGzipCRLF()         throws IOException { checkPipelined(false, true, true); }
+  @Test public void testGzipNoHeaderCRLF() throws IOException { checkPipelined(false, false, true); }
+  @Test public void testZipHeader()        throws IOException { checkPipelined(true, true, false); }
+  @Test public void testZipNoHeader()      throws IOException { checkPipelined(true, false, false); }
+  @Test public void testZipCRLF()          throws IOException { checkPipelined(true, true, true); }
+  @Test public void testZipNoHeaderCRLF()  throws IOException { checkPipelined(true, false, true); }
+
+  private void checkPipelined(boolean zip, boolean header, boolean crlf) throws IOException {
+    final boolean pipelined = ParseDataset.PIPELINED_UNZIP;
+    File f = writeCompressed(zip, header, crlf);
+    Scope.enter();
+    try {
+      // small parse chunks so the compressed file spans several of them, each cutting a block of lines
+      assertTrue(f.length() > 4 * CHUNK_SIZE);
+      final int checkHeader = header ? ParseSetup.HAS_HEADER : ParseSetup.NO_HEADER;
+      ParseSetupTransformer small = new ParseSetupTransformer() {
+        @Override public ParseSetup transformSetup(ParseSetup setup) {
+          return setup.setChunkSize(CHUNK_SIZE).setCheckHeader(checkHeader).setColumnNames(NAMES.clone())
+                  .setColumnTypes(new byte[]{Vec.T_NUM, Vec.T_NUM, Vec.T_CAT, Vec.T_NUM});
+        }
+      };
+      ParseDataset.PIPELINED_UNZIP = false;
+      Frame reference = Scope.track(parse_test_file(f.getCanonicalPath(), small));
+      ParseDataset.PIPELINED_UNZIP = true;
+      Frame actual = Scope.track(parse_test_file(f.getCanonicalPath(), small));
+
+      assertEquals(NROWS, reference.numRows());
+      assertEquals(NROWS, actual.numRows());
+      assertArrayEquals(NAMES, actual.names());
+      assertArrayEquals(reference.vec("cat").domain(), actual.vec("cat").domain());
+      assertFrameEquals(reference, actual, 0);
+      // no line is lost or parsed twice where the blocks are cut
+      Vec id = actual.vec("id");
+      for (long r = 0; r < NROWS; r++)
+        assertEquals("row " + r, r, id.at8(r));
+      assertEquals(NROWS / 11 + 1, actual.vec("n").naCnt());
+    } finally {
+      ParseDataset.PIPELINED_UNZIP = pipelined;
+      Scope.exit();
+      assertTrue(f.delete());
+    }
+  }
+
+  private static File writeCompressed(boolean zip, boolean header, boolean crlf) throws IOException {
+    File f = File.createTempFile("pipelined_unzip", zip ? ".csv.zip" : ".csv.gz");
+    String eol = crlf ? "\r\n" : "\n";
+    Random rnd = new Random(0xCAFE);
+    try (OutputStream os = new FileOutputStream(f)) {
+      OutputStream out;
+      if (zip) {
+        ZipOutputStream zos = new ZipOutputStream(os);
+        zos.putNextEntry(new ZipEntry("pipelined_unzip.csv"));
+        out = zos;
+      } else
+        out = new GZIPOutputStream(os);
+      try (Writer w = new OutputStreamWriter(out, "UTF-8")) {
+        if (header) w.write("id,x,cat,n" + eol);
+        for (int i = 0; i < NROWS; i++)
+          w.write(i + "," + rnd.nextDouble() + ",lvl_" + rnd.nextInt(50) + "," + (i % 11 == 0 ? "" : rnd.nextInt(1000)) + eol);
+      }
+    }
+    return f;
+  }
+
+}
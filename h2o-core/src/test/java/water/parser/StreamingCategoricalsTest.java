@@ -0,0 +1,75 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.MRTask;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import static org.junit.Assert.*;
+
+public class StreamingCategoricalsTest extends TestUtil {
+
+  @BeforeClass public static void setup() { stall_till_cloudsize(3); }
+
+  @Test
+  public void testStreamedDomainsDecodeLikeDefault() throws IOException {
+    final boolean enabled = StreamingCategoricals.ENABLED;
+    File f = File.createTempFile("streaming_categoricals", ".csv");
+    Scope.enter();
+    try {
+      int nrows = 50000;
+      try (Writer w = new FileWriter(f)) {
+        w.write("id,cat,empty_cat,num\n");
+        for (int i = 0; i < nrows; i++)
+          w.write(i + "," + (i % 13 == 0 ? "" : "lvl_" + (i * 31 % 97)) + ",," + (i % 7) + "\n");
+      }
+      ParseSetupTransformer small = new ParseSetupTransformer() {
+        @Override public ParseSetup transformSetup(ParseSetup setup) {
+          // many chunks spread over the cloud, each introducing levels in its own order
+          return setup.setChunkSize(1 << 14).setColumnTypes(new byte[]{Vec.T_NUM, Vec.T_CAT, Vec.T_CAT, Vec.T_NUM});
+        }
+      };
+      StreamingCategoricals.ENABLED = false;
+      Frame reference = Scope.track(parse_test_file(f.getCanonicalPath(), small));
+      StreamingCategoricals.ENABLED = true;
+      Frame streamed = Scope.track(parse_test_file(f.getCanonicalPath(), small));
+
+      assertEquals(nrows, streamed.numRows());
+      assertTrue(streamed.anyVec().nChunks() > 3);
+      assertTrue(streamed.vec("cat").isCategorical());
+      assertEquals(97, streamed.vec("cat").domain().length);
+      for (String col : new String[]{"cat", "empty_cat"}) {
+        Vec ref = reference.vec(col), vec = streamed.vec(col);
+        for (long r = 0; r < nrows; r++) {
+          assertEquals(col + ", row " + r, ref.isNA(r), vec.isNA(r));
+          if (!ref.isNA(r))
+            assertEquals(col + ", row " + r, ref.domain()[(int) ref.at8(r)], vec.domain()[(int) vec.at8(r)]);
+        }
+      }
+      assertEquals(nrows, streamed.vec("empty_cat").naCnt());
+      assertEquals(0, streamed.vec("empty_cat").domain() == null ? 0 : streamed.vec("empty_cat").domain().length);
+      assertVecEquals(reference.vec("id"), streamed.vec("id"), 0);
+      assertVecEquals(reference.vec("num"), streamed.vec("num"), 0);
+      assertEquals("dictionaries are dropped on all nodes", 0, new CountNodeStates().doAllNodes()._states);
+    } finally {
+      StreamingCategoricals.ENABLED = enabled;
+      Scope.exit();
+      assertTrue(f.delete());
+    }
+  }
+
+  private static class CountNodeStates extends MRTask<CountNodeStates> {
+    int _states;
+    @Override protected void setupLocal() { _states = StreamingCategoricals.nodeStates(); }
+    @Override public void reduce(CountNodeStates mrt) { _states += mrt._states; }
+  }
+
+}
@@ -0,0 +1,114 @@
+package water.persist;
+
+import org.junit.Before;
+import org.junit.Test;
+import water.Key;
+import water.TestUtil;
+import water.Value;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class PersistMappedFSTest extends TestUtil {
+
+  @Before
+  public void setUp() {
+    stall_till_cloudsize(1);
+  }
+
+  @Test
+  public void testStoreLoadDelete() throws Exception {
+    File root = Files.createTempDirectory("ice-mmap").toFile();
+    PersistMappedFS pm = new PersistMappedFS(root, 1024);
+    try {
+      Value[] vals = new Value[5];
+      for (int i = 0; i < vals.length; i++) {
+        byte[] b = new byte[300 + i];
+        for (int j = 0; j < b.length; j++) b[j] = (byte) (i * 31 + j);
+        vals[i] = new Value(Key.make(), b);
+        pm.store(vals[i]);
+        vals[i].setDsk();
+      }
+      // 5 values of ~300 bytes do not fit into a single 1k segment
+      assertTrue(pm._dir.listFiles().length > 1);
+      for (Value v : vals)
+        assertArrayEquals(v.memOrLoad(), pm.load(v));
+
+      for (Value v : vals)
+        pm.delete(v);
+      // Only the active segment is left once everything is deleted
+      assertEquals(1, pm._dir.listFiles().length);
+    } finally {
+      pm.cleanUp();
+      root.delete();
+    }
+  }
+
+  // Concurrent spills, reloads and deletes: retired segments are unmapped and deleted exactly once,
+  // live values keep reading back intact
+  @Test
+  public void testConcurrentStoreLoadDelete() throws Exception {
+    File root = Files.createTempDirectory("ice-mmap").toFile();
+    final PersistMappedFS pm = new PersistMappedFS(root, 4096);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Value>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final int seed = t;
+        futures.add(pool.submit(new Callable<Value>() {
+          @Override public Value call() throws Exception {
+            Value keep = null;
+            for (int i = 0; i < 200; i++) {
+              byte[] b = new byte[100 + (seed * 7 + i) % 300];
+              for (int j = 0; j < b.length; j++) b[j] = (byte) (seed + i + j);
+              Value v = new Value(Key.make(), b);
+              pm.store(v);
+              v.setDsk();
+              assertArrayEquals(b, pm.load(v));
+              if (i == 100) keep = v; // one survivor per thread
+              else pm.delete(v);
+            }
+            return keep;
+          }
+        }));
+      }
+      List<Value> kept = new ArrayList<>();
+      for (Future<Value> f : futures) kept.add(f.get());
+      for (Value v : kept)
+        assertArrayEquals(v.memOrLoad(), pm.load(v));
+      for (Value v : kept)
+        pm.delete(v);
+      // Only the active segment is left once everything is deleted
+      assertEquals(1, pm._dir.listFiles().length);
+    } finally {
+      pool.shutdownNow();
+      pm.cleanUp();
+      root.delete();
+    }
+  }
+
+  @Test
+  public void testLargeValueGetsOwnSegment() throws Exception {
+    File root = Files.createTempDirectory("ice-mmap").toFile();
+    PersistMappedFS pm = new PersistMappedFS(root, 1024);
+    try {
+      byte[] b = new byte[5000];
+      b[4999] = 42;
+      Value v = new Value(Key.make(), b);
+      pm.store(v);
+      v.setDsk();
+      assertArrayEquals(b, pm.load(v));
+    } finally {
+      pm.cleanUp();
+      root.delete();
+    }
+  }
+}
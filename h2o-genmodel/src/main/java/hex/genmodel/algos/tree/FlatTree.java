@@ -0,0 +1,158 @@
+package hex.genmodel.algos.tree;
+
+import hex.genmodel.utils.ByteBufferWrapper;
+import hex.genmodel.utils.GenmodelBitSet;
+
+import java.util.Arrays;
+
+/**
+ * Flat (array-based) form of a compressed tree, for scoring only.
+ *
+ * The byte encoding read by {@link SharedTreeMojoModel#scoreTree} is decoded once into parallel arrays indexed by
+ * node id (column, split value, NA handling, bitset) with both children of a node stored next to each other.
+ * Nodes are numbered in pre-order, so the left child usually sits right after its parent. Scoring a row is then
+ * a plain loop over the arrays without decoding node headers or skipping over subtrees.
+ *
+ * Gives the same predictions as {@link SharedTreeMojoModel#scoreTree} (current MOJO version) for the same domains.
+ */
+public final class FlatTree {
+
+  private static final int NsdNaVsRest = NaSplitDir.NAvsREST.value();
+  private static final int NsdNaLeft = NaSplitDir.NALeft.value();
+  private static final int NsdLeft = NaSplitDir.Left.value();
+
+  // Node flags
+  private static final byte NA_LEFT = 1;     // NAs (and values outside of the bitset/domain) go left
+  private static final byte NA_VS_REST = 2;  // split NAs vs non-NAs
+  private static final byte BITSET = 4;      // categorical (bitset) split
+
+  private String[][] _domains;
+  private int[] _cols;
+  private float[] _splits;
+  private byte[] _flags;
+  private int[] _domainLens;        // cardinality of the split column, -1 if not categorical
+  private GenmodelBitSet[] _bitsets;
+  private int[] _children;          // 2 per node: left, right; a negative child c is leaf ~c
+  private float[] _leaves;
+  private int _nodes, _nleaves;
+  private final int _root;
+
+  private FlatTree(byte[] tree, String[][] domains) {
+    _domains = domains;
+    int maxNodes = tree.length / 4 + 1; // every split takes at least 4 bytes
+    _cols = new int[maxNodes];
+    _splits = new float[maxNodes];
+    _flags = new byte[maxNodes];
+    _domainLens = new int[maxNodes];
+    _bitsets = new GenmodelBitSet[maxNodes];
+    _children = new int[2 * maxNodes];
+    _leaves = new float[maxNodes + 1];
+    _root = decode(tree, new ByteBufferWrapper(tree), null);
+    _cols = Arrays.copyOf(_cols, _nodes);
+    _splits = Arrays.copyOf(_splits, _nodes);
+    _flags = Arrays.copyOf(_flags, _nodes);
+    _domainLens = Arrays.copyOf(_domainLens, _nodes);
+    _bitsets = Arrays.copyOf(_bitsets, _nodes);
+    _children = Arrays.copyOf(_children, 2 * _nodes);
+    _leaves = Arrays.copyOf(_leaves, _nleaves);
+  }
+
+  /**
+   * Decodes a tree in the current compressed format.
+   * @param tree compressed tree
+   * @param domains domains of the model the tree belongs to, used for the same out-of-domain handling as scoreTree
+   */
+  public static FlatTree decode(byte[] tree, String[][] domains) {
+    return new FlatTree(tree, domains);
+  }
+
+  /**
+   * Checks whether this tree scores the same as if it was decoded with the given domains (only the cardinalities
+   * of the split columns matter), cheap if these are the domains the tree was last checked with.
+   */
+  public boolean matches(String[][] domains) {
+    if (domains == _domains)
+      return true;
+    for (int n = 0; n < _nodes; n++) {
+      int dl = domains != null && domains[_cols[n]] != null ? domains[_cols[n]].length : -1;
+      if (dl != _domainLens[n])
+        return false;
+    }
+    _domains = domains;
+    return true;
+  }
+
+  public int nodes() {
+    return _nodes;
+  }
+
+  // Mirrors the walk of SharedTreeMojoModel.scoreTree; bs is the last bitset read on the path to this node, which
+  // scoreTree still uses for the range check of NA-vs-REST nodes
+  private int decode(byte[] tree, ByteBufferWrapper ab, GenmodelBitSet bs) {
+    int nodeType = ab.get1U();
+    int colId = ab.get2();
+    if (colId == 65535)
+      return leaf(ab.get4f());
+    final int n = _nodes++;
+    int naSplitDir = ab.get1U();
+    boolean naVsRest = naSplitDir == NsdNaVsRest;
+    boolean leftward = naSplitDir == NsdNaLeft || naSplitDir == NsdLeft;
+    int lmask = (nodeType & 51);
+    int equal = (nodeType & 12);  // Can be one of 0, 8, 12
+    assert equal != 4;  // no longer supported
+
+    if (!naVsRest) {
+      if (equal == 0) {
+        _splits[n] = ab.get4f();
+      } else {
+        bs = new GenmodelBitSet(0);
+        if (equal == 8)
+          bs.fill2(tree, ab);
+        else
+          bs.fill3(tree, ab);
+      }
+    }
+    _cols[n] = colId;
+    _flags[n] = (byte) ((leftward ? NA_LEFT : 0) | (naVsRest ? NA_VS_REST : 0) | (equal != 0 ? BITSET : 0));
+    _bitsets[n] = bs;
+    _domainLens[n] = _domains != null && _domains[colId] != null ? _domains[colId].length : -1;
+
+    if (lmask <= 3) {
+      ab.skip(lmask + 1); // size of the left subtree
+      _children[2 * n] = decode(tree, ab, bs);
+    } else {
+      assert lmask == 48 : "illegal lmask value " + lmask;
+      _children[2 * n] = leaf(ab.get4f());
+    }
+    int rmask = (nodeType & 0xC0) >> 2;
+    _children[2 * n + 1] = (rmask & 16) != 0 ? leaf(ab.get4f()) : decode(tree, ab, bs);
+    return n;
+  }
+
+  private int leaf(float pred) {
+    _leaves[_nleaves] = pred;
+    return ~_nleaves++;
+  }
+
+  public double score(final double[] row) {
+    final int[] cols = _cols;
+    final byte[] flags = _flags;
+    final int[] children = _children;
+    int n = _root;
+    while (n >= 0) {
+      double d = row[cols[n]];
+      int f = flags[n];
+      GenmodelBitSet bs = _bitsets[n];
+      int dl = _domainLens[n];
+      boolean bitset = (f & BITSET) != 0;
+      boolean right;
+      if (Double.isNaN(d) || (bitset && bs != null && !bs.isInRange((int) d)) || (dl >= 0 && dl <= (int) d))
+        right = (f & NA_LEFT) == 0;
+      else
+        right = (f & NA_VS_REST) == 0 && (bitset ? bs.contains((int) d) : d >= _splits[n]);
+      n = children[2 * n + (right ? 1 : 0)];
+    }
+    return _leaves[~n];
+  }
+
+}
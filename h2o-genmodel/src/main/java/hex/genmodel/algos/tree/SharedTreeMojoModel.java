@@ -24,6 +24,8 @@ public abstract class SharedTreeMojoModel extends MojoModel implements TreeBacke
     private static final int NsdLeft = NaSplitDir.Left.value();
 
     private ScoreTree _scoreTree;
+    private boolean _useFlatTrees = true;
+    private transient FlatTree[] _flatTrees; // decoded lazily, see flatTree(int)
     
     private static Logger logger = LoggerFactory.getLogger(SharedTreeMojoModel.class);
 
@@ -70,6 +72,24 @@ public abstract class SharedTreeMojoModel extends MojoModel implements TreeBacke
         _scoreTree = new ScoreTree2(); // Current version
     }
 
+    /**
+     * Enables/disables scoring with trees decoded into {@link FlatTree}s (default: enabled). Only the current
+     * tree encoding can be decoded; older MOJOs are always scored from the compressed trees.
+     */
+    public void setUseFlatTrees(boolean useFlatTrees) {
+      _useFlatTrees = useFlatTrees;
+    }
+
+    private FlatTree flatTree(int itree) {
+      FlatTree[] flatTrees = _flatTrees;
+      if (flatTrees == null)
+        _flatTrees = flatTrees = new FlatTree[_compressed_trees.length];
+      FlatTree ft = flatTrees[itree];
+      if (ft == null) // racing threads decode the same tree
+        flatTrees[itree] = ft = FlatTree.decode(_compressed_trees[itree], _domains);
+      return ft;
+    }
+
     @Override
     public final int getNTreeGroups() {
       return _ntree_groups;
@@ -725,12 +745,14 @@ public abstract class SharedTreeMojoModel extends MojoModel implements TreeBacke
      */
     public final void scoreTreeRange(double[] row, int fromIndex, int toIndex, double[] preds) {
         final int clOffset = _nclasses == 1 ? 0 : 1;
+        final boolean flat = _useFlatTrees && _scoreTree instanceof ScoreTree2;
         for (int classIndex = 0; classIndex < _ntrees_per_group; classIndex++) {
             int k = clOffset + classIndex;
             int itree = treeIndex(fromIndex, classIndex);
             for (int groupIndex = fromIndex; groupIndex < toIndex; groupIndex++) {
                 if (_compressed_trees[itree] != null) { // Skip all empty trees
-                  preds[k] += _scoreTree.scoreTree(_compressed_trees[itree], row, false, _domains);
+                  preds[k] += flat ? flatTree(itree).score(row)
+                          : _scoreTree.scoreTree(_compressed_trees[itree], row, false, _domains);
                 }
                 itree++;
             }
@@ -13,6 +13,8 @@ import water.fvec.Vec;
 import water.parser.BufferedString;
 import water.util.StringUtils;
 
+import java.util.Arrays;
+
 /**
  * Implementation of Parquet's GroupConverter for H2O's chunks.
  *
@@ -31,20 +33,29 @@ class ChunkConverter extends GroupConverter {
 
   private long _currentRecordIdx = -1;
 
-  ChunkConverter(MessageType parquetSchema, byte[] chunkSchema, WriterDelegate writer, boolean[] keepcolumns) {
+  /**
+   * @param parquetSchema schema of the file, chunkSchema and keepcolumns are indexed by its columns
+   * @param requestedSchema columns actually read from the file (see {@link ChunkReadSupport}), the converters
+   *                        are indexed by its fields
+   */
+  ChunkConverter(MessageType parquetSchema, MessageType requestedSchema, byte[] chunkSchema, WriterDelegate writer,
+                 boolean[] keepcolumns) {
     _writer = writer;
     _keepColumns = keepcolumns;
 
     int colIdx = 0; // index to columns actually parsed
-    _converters = new Converter[chunkSchema.length];
+    _converters = new Converter[requestedSchema.getFieldCount()];
     int trueColumnIndex = 0;  // count all columns including the skipped ones
+    int requestedIndex = 0;   // count columns read from the file
     for (Type parquetField : parquetSchema.getFields()) {
       assert parquetField.isPrimitive();
+      boolean requested = requestedSchema.containsField(parquetField.getName());
       if (_keepColumns[trueColumnIndex]) {
-        _converters[trueColumnIndex] = newConverter(colIdx, chunkSchema[trueColumnIndex], parquetField.asPrimitiveType());
+        assert requested;
+        _converters[requestedIndex++] = newConverter(colIdx, chunkSchema[trueColumnIndex], parquetField.asPrimitiveType());
         colIdx++;
-      } else {
-        _converters[trueColumnIndex] = nullConverter(chunkSchema[trueColumnIndex], parquetField.asPrimitiveType());
+      } else if (requested) { // skipped but needed by the row filter
+        _converters[requestedIndex++] = nullConverter(chunkSchema[trueColumnIndex], parquetField.asPrimitiveType());
       }
 
       trueColumnIndex++;
@@ -64,13 +75,25 @@ class ChunkConverter extends GroupConverter {
 
   @Override
   public void end() {
-    _writer.endLine();
+    if (!_writer.isBuffered())
+      _writer.endLine();
   }
 
   long getCurrentRecordIdx() {
     return _currentRecordIdx;
   }
 
+  // With a row filter the lines are buffered and only written once Parquet accepted the record
+
+  void acceptRecord() {
+    if (_writer.isBuffered())
+      _writer.endLine();
+  }
+
+  void skipRecord() {
+    _writer.discardLine();
+  }
+
   private PrimitiveConverter nullConverter(byte vecType, PrimitiveType parquetType) {
     switch (vecType) {
       case Vec.T_BAD:
@@ -176,7 +199,8 @@ class ChunkConverter extends GroupConverter {
     private final int _colIdx;
     private final WriterDelegate _writer;
     private final boolean _dictionarySupport;
-    private String[] _dict;
+    private byte[][] _dict;
+    private int[] _dictCatIds; // categorical ids of the dictionary values (-1 = not looked up yet), null if not used
 
     StringConverter(WriterDelegate writer, int colIdx, boolean dictionarySupport) {
       _colIdx = colIdx;
@@ -196,15 +220,26 @@ class ChunkConverter extends GroupConverter {
 
     @Override
     public void setDictionary(Dictionary dictionary) {
-      _dict = new String[dictionary.getMaxId() + 1];
+      _dict = new byte[dictionary.getMaxId() + 1][];
       for (int i = 0; i <= dictionary.getMaxId(); i++) {
-        _dict[i] = dictionary.decodeToBinary(i).toStringUsingUTF8();
+        _dict[i] = StringUtils.bytesOf(dictionary.decodeToBinary(i).toStringUsingUTF8());
       }
+      if (_writer.hasCategoricalIds(_colIdx)) {
+        _dictCatIds = new int[_dict.length];
+        Arrays.fill(_dictCatIds, -1);
+      } else
+        _dictCatIds = null;
     }
 
     @Override
     public void addValueFromDictionary(int dictionaryId) {
-      writeStrCol(StringUtils.bytesOf(_dict[dictionaryId]));
+      if (_dictCatIds != null) {
+        int id = _dictCatIds[dictionaryId];
+        if (id < 0)
+          id = _dictCatIds[dictionaryId] = _writer.categoricalId(_colIdx, _bs.set(_dict[dictionaryId]));
+        _writer.addCategoricalCol(_colIdx, id);
+      } else
+        writeStrCol(_dict[dictionaryId]);
     }
 
     private void writeStrCol(byte[] data) {
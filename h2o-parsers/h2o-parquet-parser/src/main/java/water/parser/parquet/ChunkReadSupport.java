@@ -5,30 +5,56 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class ChunkReadSupport extends ReadSupport<Long> {
 
   private WriterDelegate _writer;
   private byte[] _chunkSchema;
   private boolean[] _keepColumns;
+  private Set<String> _filterColumns;
 
   public ChunkReadSupport(WriterDelegate writer, byte[] chunkSchema, boolean[] keepcolumns) {
+    this(writer, chunkSchema, keepcolumns, Collections.<String>emptySet());
+  }
+
+  ChunkReadSupport(WriterDelegate writer, byte[] chunkSchema, boolean[] keepcolumns, Set<String> filterColumns) {
     _writer = writer;
     _chunkSchema = chunkSchema;
     _keepColumns = keepcolumns;
+    _filterColumns = filterColumns;
   }
 
   @Override
   public ReadContext init(InitContext context) {
-    return new ReadContext(context.getFileSchema());
+    return new ReadContext(projection(context.getFileSchema(), _keepColumns, _filterColumns));
+  }
+
+  /**
+   * Schema of the columns that are parsed or used by the row filter, pages of the other columns are never read.
+   */
+  static MessageType projection(MessageType fileSchema, boolean[] keepColumns, Set<String> filterColumns) {
+    List<Type> fields = new ArrayList<>(fileSchema.getFieldCount());
+    for (int i = 0; i < fileSchema.getFieldCount(); i++) {
+      Type field = fileSchema.getType(i);
+      if (keepColumns == null || keepColumns[i] || filterColumns.contains(field.getName()))
+        fields.add(field);
+    }
+    if (fields.size() == fileSchema.getFieldCount() || fields.isEmpty())
+      return fileSchema;
+    return new MessageType(fileSchema.getName(), fields);
   }
 
   @Override
   public RecordMaterializer<Long> prepareForRead(Configuration configuration, Map<String, String> keyValueMetaData,
                                                     MessageType fileSchema, ReadContext readContext) {
-    return new ChunkRecordMaterializer(fileSchema, _chunkSchema, _writer, _keepColumns);
+    return new ChunkRecordMaterializer(fileSchema, readContext.getRequestedSchema(), _chunkSchema, _writer, _keepColumns);
   }
 
 }
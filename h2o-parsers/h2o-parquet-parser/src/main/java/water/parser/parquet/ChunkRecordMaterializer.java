@@ -15,15 +15,28 @@ class ChunkRecordMaterializer extends RecordMaterializer<Long> {
 
   private ChunkConverter _converter;
 
-  ChunkRecordMaterializer(MessageType parquetSchema, byte[] chunkSchema, WriterDelegate writer, boolean[] keepColumns) {
-    _converter = new ChunkConverter(parquetSchema, chunkSchema, writer, keepColumns);
+  ChunkRecordMaterializer(MessageType parquetSchema, MessageType requestedSchema, byte[] chunkSchema,
+                          WriterDelegate writer, boolean[] keepColumns) {
+    _converter = new ChunkConverter(parquetSchema, requestedSchema, chunkSchema, writer, keepColumns);
   }
 
+  /**
+   * Called once the record was fully read, with a row filter only if the record was accepted.
+   */
   @Override
   public Long getCurrentRecord() {
+    _converter.acceptRecord();
     return _converter.getCurrentRecordIdx();
   }
 
+  /**
+   * Called instead of getCurrentRecord for records rejected by the row filter.
+   */
+  @Override
+  public void skipCurrentRecord() {
+    _converter.skipRecord();
+  }
+
   @Override
   public GroupConverter getRootConverter() {
     return _converter;
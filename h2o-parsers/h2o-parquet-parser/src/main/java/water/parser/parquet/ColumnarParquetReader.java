@@ -0,0 +1,117 @@
+package water.parser.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import water.H2O;
+import water.fvec.Vec;
+import water.parser.FVecParseWriter;
+import water.parser.ParseWriter;
+import water.persist.VecFileSystem;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Columnar alternative to {@link VecParquetReader} for the distributed parse.
+ *
+ * VecParquetReader assembles records: for each row parquet-mr steps through all the column readers and hands the values
+ * one by one to {@link ChunkConverter}, which writes them line by line. This reader fetches the row groups with
+ * {@link ParquetFileReader} and drains one column at a time: its {@link ColumnReader} decodes the pages (plain, RLE and
+ * dictionary encodings) and the values are appended to the NewChunk of the column in a tight loop, the same way the ORC
+ * parser writes its vectorized batches. The converters of ChunkConverter are reused with a columnar
+ * {@link WriterDelegate}, so values are converted exactly as by the record reader; dictionary encoded categorical
+ * columns look each dictionary value up in the categorical domain only once per column chunk.
+ *
+ * Used when the output is a {@link FVecParseWriter} and there is no row filter (rows are filtered as whole records),
+ * can be turned off with -Dsys.ai.h2o.parquet.columnar_reader=false.
+ */
+final class ColumnarParquetReader {
+
+  static boolean ENABLED = H2O.getSysBoolProperty("parquet.columnar_reader", true); // not final so tests can switch it
+
+  private final Vec _vec;
+  private final ParquetMetadata _metadata;
+  private final WriterDelegate _writer;
+  private final byte[] _chunkSchema;
+  private final boolean[] _keepColumns;
+
+  ColumnarParquetReader(Vec vec, ParquetMetadata metadata, FVecParseWriter writer, byte[] chunkSchema,
+                        boolean[] keepColumns, int parseColumnNumber) {
+    _vec = vec;
+    _metadata = metadata;
+    _writer = WriterDelegate.columnar(writer, parseColumnNumber);
+    _chunkSchema = chunkSchema;
+    _keepColumns = keepColumns;
+  }
+
+  static boolean canRead(ParseWriter writer, ParquetRowFilter rowFilter) {
+    return ENABLED && rowFilter == null && writer instanceof FVecParseWriter;
+  }
+
+  /**
+   * Reads all row groups of the metadata.
+   * @return number of rows read
+   */
+  long read() throws IOException {
+    final FileMetaData fileMetaData = _metadata.getFileMetaData();
+    final MessageType fileSchema = fileMetaData.getSchema();
+    final MessageType requested = ChunkReadSupport.projection(fileSchema, _keepColumns, Collections.<String>emptySet());
+    final ChunkConverter converter = new ChunkConverter(fileSchema, requested, _chunkSchema, _writer, _keepColumns);
+    final List<ColumnDescriptor> columns = requested.getColumns();
+    final int[] colIdxs = parsedColumnIndices(fileSchema, requested);
+
+    Configuration conf = VecFileSystem.makeConfiguration(_vec);
+    ParquetFileReader reader = new ParquetFileReader(conf, fileMetaData, VecFileSystem.VEC_PATH, _metadata.getBlocks(), columns);
+    long rows = 0;
+    try {
+      PageReadStore rowGroup;
+      while ((rowGroup = reader.readNextRowGroup()) != null) {
+        ColumnReadStoreImpl store = new ColumnReadStoreImpl(rowGroup, converter, requested, fileMetaData.getCreatedBy());
+        for (int i = 0; i < columns.size(); i++) {
+          if (colIdxs[i] < 0) continue; // all columns were skipped, nothing to write
+          ColumnDescriptor column = columns.get(i);
+          readColumn(store.getColumnReader(column), column.getMaxDefinitionLevel(), colIdxs[i], rowGroup.getRowCount());
+        }
+        rows += rowGroup.getRowCount();
+      }
+    } finally {
+      reader.close();
+    }
+    return rows;
+  }
+
+  // flat schema: one value (or a null) per row
+  private void readColumn(ColumnReader reader, int maxDefinitionLevel, int colIdx, long rows) {
+    if (reader.getTotalValueCount() != rows)
+      throw new IllegalStateException("Column #" + colIdx + " has " + reader.getTotalValueCount() +
+              " values in a row group of " + rows + " rows (only flat schemas can be read by columns)");
+    for (long r = 0; r < rows; r++) {
+      if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel)
+        reader.writeCurrentValueToConverter();
+      else
+        _writer.addInvalidCol(colIdx);
+      reader.consume();
+    }
+  }
+
+  // index of each requested column in the parsed columns, -1 for columns that are not parsed
+  private int[] parsedColumnIndices(MessageType fileSchema, MessageType requested) {
+    int[] colIdxs = new int[requested.getFieldCount()];
+    int r = 0, colIdx = 0;
+    for (int i = 0; i < fileSchema.getFieldCount(); i++) {
+      if (!requested.containsField(fileSchema.getFieldName(i)))
+        continue;
+      colIdxs[r++] = _keepColumns[i] ? colIdx++ : -1;
+    }
+    return colIdxs;
+  }
+
+}
@@ -31,10 +31,12 @@ public class ParquetParser extends Parser {
   private static final int MAX_PREVIEW_RECORDS = 1000;
 
   private final byte[] _metadata;
+  private final ParquetRowFilter _rowFilter;
 
   ParquetParser(ParseSetup setup, Key<Job> jobKey) {
     super(setup, jobKey);
     _metadata = ((ParquetParseSetup) setup).parquetMetadata;
+    _rowFilter = ParquetRowFilter.parse(setup.getRowFilter());
   }
 
   @Override
@@ -47,8 +49,8 @@ public class ParquetParser extends Parser {
       throw new IllegalStateException("Unsupported Parquet file. Too many records (#" + totalRecs + ", nChunks=" + nChunks + ").");
     }
 
-    final WriterDelegate w = new WriterDelegate(dout, _setup.getColumnTypes().length);
-    final VecParquetReader reader = new VecParquetReader(vec, metadata, w, _setup.getColumnTypes(), _keepColumns);
+    final WriterDelegate w = new WriterDelegate(dout, _setup.getColumnTypes().length, _rowFilter != null);
+    final VecParquetReader reader = new VecParquetReader(vec, metadata, w, _setup.getColumnTypes(), _keepColumns, _rowFilter);
 
     StreamParseWriter nextChunk = dout;
     try {
@@ -67,7 +69,7 @@ public class ParquetParser extends Parser {
         nextChunk = nextChunk.nextChunk();
         w.setWriter(nextChunk);
       }
-      assert parsedRecs == totalRecs;
+      assert parsedRecs == totalRecs || _rowFilter != null;
     } catch (IOException e) {
       throw new RuntimeException("Failed to parse records", e);
     }
@@ -99,7 +101,19 @@ public class ParquetParser extends Parser {
       return dout;
     }
     Log.info("Processing ", metadata.getBlocks().size(), " blocks of chunk #", cidx);
-    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes(), _keepColumns, _setup.get_parse_columns_indices().length);
+    if (ColumnarParquetReader.canRead(dout, _rowFilter)) {
+      try {
+        long rows = new ColumnarParquetReader(vec, metadata, (FVecParseWriter) dout, _setup.getColumnTypes(), _keepColumns,
+                _setup.get_parse_columns_indices().length).read();
+        if (rows != totalRecords(metadata))
+          throw new IllegalStateException("Read " + rows + " rows of chunk #" + cidx + ", expected " + totalRecords(metadata));
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to parse records", e);
+      }
+      return dout;
+    }
+    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes(), _keepColumns,
+            _setup.get_parse_columns_indices().length, _rowFilter);
     try {
       Long recordNumber;
       do {
@@ -143,8 +157,19 @@ public class ParquetParser extends Parser {
    * @return corrected types
    */
   public static byte[] correctTypeConversions(ByteVec vec, byte[] requestedTypes) {
+    return correctTypeConversions(vec, requestedTypes, null);
+  }
+
+  /**
+   * Same as {@link #correctTypeConversions(ByteVec, byte[])}, also checks that the row filter (if any) only compares
+   * existing columns with values of matching types.
+   */
+  public static byte[] correctTypeConversions(ByteVec vec, byte[] requestedTypes, String rowFilter) {
     byte[] metadataBytes = VecParquetReader.readFooterAsBytes(vec);
     ParquetMetadata metadata = VecParquetReader.readFooter(metadataBytes, ParquetMetadataConverter.NO_FILTER);
+    ParquetRowFilter filter = ParquetRowFilter.parse(rowFilter);
+    if (filter != null)
+      filter.toPredicate(metadata.getFileMetaData().getSchema());
     byte[] roughTypes = roughGuessTypes(metadata.getFileMetaData().getSchema());
     return correctTypeConversions(roughTypes, requestedTypes);
   }
@@ -50,11 +50,11 @@ public class ParquetParserProvider extends BinaryParserProvider {
     // convert to an instance of ParquetParseSetup if needed
     ParseSetup setup = requestedSetup instanceof ParquetParser.ParquetParseSetup ?
             requestedSetup : requestedSetup.copyTo(new ParquetParser.ParquetParseSetup());
-    // override incorrect type mappings (using the MessageFormat of the first file)
+    // override incorrect type mappings and validate the row filter (using the MessageFormat of the first file)
     Object frameOrVec = DKV.getGet(inputs[0]);
     ByteVec vec = (ByteVec) (frameOrVec instanceof Frame ? ((Frame) frameOrVec).vec(0) : frameOrVec);
     byte[] requestedTypes = setup.getColumnTypes();
-    byte[] types = ParquetParser.correctTypeConversions(vec, requestedTypes);
+    byte[] types = ParquetParser.correctTypeConversions(vec, requestedTypes, setup.getRowFilter());
     setup.setColumnTypes(types);
     for (int i = 0; i < types.length; i++)
       if (types[i] != requestedTypes[i])
@@ -0,0 +1,184 @@
+package water.parser.parquet;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import water.exceptions.H2OIllegalArgumentException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Row filter given by the user at import time (see {@link water.parser.ParseSetup#getRowFilter()}).
+ *
+ * The filter is a conjunction of comparisons of a column with a constant, eg. {@code age >= 21 & state == 'CA'}
+ * (operators {@code == != < <= > >=}, clauses separated by {@code &} or {@code and}, strings in single or double
+ * quotes). It is turned into a Parquet {@link FilterPredicate}: Parquet skips the row groups whose column statistics
+ * show that no row can match and evaluates the predicate on each remaining row before it reaches the parse writer.
+ */
+class ParquetRowFilter {
+
+  private static final Pattern CLAUSE = Pattern.compile("^\\s*(.+?)\\s*(==|!=|<=|>=|<|>)\\s*(.+?)\\s*$");
+
+  private final String[] _columns;
+  private final String[] _ops;
+  private final String[] _values;
+
+  private ParquetRowFilter(String[] columns, String[] ops, String[] values) {
+    _columns = columns;
+    _ops = ops;
+    _values = values;
+  }
+
+  /**
+   * @return filter for the given expression, null if the expression is null or empty
+   */
+  static ParquetRowFilter parse(String expr) {
+    if (expr == null || expr.trim().isEmpty())
+      return null;
+    List<String> clauses = splitClauses(expr);
+    String[] columns = new String[clauses.size()];
+    String[] ops = new String[clauses.size()];
+    String[] values = new String[clauses.size()];
+    for (int i = 0; i < clauses.size(); i++) {
+      Matcher m = CLAUSE.matcher(clauses.get(i));
+      if (!m.matches())
+        throw new H2OIllegalArgumentException("Invalid comparison '" + clauses.get(i) +
+                "' in row filter '" + expr + "', expected <column> <op> <value>.");
+      columns[i] = unquote(m.group(1));
+      ops[i] = m.group(2);
+      values[i] = m.group(3);
+    }
+    return new ParquetRowFilter(columns, ops, values);
+  }
+
+  /** Names of the columns the filter reads, they need to be decoded even if they are skipped */
+  Set<String> columns() {
+    Set<String> columns = new LinkedHashSet<>();
+    for (String c : _columns) columns.add(c);
+    return columns;
+  }
+
+  /** Builds the Parquet predicate, the constants are converted to the physical type of their column */
+  FilterPredicate toPredicate(MessageType schema) {
+    FilterPredicate predicate = null;
+    for (int i = 0; i < _columns.length; i++) {
+      if (!schema.containsField(_columns[i]))
+        throw new H2OIllegalArgumentException("Column '" + _columns[i] +
+                "' used in the row filter doesn't exist in the Parquet file.");
+      FilterPredicate p = toPredicate(schema.getType(_columns[i]).asPrimitiveType(), _columns[i], _ops[i], _values[i]);
+      predicate = predicate == null ? p : FilterApi.and(predicate, p);
+    }
+    return predicate;
+  }
+
+  private static FilterPredicate toPredicate(PrimitiveType type, String column, String op, String value) {
+    try {
+      boolean decimal = OriginalType.DECIMAL.equals(type.getOriginalType());
+      switch (type.getPrimitiveTypeName()) {
+        case BOOLEAN:
+          return compare(FilterApi.booleanColumn(column), op, Boolean.valueOf(parseBoolean(unquote(value))));
+        case INT32:
+          return compare(FilterApi.intColumn(column), op, decimal ?
+                  unscaled(value, type).intValueExact() : Integer.valueOf(value));
+        case INT64:
+          return compare(FilterApi.longColumn(column), op, decimal ?
+                  unscaled(value, type).longValueExact() : Long.valueOf(value));
+        case FLOAT:
+          return compare(FilterApi.floatColumn(column), op, Float.valueOf(value));
+        case DOUBLE:
+          return compare(FilterApi.doubleColumn(column), op, Double.valueOf(value));
+        case BINARY:
+          if (!decimal)
+            return compare(FilterApi.binaryColumn(column), op, Binary.fromString(unquote(value)));
+        default:
+          throw new H2OIllegalArgumentException("Column '" + column + "' of type " +
+                  type.getPrimitiveTypeName() + " can't be used in a row filter.");
+      }
+    } catch (NumberFormatException | ArithmeticException e) {
+      throw new H2OIllegalArgumentException("Value '" + value + "' can't be compared with column '" +
+              column + "' of type " + type.getPrimitiveTypeName() + ".");
+    }
+  }
+
+  private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+  FilterPredicate compare(C column, String op, T value) {
+    switch (op) {
+      case "<":  return FilterApi.lt(column, value);
+      case "<=": return FilterApi.ltEq(column, value);
+      case ">":  return FilterApi.gt(column, value);
+      case ">=": return FilterApi.gtEq(column, value);
+      default:   return compareEq(column, op, value);
+    }
+  }
+
+  private static FilterPredicate compare(Operators.BooleanColumn column, String op, Boolean value) {
+    if (op.equals("==") || op.equals("!="))
+      return compareEq(column, op, value);
+    throw new H2OIllegalArgumentException("Boolean column '" +
+            column.getColumnPath().toDotString() + "' can only be compared with == or !=.");
+  }
+
+  private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsEqNotEq>
+  FilterPredicate compareEq(C column, String op, T value) {
+    return op.equals("==") ? FilterApi.eq(column, value) : FilterApi.notEq(column, value);
+  }
+
+  private static BigDecimal unscaled(String value, PrimitiveType type) {
+    return new BigDecimal(value).movePointRight(type.getDecimalMetadata().getScale());
+  }
+
+  private static boolean parseBoolean(String value) {
+    if (value.equalsIgnoreCase("true")) return true;
+    if (value.equalsIgnoreCase("false")) return false;
+    throw new NumberFormatException("Not a boolean: " + value);
+  }
+
+  private static String unquote(String s) {
+    if (s.length() >= 2) {
+      char c = s.charAt(0);
+      if ((c == '\'' || c == '"' || c == '`') && s.charAt(s.length() - 1) == c)
+        return s.substring(1, s.length() - 1);
+    }
+    return s;
+  }
+
+  // Splits on '&', '&&' and 'and' outside of quotes
+  private static List<String> splitClauses(String expr) {
+    List<String> clauses = new ArrayList<>();
+    StringBuilder sb = new StringBuilder();
+    char quote = 0;
+    for (int i = 0; i < expr.length(); i++) {
+      char c = expr.charAt(i);
+      if (quote != 0) {
+        if (c == quote) quote = 0;
+      } else if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+      } else if (c == '&') {
+        if (i + 1 < expr.length() && expr.charAt(i + 1) == '&') i++;
+        clauses.add(sb.toString());
+        sb.setLength(0);
+        continue;
+      } else if (Character.isWhitespace(c) && expr.regionMatches(true, i + 1, "and", 0, 3) &&
+              i + 4 < expr.length() && Character.isWhitespace(expr.charAt(i + 4))) {
+        i += 4;
+        clauses.add(sb.toString());
+        sb.setLength(0);
+        continue;
+      }
+      sb.append(c);
+    }
+    clauses.add(sb.toString());
+    return clauses;
+  }
+
+}
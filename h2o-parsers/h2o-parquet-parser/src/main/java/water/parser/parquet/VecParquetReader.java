@@ -58,18 +58,31 @@ public class VecParquetReader implements Closeable {
   private final WriterDelegate writer;
   private final byte[] chunkSchema; // contains column types of all columns, not just the skipped one
 
+  private final ParquetRowFilter rowFilter;
+
   private ParquetReader<Long> reader;
   private boolean[] _keepColumns;
 
   public VecParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema, boolean[] keepcolumns, int parseColumnNumber) {
-    this(vec, metadata, new WriterDelegate(writer, parseColumnNumber), chunkSchema, keepcolumns);
+    this(vec, metadata, writer, chunkSchema, keepcolumns, parseColumnNumber, null);
+  }
+
+  VecParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema, boolean[] keepcolumns, int parseColumnNumber,
+                   ParquetRowFilter rowFilter) {
+    this(vec, metadata, new WriterDelegate(writer, parseColumnNumber, rowFilter != null), chunkSchema, keepcolumns, rowFilter);
   }
 
-  VecParquetReader(Vec vec, ParquetMetadata metadata, WriterDelegate writer, byte[] chunkSchema, boolean[] keepcolumns) {
+  /**
+   * @param rowFilter optional filter, the writer has to buffer lines if it is given
+   */
+  VecParquetReader(Vec vec, ParquetMetadata metadata, WriterDelegate writer, byte[] chunkSchema, boolean[] keepcolumns,
+                   ParquetRowFilter rowFilter) {
+    assert rowFilter == null || writer.isBuffered();
     this.vec = vec;
     this.metadata = metadata;
     this.writer = writer;
     this.chunkSchema = chunkSchema;
+    this.rowFilter = rowFilter;
     _keepColumns = keepcolumns;
   }
 
@@ -89,17 +102,25 @@ public class VecParquetReader implements Closeable {
     assert reader == null;
     Configuration conf = VecFileSystem.makeConfiguration(vec);
     conf.setInt(PARQUET_READ_PARALLELISM, 1); // disable parallelism (just one virtual file!)
-    ChunkReadSupport crSupport = new ChunkReadSupport(writer, chunkSchema, _keepColumns);
+    final FilterCompat.Filter rowGroupFilter;
+    final ChunkReadSupport crSupport;
+    if (rowFilter == null) {
+      rowGroupFilter = FilterCompat.NOOP;
+      crSupport = new ChunkReadSupport(writer, chunkSchema, _keepColumns);
+    } else {
+      rowGroupFilter = FilterCompat.get(rowFilter.toPredicate(metadata.getFileMetaData().getSchema()));
+      crSupport = new ChunkReadSupport(writer, chunkSchema, _keepColumns, rowFilter.columns());
+    }
     ParquetReader.Builder<Long> prBuilder = ParquetReader.builder(crSupport, VecFileSystem.VEC_PATH)
             .withConf(conf)
             .withFilter(new FilterCompat.Filter() {
               @Override
               @SuppressWarnings("unchecked")
               public <R> R accept(FilterCompat.Visitor<R> visitor) {
-                if (visitor instanceof RowGroupFilter) // inject already filtered metadata on RowGroup level
-                  return (R) metadata.getBlocks();
-                else // no other filtering otherwise
-                  return visitor.visit((FilterCompat.NoOpFilter) FilterCompat.NOOP);
+                if (visitor instanceof RowGroupFilter) // inject already filtered metadata on RowGroup level, drop row groups by statistics
+                  return (R) RowGroupFilter.filterRowGroups(rowGroupFilter, metadata.getBlocks(), metadata.getFileMetaData().getSchema());
+                else // filter individual records if a row filter is given
+                  return rowGroupFilter.accept(visitor);
               }
             });
     reader = prBuilder.build();
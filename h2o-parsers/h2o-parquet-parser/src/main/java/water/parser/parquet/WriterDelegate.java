@@ -4,6 +4,7 @@ import water.DKV;
 import water.Iced;
 import water.Key;
 import water.parser.BufferedString;
+import water.parser.FVecParseWriter;
 import water.parser.ParseWriter;
 import water.util.IcedInt;
 import water.util.Log;
@@ -21,13 +22,32 @@ final class WriterDelegate {
   private ParseWriter _writer;
   private int _col;
 
+  // values of the current line, only used when lines are written after the row filter accepted them
+  private final LineBuffer _line;
+  // values are written one column at a time instead of line by line (see ColumnarParquetReader)
+  private final boolean _columnar;
+
   WriterDelegate(ParseWriter writer, int numCols) {
+    this(writer, numCols, false);
+  }
+
+  WriterDelegate(ParseWriter writer, int numCols, boolean bufferLines) {
+    this(writer, numCols, bufferLines, false);
+  }
+
+  private WriterDelegate(ParseWriter writer, int numCols, boolean bufferLines, boolean columnar) {
     _maxStringSize = getMaxStringSize();
     _numCols = numCols;
     _colRawSize = new int[numCols];
+    _line = bufferLines ? new LineBuffer(numCols) : null;
+    _columnar = columnar;
     setWriter(writer);
   }
 
+  static WriterDelegate columnar(FVecParseWriter writer, int numCols) {
+    return new WriterDelegate(writer, numCols, false, true);
+  }
+
   // For unit tests only: allows to set maximum string size in a test for all nodes
   private int getMaxStringSize() {
     Iced<?> maxSize = DKV.getGet(Key.make(WriterDelegate.class.getCanonicalName() + "_maxStringSize"));
@@ -36,13 +56,25 @@ final class WriterDelegate {
 
   void startLine() {
     _col = -1;
+    if (_line != null) _line.clear();
   }
 
   void endLine() {
+    if (_line != null) _line.writeTo(this);
     moveToCol(_numCols);
     _writer.newLine();
   }
 
+  /** Drops the buffered values of a line rejected by the row filter */
+  void discardLine() {
+    assert _line != null;
+    _line.clear();
+  }
+
+  boolean isBuffered() {
+    return _line != null;
+  }
+
   private int moveToCol(int colIdx) {
     for (int c = _col + 1; c < colIdx; c++) _writer.addInvalidCol(c);
     _col = colIdx;
@@ -50,26 +82,67 @@ final class WriterDelegate {
   }
 
   void addNumCol(int colIdx, long number, int exp) {
-    _writer.addNumCol(moveToCol(colIdx), number, exp);
+    if (_line != null) _line.addNumCol(colIdx, number, exp);
+    else writeNumCol(colIdx, number, exp);
   }
 
   void addNumCol(int colIdx, double d) {
-    _writer.addNumCol(moveToCol(colIdx), d);
+    if (_line != null) _line.addNumCol(colIdx, d);
+    else writeNumCol(colIdx, d);
   }
 
   void addStrCol(int colIdx, BufferedString str) {
-    if (_colRawSize[colIdx] == -1)
-      return; // already exceeded max length
+    if (_line != null) _line.addStrCol(colIdx, str);
+    else writeStrCol(colIdx, str);
+  }
+
+  /** Adds a missing value, only in columnar mode (lines fill in their missing values in endLine) */
+  void addInvalidCol(int colIdx) {
+    assert _columnar;
+    _writer.addInvalidCol(colIdx);
+  }
+
+  /** Can values of the column be written by their categorical id */
+  boolean hasCategoricalIds(int colIdx) {
+    return _columnar && ((FVecParseWriter) _writer).isCategorical(colIdx);
+  }
+
+  int categoricalId(int colIdx, BufferedString str) {
+    return ((FVecParseWriter) _writer).categoricalId(colIdx, str);
+  }
+
+  void addCategoricalCol(int colIdx, int id) {
+    ((FVecParseWriter) _writer).addCategoricalCol(colIdx, id);
+  }
+
+  private int toCol(int colIdx) {
+    return _columnar ? colIdx : moveToCol(colIdx);
+  }
+
+  private void writeNumCol(int colIdx, long number, int exp) {
+    _writer.addNumCol(toCol(colIdx), number, exp);
+  }
+
+  private void writeNumCol(int colIdx, double d) {
+    _writer.addNumCol(toCol(colIdx), d);
+  }
+
+  private void writeStrCol(int colIdx, BufferedString str) {
+    if (_colRawSize[colIdx] == -1) { // already exceeded max length
+      if (_columnar) _writer.addInvalidCol(colIdx);
+      return;
+    }
 
     long totalSize = (long) str.length() + _colRawSize[colIdx];
     if (totalSize > _maxStringSize) {
       _colRawSize[colIdx] = -1;
       Log.err("Total String size limit reached: skipping remaining values in column: " + colIdx + "!");
+      if (_columnar) _writer.addInvalidCol(colIdx);
       return;
     }
 
     _colRawSize[colIdx] += str.length();
-    _writer.addStrCol(moveToCol(colIdx), str);
+    _writer.addStrCol(toCol(colIdx), str);
   }
 
   long lineNum() {
@@ -82,4 +155,56 @@ final class WriterDelegate {
     Arrays.fill(_colRawSize, 0);
   }
 
+  private static final class LineBuffer {
+    private static final byte NONE = 0, NUM = 1, DBL = 2, STR = 3;
+
+    private final byte[] _kinds;
+    private final long[] _nums;
+    private final int[] _exps;
+    private final double[] _dbls;
+    private final BufferedString[] _strs;
+
+    LineBuffer(int numCols) {
+      _kinds = new byte[numCols];
+      _nums = new long[numCols];
+      _exps = new int[numCols];
+      _dbls = new double[numCols];
+      _strs = new BufferedString[numCols];
+    }
+
+    void clear() {
+      Arrays.fill(_kinds, NONE);
+    }
+
+    void addNumCol(int colIdx, long number, int exp) {
+      _kinds[colIdx] = NUM;
+      _nums[colIdx] = number;
+      _exps[colIdx] = exp;
+    }
+
+    void addNumCol(int colIdx, double d) {
+      _kinds[colIdx] = DBL;
+      _dbls[colIdx] = d;
+    }
+
+    void addStrCol(int colIdx, BufferedString str) {
+      // converters reuse their BufferedString, keep a copy of the bytes
+      byte[] bytes = Arrays.copyOfRange(str.getBuffer(), str.getOffset(), str.getOffset() + str.length());
+      if (_strs[colIdx] == null) _strs[colIdx] = new BufferedString();
+      _strs[colIdx].set(bytes);
+      _kinds[colIdx] = STR;
+    }
+
+    void writeTo(WriterDelegate w) {
+      for (int c = 0; c < _kinds.length; c++) {
+        switch (_kinds[c]) {
+          case NUM: w.writeNumCol(c, _nums[c], _exps[c]); break;
+          case DBL: w.writeNumCol(c, _dbls[c]); break;
+          case STR: w.writeStrCol(c, _strs[c]); break;
+          default: break;
+        }
+      }
+    }
+  }
+
 }
@@ -232,6 +232,33 @@ public class ParseTestParquet extends TestUtil {
     assertFrameAssertion(assertion);
   }
 
+  @Test
+  public void testParseWithRowFilter() {
+    final Date date = new Date();
+    final ParseSetupTransformer filterTransformer = new ParseSetupTransformer() {
+      @Override
+      public ParseSetup transformSetup(ParseSetup guessedSetup) {
+        guessedSetup = psTransformer.transformSetup(guessedSetup);
+        guessedSetup.setSkippedColumns(new int[]{0, 2}); // int32_field is only read by the filter
+        guessedSetup.setParseColumnIndices(guessedSetup.getNumberColumns(), guessedSetup.getSkippedColumns());
+        return guessedSetup.setRowFilter("int32_field >= 132 & int64_field < 2064 and double_field != 152.0");
+      }
+    };
+    FrameAssertion assertion = new GenFrameAssertion("rowFilter.parquet", TestUtil.ari(3, 1899), filterTransformer) {
+      @Override protected File prepareFile() throws IOException { return ParquetFileGenerator.generateParquetFile(Files.createTempDir(), file, 5000, date); }
+      @Override public void check(Frame f) {
+        assertArrayEquals("Column names need to match!", ar("int64_field", "double_field", "timestamp_field"), f.names());
+        for (int row = 0; row < f.numRows(); row++) {
+          int i = row < 50 ? row + 100 : row + 101; // rows 100 to 1999 of the file, without 150
+          assertEquals("Value in column int64_field", 64 + i, f.vec(0).at8(row));
+          assertEquals("Value in column double_field", 2.0 + i, f.vec(1).at(row), EPSILON);
+          assertEquals("Value in column timestamp_field", date.getTime() + (i * 117), f.vec(2).at8(row));
+        }
+      }
+    };
+    assertFrameAssertion(assertion);
+  }
+
   @Test
   public void testParseSingleEmpty() {
     FrameAssertion assertion = new GenFrameAssertion("empty.parquet", TestUtil.ari(5, 0), psTransformer) {
@@ -377,6 +404,37 @@ public class ParseTestParquet extends TestUtil {
     assertFrameAssertion(assertion);
   }
 
+  @Test
+  public void testColumnarReaderMatchesRecordReader() throws IOException {
+    final boolean columnar = ColumnarParquetReader.ENABLED;
+    final File dir = Files.createTempDir();
+    try {
+      File f = ParquetFileGenerator.generateDictionaryEncoded(dir, "dictionary.parquet", 5000, new Date());
+      for (int[] skipped : new int[][]{null, {0, 3}, {1, 2, 5}}) {
+        Frame byColumns = null, byRecords = null;
+        try {
+          ColumnarParquetReader.ENABLED = true;
+          byColumns = parse_test_file(f.getCanonicalPath(), psTransformer, skipped);
+          ColumnarParquetReader.ENABLED = false;
+          byRecords = parse_test_file(f.getCanonicalPath(), psTransformer, skipped);
+          String msg = "skipped " + Arrays.toString(skipped);
+          assertEquals(msg, 5000, byColumns.numRows());
+          assertArrayEquals(msg, byRecords.names(), byColumns.names());
+          assertArrayEquals(msg, byRecords.types(), byColumns.types());
+          for (int c = 0; c < byRecords.numCols(); c++)
+            assertArrayEquals(msg, byRecords.vec(c).domain(), byColumns.vec(c).domain());
+          assertFrameEquals(byRecords, byColumns, 0.0);
+        } finally {
+          if (byColumns != null) byColumns.delete();
+          if (byRecords != null) byRecords.delete();
+        }
+      }
+    } finally {
+      ColumnarParquetReader.ENABLED = columnar;
+      org.apache.commons.io.FileUtils.deleteQuietly(dir);
+    }
+  }
+
   @Test
   public void testPubdev5673() {
     Frame actual = null;
@@ -577,4 +635,39 @@ class ParquetFileGenerator {
     return f;
   }
 
+  // Few distinct values per column, so that the writer dictionary-encodes them; small row groups
+  static File generateDictionaryEncoded(File parentDir, String filename, int nrows, Date date) throws IOException {
+    File f = new File(parentDir, filename);
+
+    Configuration conf = new Configuration();
+    MessageType schema = parseMessageType(
+            "message test { "
+                    + "required binary cat_field (UTF8); "
+                    + "required int32 int32_field; "
+                    + "optional double double_field; "
+                    + "required int64 timestamp_field (TIMESTAMP_MILLIS); "
+                    + "optional binary sparse_cat_field (UTF8); "
+                    + "optional int64 sparse_int64_field; "
+                    + "} ");
+    GroupWriteSupport.setSchema(schema, conf);
+    SimpleGroupFactory fact = new SimpleGroupFactory(schema);
+    ParquetWriter<Group> writer = new ParquetWriter<Group>(new Path(f.getPath()), new GroupWriteSupport(),
+            UNCOMPRESSED, 16384, 1024, 4096, true, false, ParquetProperties.WriterVersion.PARQUET_2_0, conf);
+    try {
+      for (int i = 0; i < nrows; i++) {
+        Group g = fact.newGroup()
+                .append("cat_field", "level_" + (i * 7) % 13)
+                .append("int32_field", i % 17 - 8)
+                .append("timestamp_field", date.getTime() + (i % 50) * 1000L);
+        if (i % 3 != 0) g.append("double_field", (i % 11) * 0.25);
+        if (i % 20 == 0) g.append("sparse_cat_field", "rare_" + (i % 3));
+        if (i % 50 == 7) g.append("sparse_int64_field", 1L << (i % 40));
+        writer.write(g);
+      }
+    } finally {
+      writer.close();
+    }
+    return f;
+  }
+
 }
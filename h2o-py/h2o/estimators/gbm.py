@@ -33,9 +33,10 @@ class H2OGradientBoostingEstimator(H2OEstimator):
                    "learn_rate", "learn_rate_annealing", "distribution", "quantile_alpha", "tweedie_power",
                    "huber_alpha", "checkpoint", "sample_rate", "sample_rate_per_class", "col_sample_rate",
                    "col_sample_rate_change_per_level", "col_sample_rate_per_tree", "min_split_improvement",
-                   "histogram_type", "max_abs_leafnode_pred", "pred_noise_bandwidth", "categorical_encoding",
-                   "calibrate_model", "calibration_frame", "custom_metric_func", "custom_distribution_func",
-                   "export_checkpoints_dir", "monotone_constraints", "check_constant_response"}
+                   "histogram_type", "max_abs_leafnode_pred", "pred_noise_bandwidth", "goss_top_rate",
+                   "goss_other_rate", "grow_policy", "max_leaves", "categorical_encoding", "calibrate_model",
+                   "calibration_frame", "custom_metric_func", "custom_distribution_func", "export_checkpoints_dir",
+                   "monotone_constraints", "check_constant_response"}
 
     def __init__(self, **kwargs):
         super(H2OGradientBoostingEstimator, self).__init__()
@@ -1588,6 +1589,68 @@ class H2OGradientBoostingEstimator(H2OEstimator):
         self._parms["pred_noise_bandwidth"] = pred_noise_bandwidth
 
 
+    @property
+    def goss_top_rate(self):
+        """
+        GOSS (gradient-based one-side sampling): fraction of rows with the largest gradients that are always used to
+        build a tree (0 disables GOSS, requires sample_rate = 1)
+
+        Type: ``float``  (default: ``0``).
+        """
+        return self._parms.get("goss_top_rate")
+
+    @goss_top_rate.setter
+    def goss_top_rate(self, goss_top_rate):
+        assert_is_type(goss_top_rate, None, numeric)
+        self._parms["goss_top_rate"] = goss_top_rate
+
+
+    @property
+    def goss_other_rate(self):
+        """
+        GOSS: fraction of rows randomly sampled (and up-weighted) from the rows with small gradients
+
+        Type: ``float``  (default: ``0.1``).
+        """
+        return self._parms.get("goss_other_rate")
+
+    @goss_other_rate.setter
+    def goss_other_rate(self, goss_other_rate):
+        assert_is_type(goss_other_rate, None, numeric)
+        self._parms["goss_other_rate"] = goss_other_rate
+
+
+    @property
+    def grow_policy(self):
+        """
+        Tree growth policy: depthwise grows all leaves level by level, lossguide splits the leaves with the largest gain
+        first, up to max_leaves (max_depth still bounds the depth)
+
+        One of: ``"depthwise"``, ``"lossguide"``  (default: ``"depthwise"``).
+        """
+        return self._parms.get("grow_policy")
+
+    @grow_policy.setter
+    def grow_policy(self, grow_policy):
+        assert_is_type(grow_policy, None, Enum("depthwise", "lossguide"))
+        self._parms["grow_policy"] = grow_policy
+
+
+    @property
+    def max_leaves(self):
+        """
+        Maximum number of leaves per tree for grow_policy=lossguide
+
+        Type: ``int``  (default: ``0``).
+        """
+        return self._parms.get("max_leaves")
+
+    @max_leaves.setter
+    def max_leaves(self, max_leaves):
+        assert_is_type(max_leaves, None, int)
+        self._parms["max_leaves"] = max_leaves
+
+
     @property
     def categorical_encoding(self):
         """
@@ -38,9 +38,10 @@ class H2OGeneralizedLinearEstimator(H2OEstimator):
                    "plug_values", "compute_p_values", "remove_collinear_columns", "intercept", "non_negative",
                    "max_iterations", "objective_epsilon", "beta_epsilon", "gradient_epsilon", "link", "rand_link",
                    "startval", "calc_like", "HGLM", "prior", "lambda_min_ratio", "beta_constraints",
-                   "max_active_predictors", "interactions", "interaction_pairs", "obj_reg", "export_checkpoints_dir",
-                   "balance_classes", "class_sampling_factors", "max_after_balance_size", "max_confusion_matrix_size",
-                   "max_hit_ratio_k", "max_runtime_secs", "custom_metric_func"}
+                   "max_active_predictors", "sgd_batch_size", "sgd_learning_rate", "interactions", "interaction_pairs",
+                   "obj_reg", "export_checkpoints_dir", "balance_classes", "class_sampling_factors",
+                   "max_after_balance_size", "max_confusion_matrix_size", "max_hit_ratio_k", "max_runtime_secs",
+                   "custom_metric_func"}
 
     def __init__(self, **kwargs):
         super(H2OGeneralizedLinearEstimator, self).__init__()
@@ -654,7 +655,7 @@ class H2OGeneralizedLinearEstimator(H2OEstimator):
         number of predictors and for lambda-search with L1 penalty, L_BFGS scales better for datasets with many columns.
 
         One of: ``"auto"``, ``"irlsm"``, ``"l_bfgs"``, ``"coordinate_descent_naive"``, ``"coordinate_descent"``,
-        ``"gradient_descent_lh"``, ``"gradient_descent_sqerr"``  (default: ``"auto"``).
+        ``"gradient_descent_lh"``, ``"gradient_descent_sqerr"``, ``"sgd"``  (default: ``"auto"``).
 
         :examples:
 
@@ -674,7 +675,7 @@ class H2OGeneralizedLinearEstimator(H2OEstimator):
 
     @solver.setter
     def solver(self, solver):
-        assert_is_type(solver, None, Enum("auto", "irlsm", "l_bfgs", "coordinate_descent_naive", "coordinate_descent", "gradient_descent_lh", "gradient_descent_sqerr"))
+        assert_is_type(solver, None, Enum("auto", "irlsm", "l_bfgs", "coordinate_descent_naive", "coordinate_descent", "gradient_descent_lh", "gradient_descent_sqerr", "sgd"))
         self._parms["solver"] = solver
 
 
@@ -1408,6 +1409,36 @@ class H2OGeneralizedLinearEstimator(H2OEstimator):
         self._parms["max_active_predictors"] = max_active_predictors
 
 
+    @property
+    def sgd_batch_size(self):
+        """
+        Number of rows per mini-batch, ONLY applies to SGD solver.
+
+        Type: ``int``  (default: ``32``).
+        """
+        return self._parms.get("sgd_batch_size")
+
+    @sgd_batch_size.setter
+    def sgd_batch_size(self, sgd_batch_size):
+        assert_is_type(sgd_batch_size, None, int)
+        self._parms["sgd_batch_size"] = sgd_batch_size
+
+
+    @property
+    def sgd_learning_rate(self):
+        """
+        Initial step size, decayed by 1/sqrt(pass), ONLY applies to SGD solver.
+
+        Type: ``float``  (default: ``0.1``).
+        """
+        return self._parms.get("sgd_learning_rate")
+
+    @sgd_learning_rate.setter
+    def sgd_learning_rate(self, sgd_learning_rate):
+        assert_is_type(sgd_learning_rate, None, numeric)
+        self._parms["sgd_learning_rate"] = sgd_learning_rate
+
+
     @property
     def interactions(self):
         """
@@ -391,7 +391,8 @@ def upload_file(path, destination_frame=None, header=0, sep=None, col_names=None
 
 
 def import_file(path=None, destination_frame=None, parse=True, header=0, sep=None, col_names=None, col_types=None,
-                na_strings=None, pattern=None, skipped_columns=None, custom_non_data_line_markers = None):
+                na_strings=None, pattern=None, skipped_columns=None, custom_non_data_line_markers = None,
+                row_filter=None):
     """
     Import a dataset that is already on the cluster.
 
@@ -429,6 +430,8 @@ def import_file(path=None, destination_frame=None, parse=True, header=0, sep=Non
         directory.
     :param skipped_columns: an integer list of column indices to skip and not parsed into the final frame from the import file.
     :param custom_non_data_line_markers: If a line in imported file starts with any character in given string it will NOT be imported. Empty string means all lines are imported, None means that default behaviour for given format will be used
+    :param row_filter: (Parquet only) only rows satisfying all the given comparisons of a column with a constant are
+        imported, e.g. ``"age >= 21 & state == 'CA'"``. Row groups that cannot contain such rows are not read at all.
 
     :returns: a new :class:`H2OFrame` instance.
 
@@ -450,6 +453,7 @@ def import_file(path=None, destination_frame=None, parse=True, header=0, sep=Non
     assert_is_type(col_types, [coltype], {str: coltype}, None)
     assert_is_type(na_strings, [natype], {str: natype}, None)
     assert isinstance(skipped_columns, (type(None), list)), "The skipped_columns should be an list of column names!"
+    assert_is_type(row_filter, str, None)
     check_frame_id(destination_frame)
     patharr = path if isinstance(path, list) else [path]
     if any(os.path.split(p)[0] == "~" for p in patharr):
@@ -459,7 +463,7 @@ def import_file(path=None, destination_frame=None, parse=True, header=0, sep=Non
         return lazy_import(path, pattern)
     else:
         return H2OFrame()._import_parse(path, pattern, destination_frame, header, sep, col_names, col_types, na_strings,
-                                        skipped_columns, custom_non_data_line_markers)
+                                        skipped_columns, custom_non_data_line_markers, row_filter)
 
 
 def load_grid(grid_file_path):